@@ -0,0 +1,42 @@
+package com.example.rubymod.benchmark;
+
+import com.example.rubymod.entity.ModEntities;
+import com.example.rubymod.entity.custom.ElephantEntity;
+
+import net.minecraft.world.entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//what every spawned or loaded elephant costs before its first tick.
+//construction includes registerGoals, the Mob constructor calls it on the server side
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ElephantBenchmark {
+    private StandInLevel level;
+    private EntityType<ElephantEntity> type;
+
+    @Setup
+    public void setup() {
+        this.level = StandInLevel.create();
+        this.type = ModEntities.ELEPHANT.get();
+    }
+
+    @Benchmark
+    public ElephantEntity construction() {
+        return new ElephantEntity(this.type, this.level);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.rubymod.benchmark;
+
+import com.example.rubymod.items.ModItems;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.InteractionResult;
+import net.minecraft.world.InteractionResultHolder;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.context.UseOnContext;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.Vec3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//the real Gun.use, SpearItem.use and MagicBlade.useOn on the server side, against the stand-in level and players.
+//What a call needs again is put back in the benchmark method itself, and only when it runs out,
+//so the measured time and bytes are the call's own
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ItemUseBenchmark {
+    private static final int STACK = 64;
+    private static final BlockState STONE = Blocks.STONE.defaultBlockState();
+
+    private StandInLevel level;
+    private Item gun;
+    private Item spear;
+    private Item magicBlade;
+    private StandInPlayer shooter;
+    private ItemStack bullets;
+    private StandInPlayer emptyShooter;
+    private StandInPlayer thrower;
+    private ItemStack spears;
+    private ItemStack blade;
+    private BlockPos clicked;
+    private UseOnContext click;
+
+    @Setup
+    public void setup() {
+        this.level = StandInLevel.create();
+        this.gun = ModItems.GUN.get();
+        this.spear = ModItems.SPEAR.get();
+        this.magicBlade = ModItems.MAGIC_BLADE.get();
+
+        this.shooter = new StandInPlayer(this.level).holding(new ItemStack(this.gun));
+        this.bullets = new ItemStack(ModItems.BULLET_ITEM.get(), STACK);
+        //the ammo sits in the first slot after the hotbar, the search walks past the hotbar first
+        this.shooter.getInventory().setItem(9, this.bullets);
+        this.emptyShooter = new StandInPlayer(this.level).holding(new ItemStack(this.gun));
+        this.spears = new ItemStack(this.spear, STACK);
+        this.thrower = new StandInPlayer(this.level).holding(this.spears);
+
+        this.blade = new ItemStack(this.magicBlade);
+        this.clicked = new BlockPos(2, 63, 0);
+        //a click without a player, like a dispenser would make one. The only difference to a player's click
+        //is the durability advancement trigger, which needs a connected ServerPlayer
+        this.click = new UseOnContext(this.level, null, InteractionHand.MAIN_HAND, this.blade,
+                new BlockHitResult(Vec3.atCenterOf(this.clicked), Direction.UP, this.clicked, false)) {
+        };
+    }
+
+    //every shot spawns a bullet, the stand-in level drops it right away
+    @Benchmark
+    public InteractionResultHolder<ItemStack> gunUse() {
+        if (this.bullets.getCount() < 2) {
+            this.bullets.setCount(STACK);
+        }
+        return this.gun.use(this.level, this.shooter, InteractionHand.MAIN_HAND);
+    }
+
+    //no ammo anywhere, the click only queues the empty sound
+    @Benchmark
+    public InteractionResultHolder<ItemStack> gunUseEmpty() {
+        return this.gun.use(this.level, this.emptyShooter, InteractionHand.MAIN_HAND);
+    }
+
+    //the spears in hand are the ammo
+    @Benchmark
+    public InteractionResultHolder<ItemStack> spearUse() {
+        if (this.spears.getCount() < 2) {
+            this.spears.setCount(STACK);
+        }
+        return this.spear.use(this.level, this.thrower, InteractionHand.MAIN_HAND);
+    }
+
+    //the clicked block is stone again before every use so each one transmutes
+    @Benchmark
+    public InteractionResult magicBladeUseOn() {
+        this.level.setBlock(this.clicked, STONE, Block.UPDATE_ALL);
+        if (this.blade.getDamageValue() >= this.blade.getMaxDamage() - 1) {
+            this.blade.setDamageValue(0);
+        }
+        return this.magicBlade.useOn(this.click);
+    }
+}
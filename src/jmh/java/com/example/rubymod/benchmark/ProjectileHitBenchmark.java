@@ -0,0 +1,107 @@
+package com.example.rubymod.benchmark;
+
+import com.example.rubymod.entity.ModEntities;
+import com.example.rubymod.entity.custom.BulletEntity;
+import com.example.rubymod.entity.custom.SpearEntity;
+
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.animal.IronGolem;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.EntityHitResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//the real BulletEntity and SpearEntity onHitEntity on an iron golem in the stand-in level.
+//One projectile hits again and again, onHitEntity does not look at whether the bullet was discarded by the last hit.
+//The golem stands still and only gets its health back when it runs low, so it never dies
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProjectileHitBenchmark {
+    private IronGolem target;
+    private EntityHitResult hit;
+    private BulletProbe bullet;
+    private SpearProbe spear;
+
+    @Setup
+    public void setup() {
+        StandInLevel level = StandInLevel.create();
+        this.target = new IronGolem(EntityType.IRON_GOLEM, level);
+        this.target.setPos(2.5, 64.0, 0.5);
+        this.target.setNoAi(true);
+        this.hit = new EntityHitResult(this.target);
+        this.bullet = new BulletProbe(level);
+        aimAt(this.bullet, this.target);
+        this.spear = new SpearProbe(level);
+        aimAt(this.spear, this.target);
+    }
+
+    @Benchmark
+    public Object bulletHit() {
+        this.resetTarget();
+        return this.bullet.hit(this.hit);
+    }
+
+    @Benchmark
+    public Object spearHit() {
+        this.resetTarget();
+        return this.spear.hit(this.hit);
+    }
+
+    //a hit takes at most 20 of the golem's 100 health
+    private void resetTarget() {
+        if (this.target.getHealth() < 40.0F) {
+            this.target.setHealth(this.target.getMaxHealth());
+        }
+        if (this.target.getArrowCount() > 100) {
+            this.target.setArrowCount(0);
+        }
+        this.target.invulnerableTime = 0;
+        //the combat tracker keeps every hit until the mob was left alone for a while
+        this.target.tickCount += 1000;
+    }
+
+    //flying at the target like a shot from two blocks away
+    private static void aimAt(Entity projectile, LivingEntity target) {
+        projectile.setPos(target.getX() - 2.0, target.getEyeY(), target.getZ());
+        projectile.setDeltaMovement(3.0, 0.0, 0.0);
+    }
+
+    //the hit handlers are protected, a subclass reaches them the way the projectile's own flight does
+    private static class BulletProbe extends BulletEntity {
+        BulletProbe(Level level) {
+            super(ModEntities.BULLET.get(), level);
+        }
+
+        Object hit(EntityHitResult result) {
+            this.onHitEntity(result);
+            return this;
+        }
+    }
+
+    private static class SpearProbe extends SpearEntity {
+        SpearProbe(Level level) {
+            super(ModEntities.SPEAR.get(), level);
+        }
+
+        Object hit(EntityHitResult result) {
+            this.onHitEntity(result);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.rubymod.benchmark;
+
+import com.example.rubymod.blocks.ModBlocks;
+import com.example.rubymod.blocks.entity.ModBlockEntities;
+import com.example.rubymod.entity.ModEntities;
+import com.example.rubymod.event.ModEventBusEvents;
+import com.example.rubymod.items.ModItems;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.attributes.AttributeSupplier;
+import net.minecraftforge.common.ForgeHooks;
+import net.minecraftforge.event.entity.EntityAttributeCreationEvent;
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.registries.GameData;
+import net.minecraftforge.registries.RegisterEvent;
+import net.minecraftforge.registries.RegistryManager;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+
+//the game without the mod loader: the vanilla bootstrap, then the mod's registers get the RegisterEvents
+//the loader would post, so ModItems.GUN.get() and the other registry objects work like in game.
+//Only the registries the benchmarked code reads are filled. The forge event bus is never started,
+//so the mod's forge bus listeners do not run in the benchmarks
+final class StandInGame {
+    //in the order the loader posts them, block items need their blocks
+    private static final List<ResourceKey<? extends Registry<?>>> REGISTRIES = List.of(Registries.BLOCK, Registries.ITEM,
+            Registries.ENTITY_TYPE, Registries.BLOCK_ENTITY_TYPE);
+    private static boolean started;
+
+    private StandInGame() {
+    }
+
+    static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        IEventBus modEventBus = BusBuilder.builder().build();
+        ModItems.register(modEventBus);
+        ModBlocks.register(modEventBus);
+        ModBlockEntities.register(modEventBus);
+        ModEntities.register(modEventBus);
+        GameData.unfreezeData();
+        try {
+            //package private in forge, the loader is the only one that makes them
+            Constructor<?> constructor = RegisterEvent.class.getDeclaredConstructors()[0];
+            constructor.setAccessible(true);
+            for (ResourceKey<? extends Registry<?>> key : REGISTRIES) {
+                modEventBus.post((RegisterEvent) constructor.newInstance(key, RegistryManager.ACTIVE.getRegistry(key.location()),
+                        BuiltInRegistries.REGISTRY.get(key.location())));
+            }
+            registerAttributes();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not register the mod's content outside the game", e);
+        }
+    }
+
+    //the elephant's attributes, the loader collects them into this map of forge hooks
+    @SuppressWarnings("unchecked")
+    private static void registerAttributes() throws ReflectiveOperationException {
+        Field field = ForgeHooks.class.getDeclaredField("FORGE_ATTRIBUTES");
+        field.setAccessible(true);
+        Map<EntityType<? extends LivingEntity>, AttributeSupplier> attributes =
+                (Map<EntityType<? extends LivingEntity>, AttributeSupplier>) field.get(null);
+        ModEventBusEvents.registerAttributes(new EntityAttributeCreationEvent(attributes));
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.rubymod.benchmark;
+
+import com.example.rubymod.worldgen.index.RubyOreRegionSet;
+import com.mojang.serialization.Lifecycle;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderGetter;
+import net.minecraft.core.MappedRegistry;
+import net.minecraft.core.RegistrationInfo;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.data.worldgen.BootstrapContext;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.sounds.SoundEvent;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.util.RandomSource;
+import net.minecraft.util.datafix.DataFixers;
+import net.minecraft.util.profiling.InactiveProfiler;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.damagesource.DamageSources;
+import net.minecraft.world.damagesource.DamageType;
+import net.minecraft.world.damagesource.DamageTypes;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.flag.FeatureFlagSet;
+import net.minecraft.world.flag.FeatureFlags;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.gameevent.GameEvent;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.storage.DimensionDataStorage;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+import sun.misc.Unsafe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+//a ServerLevel with no server behind it, so the mod's casts to ServerLevel hold and the server side of every path runs.
+//It is made without running a constructor, every field of Level and ServerLevel is null and the benchmarks
+//may only reach the methods below: blocks live in a map, added entities are dropped, sounds, damage events and
+//game events go nowhere. A path that reaches anything else fails with a NullPointerException on its first call
+class StandInLevel extends ServerLevel {
+    private Map<BlockPos, BlockState> blocks;
+    private RandomSource random;
+    private RegistryAccess registries;
+    private DamageSources damageSources;
+    private DimensionDataStorage dataStorage;
+
+    //never called, create() allocates the level without it
+    private StandInLevel() {
+        super(null, null, null, null, null, null, null, false, 0L, null, false, null);
+        throw new AssertionError();
+    }
+
+    static StandInLevel create() {
+        StandInGame.start();
+        StandInLevel level;
+        try {
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            level = (StandInLevel) ((Unsafe) field.get(null)).allocateInstance(StandInLevel.class);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not make the stand-in level", e);
+        }
+        level.blocks = new HashMap<>();
+        //fixed seed, every run transmutes the same ores
+        level.random = RandomSource.create(0L);
+        level.registries = new RegistryAccess.ImmutableRegistryAccess(List.of(damageTypes()));
+        level.damageSources = new DamageSources(level.registries);
+        try {
+            level.dataStorage = new DimensionDataStorage(Files.createTempDirectory("rubymod-benchmark").toFile(),
+                    DataFixers.getDataFixer(), level.registries);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        //an empty set, a new one would look for region files in the folder of the server
+        level.dataStorage.set(RubyOreRegionSet.FILE_NAME, RubyOreRegionSet.factory(level).deserializer()
+                .apply(new CompoundTag(), level.registries));
+        return level;
+    }
+
+    //the vanilla damage types, in game they come from the data pack
+    private static Registry<DamageType> damageTypes() {
+        MappedRegistry<DamageType> registry = new MappedRegistry<>(Registries.DAMAGE_TYPE, Lifecycle.stable());
+        DamageTypes.bootstrap(new BootstrapContext<>() {
+            @Override
+            public Holder.Reference<DamageType> register(ResourceKey<DamageType> key, DamageType value, Lifecycle lifecycle) {
+                return registry.register(key, value, RegistrationInfo.BUILT_IN);
+            }
+
+            @Override
+            public <S> HolderGetter<S> lookup(ResourceKey<? extends Registry<? extends S>> key) {
+                throw new UnsupportedOperationException("damage types look nothing up");
+            }
+        });
+        return registry.freeze();
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return this.blocks.getOrDefault(pos, Blocks.AIR.defaultBlockState());
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return this.getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public boolean setBlock(BlockPos pos, BlockState state, int flags, int recursionLeft) {
+        this.blocks.put(pos, state);
+        return true;
+    }
+
+    @Override
+    public RandomSource getRandom() {
+        return this.random;
+    }
+
+    @Override
+    public RegistryAccess registryAccess() {
+        return this.registries;
+    }
+
+    @Override
+    public DamageSources damageSources() {
+        return this.damageSources;
+    }
+
+    @Override
+    public ResourceKey<Level> dimension() {
+        return Level.OVERWORLD;
+    }
+
+    @Override
+    public DimensionDataStorage getDataStorage() {
+        return this.dataStorage;
+    }
+
+    @Override
+    public FeatureFlagSet enabledFeatures() {
+        return FeatureFlags.DEFAULT_FLAGS;
+    }
+
+    @Override
+    public long getGameTime() {
+        return 0L;
+    }
+
+    @Override
+    public ProfilerFiller getProfiler() {
+        return InactiveProfiler.INSTANCE;
+    }
+
+    @Override
+    public Supplier<ProfilerFiller> getProfilerSupplier() {
+        return () -> InactiveProfiler.INSTANCE;
+    }
+
+    @Override
+    public boolean addFreshEntity(Entity entity) {
+        return true;
+    }
+
+    @Override
+    public void broadcastEntityEvent(Entity entity, byte state) {
+    }
+
+    @Override
+    public void broadcastDamageEvent(Entity entity, DamageSource damageSource) {
+    }
+
+    @Override
+    public void gameEvent(Holder<GameEvent> gameEvent, Vec3 pos, GameEvent.Context context) {
+    }
+
+    @Override
+    public void playSound(@Nullable Player player, double x, double y, double z, SoundEvent sound, SoundSource source,
+                          float volume, float pitch) {
+    }
+
+    @Override
+    public void playSound(@Nullable Player player, Entity entity, SoundEvent sound, SoundSource source, float volume, float pitch) {
+    }
+
+    @Override
+    public void playSeededSound(@Nullable Player player, double x, double y, double z, Holder<SoundEvent> sound,
+                                SoundSource source, float volume, float pitch, long seed) {
+    }
+
+    @Override
+    public void playSeededSound(@Nullable Player player, Entity entity, Holder<SoundEvent> sound, SoundSource source,
+                                float volume, float pitch, long seed) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.rubymod.benchmark;
+
+import com.mojang.authlib.GameProfile;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+
+import java.util.UUID;
+
+//a survival player with a real inventory, standing on 0 64 0 and looking along x
+class StandInPlayer extends Player {
+    StandInPlayer(Level level) {
+        super(level, new BlockPos(0, 63, 0), -90.0F, new GameProfile(UUID.randomUUID(), "benchmark"));
+    }
+
+    //the selected hotbar slot is 0, so that is the main hand
+    StandInPlayer holding(ItemStack stack) {
+        this.getInventory().setItem(0, stack);
+        return this;
+    }
+
+    @Override
+    public boolean isSpectator() {
+        return false;
+    }
+
+    @Override
+    public boolean isCreative() {
+        return false;
+    }
+}
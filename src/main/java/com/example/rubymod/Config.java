@@ -1,64 +1,213 @@
 package com.example.rubymod;
 
-import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.item.Item;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.config.ModConfigEvent;
-import net.minecraftforge.registries.ForgeRegistries;
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
 
-
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-// An example config class. This is not required, but it's a good idea to have one to keep your config organized.
-// Demonstrates how to use Forge's config APIs
+//the performance knobs of the mod. the server file holds everything that changes game behavior
+//and is synced to clients, the client file only holds render settings.
+//every load or reload reads both specs into one Values record and swaps the volatile reference,
+//so tick code calls values() once and gets a consistent view without locks or boxed lookups
 @Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.MOD)
 public class Config
 {
-    private static final ForgeConfigSpec.Builder BUILDER = new ForgeConfigSpec.Builder();
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final ForgeConfigSpec.Builder SERVER_BUILDER = new ForgeConfigSpec.Builder();
+    private static final ForgeConfigSpec.Builder CLIENT_BUILDER = new ForgeConfigSpec.Builder();
 
-    private static final ForgeConfigSpec.BooleanValue LOG_DIRT_BLOCK = BUILDER
-            .comment("Whether to log the dirt block on common setup")
-            .define("logDirtBlock", true);
+    static {
+        SERVER_BUILDER.push("projectiles");
+    }
 
-    private static final ForgeConfigSpec.IntValue MAGIC_NUMBER = BUILDER
-            .comment("A magic number")
-            .defineInRange("magicNumber", 42, 0, Integer.MAX_VALUE);
+    private static final ForgeConfigSpec.IntValue BULLET_MAX_FLIGHT_TICKS = SERVER_BUILDER
+            .comment("Ticks a bullet may fly before it is removed")
+            .defineInRange("bulletMaxFlightTicks", 100, 1, 1200);
 
-    public static final ForgeConfigSpec.ConfigValue<String> MAGIC_NUMBER_INTRODUCTION = BUILDER
-            .comment("What you want the introduction message to be for the magic number")
-            .define("magicNumberIntroduction", "The magic number is... ");
+    private static final ForgeConfigSpec.IntValue SPEAR_DESPAWN_TICKS = SERVER_BUILDER
+            .comment("Ticks a spear stays stuck in a block before it is removed")
+            .defineInRange("spearDespawnTicks", 1200, 20, 72000);
 
-    // a list of strings that are treated as resource locations for items
-    private static final ForgeConfigSpec.ConfigValue<List<? extends String>> ITEM_STRINGS = BUILDER
-            .comment("A list of items to log on common setup.")
-            .defineListAllowEmpty("items", List.of("minecraft:iron_ingot"), Config::validateItemName);
+    static {
+        SERVER_BUILDER.pop();
+        SERVER_BUILDER.push("cooldowns");
+    }
 
-    static final ForgeConfigSpec SPEC = BUILDER.build();
+    private static final ForgeConfigSpec.IntValue GUN_COOLDOWN_TICKS = SERVER_BUILDER
+            .comment("Ticks between two gun shots, 0 lets the gun fire every tick")
+            .defineInRange("gunCooldownTicks", 4, 0, 200);
 
-    public static boolean logDirtBlock;
-    public static int magicNumber;
-    public static String magicNumberIntroduction;
-    public static Set<Item> items;
+    private static final ForgeConfigSpec.IntValue SPEAR_COOLDOWN_TICKS = SERVER_BUILDER
+            .comment("Ticks between two spear throws, 0 lets the spear be thrown every tick")
+            .defineInRange("spearCooldownTicks", 10, 0, 200);
 
-    private static boolean validateItemName(final Object obj)
-    {
-        return obj instanceof final String itemName && ForgeRegistries.ITEMS.containsKey(ResourceLocation.tryParse(itemName));
+    static {
+        SERVER_BUILDER.pop();
+        SERVER_BUILDER.push("elephants");
+    }
+
+    private static final ForgeConfigSpec.IntValue ELEPHANT_AI_LOD_DISTANCE = SERVER_BUILDER
+            .comment("Distance in blocks to the nearest player after which elephants think less often, 0 keeps every elephant at full rate")
+            .defineInRange("elephantAiLodDistance", 48, 0, 512);
+
+    private static final ForgeConfigSpec.IntValue ELEPHANT_FAR_AI_INTERVAL = SERVER_BUILDER
+            .comment("Ticks between AI updates of an elephant with no player within elephantAiLodDistance")
+            .defineInRange("elephantFarAiInterval", 4, 1, 40);
+
+    private static final ForgeConfigSpec.IntValue ELEPHANT_IDLE_SYNC_INTERVAL = SERVER_BUILDER
+            .comment("Ticks between rotation updates sent for a standing elephant")
+            .defineInRange("elephantIdleSyncInterval", 40, 1, 1200);
+
+    private static final ForgeConfigSpec.DoubleValue ELEPHANT_HEAD_SYNC_THRESHOLD = SERVER_BUILDER
+            .comment("Degrees the head of a moving elephant has to turn before the change is sent")
+            .defineInRange("elephantHeadSyncThreshold", 4.0, 0.0, 180.0);
+
+    private static final ForgeConfigSpec.DoubleValue ELEPHANT_IDLE_ROTATION_THRESHOLD = SERVER_BUILDER
+            .comment("Degrees a standing elephant has to turn before the change is sent early")
+            .defineInRange("elephantIdleRotationThreshold", 20.0, 0.0, 180.0);
+
+    static {
+        SERVER_BUILDER.pop();
+        SERVER_BUILDER.push("worldgen");
+    }
+
+    private static final ForgeConfigSpec.DoubleValue PREGEN_MSPT_CEILING = SERVER_BUILDER
+            .comment("Milliseconds per tick above which /rubymod pregen requests fewer chunks at a time")
+            .defineInRange("pregenMsptCeiling", 40.0, 1.0, 1000.0);
+
+    private static final ForgeConfigSpec.BooleanValue RETROGEN_ENABLED = SERVER_BUILDER
+            .comment("Whether ruby ore is added to chunks that were generated before the mod was installed")
+            .define("retrogenEnabled", true);
+
+    private static final ForgeConfigSpec.IntValue RETROGEN_BUDGET_MICROS = SERVER_BUILDER
+            .comment("Microseconds per tick spent adding ruby ore to old chunks")
+            .defineInRange("retrogenBudgetMicros", 2000, 100, 50000);
+
+    private static final ForgeConfigSpec.IntValue RUBY_GROWTH_TICKS = SERVER_BUILDER
+            .comment("Average ticks a ruby bud needs to grow one stage, and a budding ruby block to sprout a new bud")
+            .defineInRange("rubyGrowthTicks", 6000, 20, 1000000);
+
+    private static final ForgeConfigSpec.IntValue RUBY_GROWTH_PER_CHUNK = SERVER_BUILDER
+            .comment("How many ruby buds may grow in one chunk during one tick, the rest wait a few ticks")
+            .defineInRange("rubyGrowthPerChunk", 4, 1, 4096);
+
+    static {
+        SERVER_BUILDER.pop();
+        SERVER_BUILDER.push("metrics");
+    }
+
+    private static final ForgeConfigSpec.IntValue METRICS_PORT = SERVER_BUILDER
+            .comment("Port on 127.0.0.1 that serves the metrics in the prometheus format at /metrics, 0 turns it off")
+            .defineInRange("metricsPort", 0, 0, 65535);
+
+    static {
+        SERVER_BUILDER.pop();
+        SERVER_BUILDER.push("replay");
+    }
+
+    private static final ForgeConfigSpec.BooleanValue RECORD_REPLAYS = SERVER_BUILDER
+            .comment("Record item uses, projectiles and elephant interactions to <world>/rubymod_replays for replaying them later")
+            .define("recordReplays", false);
+
+    static {
+        SERVER_BUILDER.pop();
+        SERVER_BUILDER.push("tools");
+    }
+
+    private static final ForgeConfigSpec.IntValue VEIN_MINE_LIMIT = SERVER_BUILDER
+            .comment("Most blocks the vein mining mode of the ruby and emerald pickaxes breaks at once, the mined block included")
+            .defineInRange("veinMineLimit", 64, 1, 1024);
+
+    static {
+        SERVER_BUILDER.pop();
+    }
+
+    private static final ForgeConfigSpec.IntValue ELEPHANT_ANIMATION_LOD_DISTANCE = CLIENT_BUILDER
+            .comment("Distance in blocks after which elephants animate at a lower rate, 0 keeps every elephant at full rate")
+            .defineInRange("elephantAnimationLodDistance", 24, 0, 256);
+
+    static final ForgeConfigSpec SERVER_SPEC = SERVER_BUILDER.build();
+    static final ForgeConfigSpec CLIENT_SPEC = CLIENT_BUILDER.build();
+
+    //starts with the defaults so code running before the files are loaded still has sane values
+    private static volatile Values values = read();
+
+    //one consistent set of values, read it once per tick or per call and keep the reference
+    public static Values values() {
+        return values;
+    }
+
+    public record Values(
+            int bulletMaxFlightTicks,
+            int spearDespawnTicks,
+            int gunCooldownTicks,
+            int spearCooldownTicks,
+            int elephantAiLodDistance,
+            int elephantFarAiInterval,
+            int elephantIdleSyncInterval,
+            float elephantHeadSyncThreshold,
+            float elephantIdleRotationThreshold,
+            double pregenMsptCeiling,
+            boolean retrogenEnabled,
+            int retrogenBudgetMicros,
+            int rubyGrowthTicks,
+            int rubyGrowthPerChunk,
+            int metricsPort,
+            boolean recordReplays,
+            int veinMineLimit,
+            int elephantAnimationLodDistance) {
+
+        //the spec already checks every single range, these are the rules between values
+        public Values {
+            if (elephantHeadSyncThreshold > elephantIdleRotationThreshold) {
+                throw new IllegalArgumentException("elephantHeadSyncThreshold (" + elephantHeadSyncThreshold
+                        + ") must not be above elephantIdleRotationThreshold (" + elephantIdleRotationThreshold + ")");
+            }
+        }
+    }
+
+    private static Values read() {
+        return new Values(
+                get(SERVER_SPEC, BULLET_MAX_FLIGHT_TICKS),
+                get(SERVER_SPEC, SPEAR_DESPAWN_TICKS),
+                get(SERVER_SPEC, GUN_COOLDOWN_TICKS),
+                get(SERVER_SPEC, SPEAR_COOLDOWN_TICKS),
+                get(SERVER_SPEC, ELEPHANT_AI_LOD_DISTANCE),
+                get(SERVER_SPEC, ELEPHANT_FAR_AI_INTERVAL),
+                get(SERVER_SPEC, ELEPHANT_IDLE_SYNC_INTERVAL),
+                get(SERVER_SPEC, ELEPHANT_HEAD_SYNC_THRESHOLD).floatValue(),
+                get(SERVER_SPEC, ELEPHANT_IDLE_ROTATION_THRESHOLD).floatValue(),
+                get(SERVER_SPEC, PREGEN_MSPT_CEILING),
+                get(SERVER_SPEC, RETROGEN_ENABLED),
+                get(SERVER_SPEC, RETROGEN_BUDGET_MICROS),
+                get(SERVER_SPEC, RUBY_GROWTH_TICKS),
+                get(SERVER_SPEC, RUBY_GROWTH_PER_CHUNK),
+                get(SERVER_SPEC, METRICS_PORT),
+                get(SERVER_SPEC, RECORD_REPLAYS),
+                get(SERVER_SPEC, VEIN_MINE_LIMIT),
+                get(CLIENT_SPEC, ELEPHANT_ANIMATION_LOD_DISTANCE));
+    }
+
+    //the server file only exists while a world is open, until then the defaults are used
+    private static <T> T get(ForgeConfigSpec spec, ForgeConfigSpec.ConfigValue<T> value) {
+        return spec.isLoaded() ? value.get() : value.getDefault();
     }
 
+    //covers Loading and Reloading, Reloading fires when the file is edited while the game runs
     @SubscribeEvent
     static void onLoad(final ModConfigEvent event)
     {
-        logDirtBlock = LOG_DIRT_BLOCK.get();
-        magicNumber = MAGIC_NUMBER.get();
-        magicNumberIntroduction = MAGIC_NUMBER_INTRODUCTION.get();
-
-        // convert the list of strings into a set of items
-        items = ITEM_STRINGS.get().stream()
-                .map(itemName -> ForgeRegistries.ITEMS.getValue(ResourceLocation.tryParse(itemName)))
-                .collect(Collectors.toSet());
+        if (event instanceof ModConfigEvent.Unloading) {
+            return;
+        }
+        try {
+            values = read();
+            LOGGER.debug("Published {} config from {}", event.getConfig().getType(), event.getConfig().getFileName());
+        } catch (IllegalArgumentException e) {
+            //a bad edit keeps the last good values instead of half applying
+            LOGGER.error("Ignoring {}: {}", event.getConfig().getFileName(), e.getMessage());
+        }
     }
 }
@@ -1,12 +1,17 @@
 package com.example.rubymod;
 
 import com.mojang.logging.LogUtils;
+import com.example.rubymod.benchmark.StartupProfiler;
 import com.example.rubymod.blocks.ModBlocks;
+import com.example.rubymod.blocks.entity.ModBlockEntities;
 import com.example.rubymod.entity.ModEntities;
 import com.example.rubymod.entity.client.ElephantRenderer;
 import com.example.rubymod.entity.client.BulletRenderer;
 import com.example.rubymod.entity.client.SpearRenderer;
 import com.example.rubymod.items.*;
+import com.example.rubymod.network.ModNetwork;
+import com.example.rubymod.worldgen.ModFeatures;
+import com.example.rubymod.worldgen.ModPlacementModifiers;
 import com.example.rubymod.blocks.*;
 
 import net.minecraft.client.renderer.entity.EntityRenderers;
@@ -42,40 +47,67 @@ public class RubyMod
 
     public RubyMod(FMLJavaModLoadingContext context)
     {
-        IEventBus modEventBus = context.getModEventBus();
+        try (var constructor = StartupProfiler.begin("RubyMod constructor")) {
+            IEventBus modEventBus = context.getModEventBus();
 
-        // Register the commonSetup method for modloading
-        modEventBus.addListener(this::commonSetup);
-        ModCreativeTabs.register(modEventBus);
-        ModItems.register(modEventBus);
-        ModBlocks.register(modEventBus);
-        // Register ourselves for server and other game events we are interested in
-        MinecraftForge.EVENT_BUS.register(this);
-        ModEntities.register(modEventBus);
-        // Register the item to a creative tab
-        modEventBus.addListener(this::addCreative);
+            // Register the commonSetup method for modloading
+            modEventBus.addListener(this::commonSetup);
+            //the first register call of each class also runs its static init, so that is part of the time
+            try (var span = StartupProfiler.begin("ModCreativeTabs.register")) {
+                ModCreativeTabs.register(modEventBus);
+            }
+            try (var span = StartupProfiler.begin("ModItems.register")) {
+                ModItems.register(modEventBus);
+            }
+            try (var span = StartupProfiler.begin("ModBlocks.register")) {
+                ModBlocks.register(modEventBus);
+            }
+            try (var span = StartupProfiler.begin("ModBlockEntities.register")) {
+                ModBlockEntities.register(modEventBus);
+            }
+            // Register ourselves for server and other game events we are interested in
+            MinecraftForge.EVENT_BUS.register(this);
+            try (var span = StartupProfiler.begin("ModEntities.register")) {
+                ModEntities.register(modEventBus);
+            }
+            try (var span = StartupProfiler.begin("ModFeatures.register")) {
+                ModFeatures.register(modEventBus);
+            }
+            try (var span = StartupProfiler.begin("ModPlacementModifiers.register")) {
+                ModPlacementModifiers.register(modEventBus);
+            }
+            // Register the item to a creative tab
+            modEventBus.addListener(this::addCreative);
+            StartupProfiler.install(modEventBus, ModItems.ITEMS, ModBlocks.BLOCKS, ModBlockEntities.BLOCK_ENTITY_TYPES, ModEntities.ENTITY_TYPES,
+                    ModCreativeTabs.CREATIVE_MODE_TABS, ModFeatures.FEATURES, ModPlacementModifiers.PLACEMENT_MODIFIERS);
 
-        // Register our mod's ForgeConfigSpec so that Forge can create and load the config file for us
-        context.registerConfig(ModConfig.Type.COMMON, Config.SPEC);
+            // Register our mod's ForgeConfigSpec so that Forge can create and load the config file for us
+            context.registerConfig(ModConfig.Type.SERVER, Config.SERVER_SPEC);
+            context.registerConfig(ModConfig.Type.CLIENT, Config.CLIENT_SPEC);
+        }
     }
 
     private void commonSetup(final FMLCommonSetupEvent event)
     {
-        
+        //enqueueWork only queues, the span goes around the work itself on the main thread
+        event.enqueueWork(() -> {
+            try (var span = StartupProfiler.begin("ModNetwork.register")) {
+                ModNetwork.register();
+            }
+        });
     }
 
     // Add the example block item to the building blocks tab
     private void addCreative(BuildCreativeModeTabContentsEvent event)
     {
-        if(event.getTabKey()==CreativeModeTabs.FOOD_AND_DRINKS){
-            event.accept(ModItems.PITOGYRO);
-        }
-        if(event.getTabKey()==CreativeModeTabs.COMBAT){
-            event.accept(ModItems.SPEAR);
+        try (var span = StartupProfiler.begin("addCreative")) {
+            if(event.getTabKey()==CreativeModeTabs.FOOD_AND_DRINKS){
+                event.accept(ModItems.PITOGYRO);
+            }
+            if(event.getTabKey()==CreativeModeTabs.COMBAT){
+                event.accept(ModItems.SPEAR);
+            }
         }
-      
-        
-        
     }
 
     // You can use SubscribeEvent and let the Event Bus discover methods to call
@@ -92,10 +124,11 @@ public class RubyMod
         @SubscribeEvent
         public static void onClientSetup(FMLClientSetupEvent event) {
             //ModItemProperties.addCustomItemProperties();
-
-            EntityRenderers.register(ModEntities.ELEPHANT.get(), ElephantRenderer::new);
-            EntityRenderers.register(ModEntities.BULLET.get(), BulletRenderer::new);
-            EntityRenderers.register(ModEntities.SPEAR.get(), SpearRenderer::new);
+            try (var span = StartupProfiler.begin("onClientSetup")) {
+                EntityRenderers.register(ModEntities.ELEPHANT.get(), ElephantRenderer::new);
+                EntityRenderers.register(ModEntities.BULLET.get(), BulletRenderer::new);
+                EntityRenderers.register(ModEntities.SPEAR.get(), SpearRenderer::new);
+            }
         }
     }
 }
@@ -0,0 +1,68 @@
+package com.example.rubymod.benchmark;
+
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//wall time spent inside the mod's features, only measured while a benchmark runs
+public class FeatureTimer {
+    private static final Map<String, Timing> TIMINGS = new ConcurrentHashMap<>();
+    //the chunks whose features are timed, null while timing is off
+    private static volatile LongSet chunks;
+
+    public static void enable(LongSet measuredChunks) {
+        TIMINGS.clear();
+        chunks = measuredChunks;
+    }
+
+    public static void disable() {
+        chunks = null;
+    }
+
+    //returns 0 when timing is off or the feature starts outside the measured chunks so stop knows there is nothing to record
+    public static long start(BlockPos origin) {
+        LongSet measured = chunks;
+        if (measured == null || !measured.contains(ChunkPos.asLong(origin))) {
+            return 0L;
+        }
+        return System.nanoTime();
+    }
+
+    public static void stop(String name, long start, int placedBlocks) {
+        if (start != 0L) {
+            TIMINGS.computeIfAbsent(name, n -> new Timing()).add(System.nanoTime() - start, placedBlocks);
+        }
+    }
+
+    public static Map<String, Timing> timings() {
+        return TIMINGS;
+    }
+
+    public static class Timing {
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder blocks = new LongAdder();
+
+        private void add(long time, int placedBlocks) {
+            this.nanos.add(time);
+            this.calls.increment();
+            this.blocks.add(placedBlocks);
+        }
+
+        public long getNanos() {
+            return this.nanos.sum();
+        }
+
+        public long getCalls() {
+            return this.calls.sum();
+        }
+
+        public long getBlocks() {
+            return this.blocks.sum();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.rubymod.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.fml.event.lifecycle.FMLLoadCompleteEvent;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.registries.DeferredRegister;
+import net.minecraftforge.registries.RegisterEvent;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+//start with -Drubymod.profileStartup=true to see what the mod costs while the game loads:
+//the constructor, every registry the mod fills and the mod bus listeners are recorded with
+//wall time and allocated bytes, and rubymod-startup-trace.json is written to the game directory
+//when loading is complete. The file opens in chrome://tracing or ui.perfetto.dev
+public class StartupProfiler {
+    public static final boolean ENABLED = Boolean.getBoolean("rubymod.profileStartup");
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Span DISABLED = new Span(null, 0L, 0L);
+    private static final long ORIGIN = System.nanoTime();
+    private static final Queue<Event> EVENTS = new ConcurrentLinkedQueue<>();
+    //RegisterEvent is posted one registry at a time on one thread
+    private static final Map<ResourceKey<? extends Registry<?>>, Span> OPEN_REGISTRIES = new HashMap<>();
+    private static final Set<ResourceKey<? extends Registry<?>>> WATCHED = new HashSet<>();
+
+    //does nothing and allocates nothing when profiling is off
+    public static Span begin(String name) {
+        if (!ENABLED) {
+            return DISABLED;
+        }
+        return new Span(name, System.nanoTime(), allocatedBytes());
+    }
+
+    //times the RegisterEvent of each given register from our first listener to our last one
+    public static void install(IEventBus modEventBus, DeferredRegister<?>... registers) {
+        if (!ENABLED) {
+            return;
+        }
+        for (DeferredRegister<?> register : registers) {
+            WATCHED.add(register.getRegistryKey());
+        }
+        modEventBus.addListener(EventPriority.HIGHEST, false, RegisterEvent.class, StartupProfiler::beforeRegister);
+        modEventBus.addListener(EventPriority.LOWEST, false, RegisterEvent.class, StartupProfiler::afterRegister);
+        modEventBus.addListener(StartupProfiler::onLoadComplete);
+    }
+
+    private static void beforeRegister(RegisterEvent event) {
+        if (WATCHED.contains(event.getRegistryKey())) {
+            OPEN_REGISTRIES.put(event.getRegistryKey(), begin("register " + event.getRegistryKey().location()));
+        }
+    }
+
+    private static void afterRegister(RegisterEvent event) {
+        Span span = OPEN_REGISTRIES.remove(event.getRegistryKey());
+        if (span != null) {
+            span.close();
+        }
+    }
+
+    private static void onLoadComplete(FMLLoadCompleteEvent event) {
+        Path output = FMLPaths.GAMEDIR.get().resolve("rubymod-startup-trace.json");
+        try (Writer writer = Files.newBufferedWriter(output)) {
+            GSON.toJson(trace(), writer);
+            LOGGER.info("Startup trace with {} events written to {}", EVENTS.size(), output.toAbsolutePath());
+        } catch (IOException e) {
+            LOGGER.error("Could not write the startup trace", e);
+        }
+    }
+
+    //complete events in the chrome trace format, times in microseconds
+    private static JsonObject trace() {
+        JsonArray events = new JsonArray();
+        Map<Long, String> threads = new HashMap<>();
+        for (Event event : EVENTS) {
+            JsonObject json = new JsonObject();
+            json.addProperty("name", event.name());
+            json.addProperty("cat", "rubymod");
+            json.addProperty("ph", "X");
+            json.addProperty("ts", (event.start() - ORIGIN) / 1000.0);
+            json.addProperty("dur", event.nanos() / 1000.0);
+            json.addProperty("pid", 1);
+            json.addProperty("tid", event.threadId());
+            JsonObject args = new JsonObject();
+            args.addProperty("allocatedBytes", event.allocatedBytes());
+            json.add("args", args);
+            events.add(json);
+            threads.put(event.threadId(), event.threadName());
+        }
+        threads.forEach((id, name) -> {
+            JsonObject json = new JsonObject();
+            json.addProperty("name", "thread_name");
+            json.addProperty("ph", "M");
+            json.addProperty("pid", 1);
+            json.addProperty("tid", id);
+            JsonObject args = new JsonObject();
+            args.addProperty("name", name);
+            json.add("args", args);
+            events.add(json);
+        });
+        JsonObject trace = new JsonObject();
+        trace.add("traceEvents", events);
+        trace.addProperty("displayTimeUnit", "ms");
+        return trace;
+    }
+
+    //-1 when the jvm can not count allocations per thread
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1L;
+    }
+
+    public static class Span implements AutoCloseable {
+        private final String name;
+        private final long start;
+        private final long startBytes;
+
+        private Span(String name, long start, long startBytes) {
+            this.name = name;
+            this.start = start;
+            this.startBytes = startBytes;
+        }
+
+        @Override
+        public void close() {
+            if (this.name == null) {
+                return;
+            }
+            long nanos = System.nanoTime() - this.start;
+            long bytes = this.startBytes < 0 ? -1L : allocatedBytes() - this.startBytes;
+            Thread thread = Thread.currentThread();
+            EVENTS.add(new Event(this.name, this.start, nanos, bytes, thread.threadId(), thread.getName()));
+        }
+    }
+
+    private record Event(String name, long start, long nanos, long allocatedBytes, long threadId, String threadName) {
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.rubymod.benchmark;
+
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.blocks.ModBlocks;
+import com.example.rubymod.worldgen.ModConfiguredFeatures;
+import com.example.rubymod.worldgen.feature.RubyVeinConfiguration;
+import com.example.rubymod.worldgen.feature.RubyVeinFeature;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Registry;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.feature.ConfiguredFeature;
+import net.minecraft.world.level.levelgen.feature.Feature;
+import net.minecraft.world.level.levelgen.feature.configurations.OreConfiguration;
+import net.minecraft.world.level.levelgen.structure.templatesystem.TagMatchTest;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+//started by the worldgenBenchmark run in build.gradle: generates a square of new chunks away from spawn,
+//compares the cost per placed block of the ruby veins with the vanilla ore feature,
+//writes worldgen-benchmark.json into the game directory and stops the server
+@Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class WorldgenBenchmark {
+    public static final String RADIUS_PROPERTY = "rubymod.benchmark.worldgen";
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    //chunks between the spawn chunks and the generated square
+    private static final int SPAWN_MARGIN = 32;
+    private static final int WARMUP_VEINS = 500;
+    private static final int COMPARED_VEINS = 2000;
+    //the band both ruby veins are placed in
+    private static final int COMPARE_MIN_Y = -48;
+    private static final int COMPARE_MAX_Y = 32;
+    //further than either feature reaches from its origin, the ruby veins stop 12 blocks out
+    private static final int COUNT_REACH = 13;
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        String radius = System.getProperty(RADIUS_PROPERTY);
+        if (radius == null) {
+            return;
+        }
+        MinecraftServer server = event.getServer();
+        try {
+            JsonObject result = run(server.overworld(), Integer.parseInt(radius));
+            Path output = server.getServerDirectory().resolve("worldgen-benchmark.json");
+            try (Writer writer = Files.newBufferedWriter(output)) {
+                GSON.toJson(result, writer);
+            }
+            LOGGER.info("Worldgen benchmark written to {}", output.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Worldgen benchmark failed", e);
+        } finally {
+            FeatureTimer.disable();
+            server.halt(false);
+        }
+    }
+
+    public static JsonObject run(ServerLevel level, int radius) {
+        //the spawn chunks were generated while the world was created, the square starts well east of them
+        ChunkPos spawn = new ChunkPos(level.getSharedSpawnPos());
+        ChunkPos center = new ChunkPos(spawn.x + SPAWN_MARGIN + radius, spawn.z);
+        //chunks left over from an earlier run in the same world would only be loaded, not generated
+        LongOpenHashSet generated = new LongOpenHashSet();
+        int existing = 0;
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                ChunkPos pos = new ChunkPos(center.x + x, center.z + z);
+                if (exists(level, pos)) {
+                    existing++;
+                } else {
+                    generated.add(pos.toLong());
+                }
+            }
+        }
+        //only features started in the generated chunks are timed so the timings cover the chunks the histogram counts
+        FeatureTimer.enable(generated);
+
+        long start = System.nanoTime();
+        for (long pos : generated) {
+            level.getChunk(ChunkPos.getX(pos), ChunkPos.getZ(pos));
+        }
+        long elapsed = System.nanoTime() - start;
+        FeatureTimer.disable();
+
+        int chunks = generated.size();
+        JsonObject result = new JsonObject();
+        result.addProperty("seed", level.getSeed());
+        result.addProperty("centerChunkX", center.x);
+        result.addProperty("centerChunkZ", center.z);
+        result.addProperty("chunks", chunks);
+        result.addProperty("skippedExistingChunks", existing);
+        result.addProperty("seconds", elapsed / 1.0E9);
+        result.addProperty("chunksPerSecond", chunks / (elapsed / 1.0E9));
+
+        JsonObject features = new JsonObject();
+        for (Map.Entry<String, FeatureTimer.Timing> entry : FeatureTimer.timings().entrySet()) {
+            JsonObject timing = new JsonObject();
+            timing.addProperty("calls", entry.getValue().getCalls());
+            timing.addProperty("milliseconds", entry.getValue().getNanos() / 1.0E6);
+            timing.addProperty("placedBlocks", entry.getValue().getBlocks());
+            timing.addProperty("nanosPerPlacedBlock", perBlock(entry.getValue().getNanos(), entry.getValue().getBlocks()));
+            features.add(entry.getKey(), timing);
+        }
+        result.add("features", features);
+        result.add("rubyOreByY", oreHistogram(level, generated));
+        result.add("vanillaOreComparison", compareWithVanillaOre(level, center, radius));
+        return result;
+    }
+
+    //places veins of both ruby vein configurations and of the vanilla ore feature with the same block, target and size
+    //at random spots of the generated square, both written straight into the sections like during worldgen.
+    //vanilla gets the chunks with an even x + z and the ruby veins the odd ones so they do not eat each other's stone
+    private static JsonObject compareWithVanillaOre(ServerLevel level, ChunkPos center, int radius) {
+        Registry<ConfiguredFeature<?, ?>> registry = level.registryAccess().registryOrThrow(Registries.CONFIGURED_FEATURE);
+        JsonObject comparison = new JsonObject();
+        for (ResourceKey<ConfiguredFeature<?, ?>> key : List.of(ModConfiguredFeatures.RUBY_ORE_KEY, ModConfiguredFeatures.RUBY_ORE_RIBBON_KEY)) {
+            ConfiguredFeature<?, ?> feature = registry.get(key);
+            if (feature == null || !(feature.config() instanceof RubyVeinConfiguration config)) {
+                continue;
+            }
+            OreConfiguration vanillaConfig = new OreConfiguration(new TagMatchTest(config.replaceable()), config.state(), config.size());
+            RandomSource spots = RandomSource.create(level.getSeed() ^ key.location().hashCode());
+            //the first round lets the JIT compile both before anything is measured
+            compareRound(level, center, radius, config, vanillaConfig, spots, WARMUP_VEINS);
+            long[] measured = compareRound(level, center, radius, config, vanillaConfig, spots, COMPARED_VEINS);
+
+            JsonObject entry = new JsonObject();
+            entry.addProperty("size", config.size());
+            entry.addProperty("veins", COMPARED_VEINS);
+            entry.add("vanillaOre", comparisonTiming(measured[0], measured[1]));
+            entry.add("rubyVein", comparisonTiming(measured[2], measured[3]));
+            comparison.add(key.location().getPath(), entry);
+        }
+        return comparison;
+    }
+
+    //returns vanilla nanos, vanilla blocks, ruby nanos, ruby blocks
+    private static long[] compareRound(ServerLevel level, ChunkPos center, int radius, RubyVeinConfiguration config,
+                                       OreConfiguration vanillaConfig, RandomSource spots, int veins) {
+        ChunkGenerator generator = level.getChunkSource().getGenerator();
+        Block ore = config.state().getBlock();
+        long[] totals = new long[4];
+        for (int i = 0; i < veins; i++) {
+            for (int vanilla = 1; vanilla >= 0; vanilla--) {
+                BlockPos origin = randomSpot(center, radius, spots, vanilla == 1);
+                RandomSource random = RandomSource.create(spots.nextLong());
+                if (vanilla == 1) {
+                    //the ore feature only says whether it placed anything, the new blocks are counted around it
+                    int before = countAround(level, origin, ore);
+                    long start = System.nanoTime();
+                    Feature.ORE.place(vanillaConfig, level, generator, random, origin);
+                    totals[0] += System.nanoTime() - start;
+                    totals[1] += countAround(level, origin, ore) - before;
+                } else {
+                    long start = System.nanoTime();
+                    int placed = RubyVeinFeature.placeVein(level, config, origin, random, false);
+                    totals[2] += System.nanoTime() - start;
+                    totals[3] += placed;
+                }
+            }
+        }
+        return totals;
+    }
+
+    //a random block in the stone layers of the square, in a chunk with an even or odd x + z.
+    //It stays far enough from the edge that neither feature reaches outside the generated chunks
+    private static BlockPos randomSpot(ChunkPos center, int radius, RandomSource random, boolean even) {
+        int inner = Math.max(0, radius - 1);
+        int chunkX = center.x + random.nextInt(inner * 2 + 1) - inner;
+        int chunkZ = center.z + random.nextInt(inner * 2 + 1) - inner;
+        if (((chunkX + chunkZ) & 1) == 0 != even) {
+            chunkX += chunkX < center.x ? 1 : -1;
+        }
+        return new BlockPos(SectionPos.sectionToBlockCoord(chunkX) + random.nextInt(16),
+                COMPARE_MIN_Y + random.nextInt(COMPARE_MAX_Y - COMPARE_MIN_Y + 1),
+                SectionPos.sectionToBlockCoord(chunkZ) + random.nextInt(16));
+    }
+
+    private static int countAround(ServerLevel level, BlockPos origin, Block ore) {
+        int count = 0;
+        for (BlockPos pos : BlockPos.betweenClosed(origin.offset(-COUNT_REACH, -COUNT_REACH, -COUNT_REACH),
+                origin.offset(COUNT_REACH, COUNT_REACH, COUNT_REACH))) {
+            if (level.getBlockState(pos).is(ore)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static JsonObject comparisonTiming(long nanos, long blocks) {
+        JsonObject timing = new JsonObject();
+        timing.addProperty("milliseconds", nanos / 1.0E6);
+        timing.addProperty("placedBlocks", blocks);
+        timing.addProperty("nanosPerPlacedBlock", perBlock(nanos, blocks));
+        return timing;
+    }
+
+    private static double perBlock(long nanos, long blocks) {
+        return blocks == 0 ? 0.0 : (double) nanos / blocks;
+    }
+
+    //number of ruby ore blocks at every y level of the generated square
+    //loaded or saved in any state, saved chunks that never finished still had part of their generation done
+    private static boolean exists(ServerLevel level, ChunkPos pos) {
+        return level.getChunkSource().getChunkNow(pos.x, pos.z) != null
+                || level.getChunkSource().chunkMap.read(pos).join().isPresent();
+    }
+
+    private static JsonArray oreHistogram(ServerLevel level, LongOpenHashSet chunks) {
+        Block ore = ModBlocks.RUBY_ORE.get();
+        int[] counts = new int[level.getHeight()];
+        for (long pos : chunks) {
+            LevelChunk chunk = level.getChunk(ChunkPos.getX(pos), ChunkPos.getZ(pos));
+            LevelChunkSection[] sections = chunk.getSections();
+            for (int i = 0; i < sections.length; i++) {
+                LevelChunkSection section = sections[i];
+                if (section.hasOnlyAir() || !section.getStates().maybeHas(state -> state.is(ore))) {
+                    continue;
+                }
+                int bottom = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(i));
+                for (int ly = 0; ly < 16; ly++) {
+                    for (int lz = 0; lz < 16; lz++) {
+                        for (int lx = 0; lx < 16; lx++) {
+                            if (section.getBlockState(lx, ly, lz).is(ore)) {
+                                counts[bottom + ly - level.getMinBuildHeight()]++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        JsonArray histogram = new JsonArray();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                JsonObject bucket = new JsonObject();
+                bucket.addProperty("y", i + level.getMinBuildHeight());
+                bucket.addProperty("count", counts[i]);
+                histogram.add(bucket);
+            }
+        }
+        return histogram;
+    }
+}
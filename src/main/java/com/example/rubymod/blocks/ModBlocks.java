@@ -1,6 +1,9 @@
 package com.example.rubymod.blocks;
 
 import com.example.rubymod.RubyMod;
+import com.example.rubymod.blocks.custom.BuddingRubyBlock;
+import com.example.rubymod.blocks.custom.RubyBudBlock;
+import com.example.rubymod.blocks.custom.RubyFurnaceBlock;
 import com.example.rubymod.items.ModItems;
 import com.example.rubymod.RubyMod;
 import net.minecraftforge.registries.DeferredRegister;
@@ -15,6 +18,8 @@ import java.util.function.Supplier;
 import net.minecraft.util.valueproviders.UniformInt;
 import net.minecraft.world.level.block.DropExperienceBlock;
 import net.minecraft.world.level.block.state.BlockBehaviour;
+import net.minecraft.world.level.material.MapColor;
+import net.minecraft.world.level.material.PushReaction;
 
 public class ModBlocks {
     public static final DeferredRegister<Block> BLOCKS = 
@@ -26,6 +31,27 @@ public class ModBlocks {
     public static final RegistryObject<Block> RUBY_ORE =
         registerBlock("ruby_ore",() -> new DropExperienceBlock(UniformInt.of(2,4), 
         BlockBehaviour.Properties.of().strength(4f).requiresCorrectToolForDrops()));
+    //sprouts small ruby buds around it, buds on it grow like on a ruby block
+    public static final RegistryObject<Block> BUDDING_RUBY =
+        registerBlock("budding_ruby",() -> new BuddingRubyBlock(BlockBehaviour.Properties.of().mapColor(MapColor.COLOR_RED)
+            .strength(1.5f).requiresCorrectToolForDrops().sound(SoundType.AMETHYST).pushReaction(PushReaction.DESTROY)));
+    //buds on a ruby block grow small -> medium -> large -> cluster, each one knows the stage after it
+    public static final RegistryObject<Block> RUBY_CLUSTER =
+        registerBlock("ruby_cluster",() -> new RubyBudBlock(7, 3, null, budProperties(SoundType.AMETHYST_CLUSTER, 5)));
+    public static final RegistryObject<Block> LARGE_RUBY_BUD =
+        registerBlock("large_ruby_bud",() -> new RubyBudBlock(5, 3, RUBY_CLUSTER, budProperties(SoundType.LARGE_AMETHYST_BUD, 4)));
+    public static final RegistryObject<Block> MEDIUM_RUBY_BUD =
+        registerBlock("medium_ruby_bud",() -> new RubyBudBlock(4, 3, LARGE_RUBY_BUD, budProperties(SoundType.MEDIUM_AMETHYST_BUD, 2)));
+    public static final RegistryObject<Block> SMALL_RUBY_BUD =
+        registerBlock("small_ruby_bud",() -> new RubyBudBlock(3, 4, MEDIUM_RUBY_BUD, budProperties(SoundType.SMALL_AMETHYST_BUD, 1)));
+    public static final RegistryObject<Block> RUBY_FURNACE =
+        registerBlock("ruby_furnace",() -> new RubyFurnaceBlock(BlockBehaviour.Properties.of().mapColor(MapColor.COLOR_RED)
+            .strength(3.5f).requiresCorrectToolForDrops().lightLevel(state -> state.getValue(RubyFurnaceBlock.LIT) ? 13 : 0)));
+
+    private static BlockBehaviour.Properties budProperties(SoundType sound, int light){
+        return BlockBehaviour.Properties.of().mapColor(MapColor.COLOR_RED).forceSolidOn().noOcclusion()
+            .sound(sound).strength(1.5f).lightLevel(state -> light).pushReaction(PushReaction.DESTROY);
+    }
     private static <T extends Block> RegistryObject<T> registerBlock(String name, Supplier<T> block){
         RegistryObject<T> RObject=BLOCKS.register(name,block);
         registerBlockItem(name, RObject);
@@ -0,0 +1,96 @@
+package com.example.rubymod.blocks.custom;
+
+import com.example.rubymod.Config;
+import com.example.rubymod.blocks.ModBlocks;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.AmethystClusterBlock;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+
+//sprouts small ruby buds on its free faces like budding amethyst.
+//It only ever places the small bud, the bud then grows on its own with scheduled ticks.
+//Like the buds it does not take random ticks: it schedules the next sprout for when it is due
+//and stops scheduling once every face is taken, until a neighbor frees one again
+public class BuddingRubyBlock extends Block {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    public BuddingRubyBlock(Properties properties) {
+        super(properties);
+    }
+
+    //a bud fits into air or a water source, like an amethyst bud
+    private static boolean isFree(BlockState state) {
+        return state.isAir() || state.is(Blocks.WATER) && state.getFluidState().getAmount() == 8;
+    }
+
+    private static boolean hasFreeFace(BlockGetter level, BlockPos pos) {
+        for (Direction direction : DIRECTIONS) {
+            if (isFree(level.getBlockState(pos.relative(direction)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void scheduleSprout(LevelAccessor level, BlockPos pos) {
+        if (!level.isClientSide() && !level.getBlockTicks().hasScheduledTick(pos, this) && hasFreeFace(level, pos)) {
+            level.scheduleTick(pos, this, sproutDelay(level.getRandom()));
+        }
+    }
+
+    //the same spread as the bud growth so a farm does not sprout everything in the same tick
+    private static int sproutDelay(RandomSource random) {
+        int ticks = Config.values().rubyGrowthTicks();
+        return ticks / 2 + random.nextInt(ticks);
+    }
+
+    @Override
+    protected void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState, boolean movedByPiston) {
+        super.onPlace(state, level, pos, oldState, movedByPiston);
+        this.scheduleSprout(level, pos);
+    }
+
+    //a bud mined off a block that had no room left starts it again
+    @Override
+    protected BlockState updateShape(BlockState state, Direction direction, BlockState neighborState, LevelAccessor level,
+                                     BlockPos pos, BlockPos neighborPos) {
+        if (isFree(neighborState)) {
+            this.scheduleSprout(level, pos);
+        }
+        return super.updateShape(state, direction, neighborState, level, pos, neighborPos);
+    }
+
+    @Override
+    protected void tick(BlockState state, ServerLevel level, BlockPos pos, RandomSource random) {
+        //one of the free faces, picked at random
+        Direction face = null;
+        int free = 0;
+        for (Direction direction : DIRECTIONS) {
+            if (isFree(level.getBlockState(pos.relative(direction))) && random.nextInt(++free) == 0) {
+                face = direction;
+            }
+        }
+        if (face == null) {
+            return;
+        }
+        //shares the chunk's growth budget with the buds, a skipped sprout tries again a moment later
+        BlockPos budPos = pos.relative(face);
+        if (!GrowthBudget.tryUse(level, budPos)) {
+            level.scheduleTick(pos, this, 1 + random.nextInt(20));
+            return;
+        }
+        BlockState bud = ModBlocks.SMALL_RUBY_BUD.get().defaultBlockState()
+                .setValue(AmethystClusterBlock.FACING, face)
+                .setValue(AmethystClusterBlock.WATERLOGGED, !level.getBlockState(budPos).isAir());
+        level.setBlock(budPos, bud, Block.UPDATE_ALL);
+        this.scheduleSprout(level, pos);
+    }
+}
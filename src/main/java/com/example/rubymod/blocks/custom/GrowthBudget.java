@@ -0,0 +1,31 @@
+package com.example.rubymod.blocks.custom;
+
+import com.example.rubymod.Config;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//how many buds may grow in one chunk during one tick, so a big farm spreads its block updates out
+public class GrowthBudget {
+    //only used from the server thread
+    private static final Map<ResourceKey<Level>, GrowthBudget> BUDGETS = new HashMap<>();
+    private final Long2IntOpenHashMap used = new Long2IntOpenHashMap();
+    private long gameTime = Long.MIN_VALUE;
+
+    public static boolean tryUse(ServerLevel level, BlockPos pos) {
+        GrowthBudget budget = BUDGETS.computeIfAbsent(level.dimension(), dimension -> new GrowthBudget());
+        long now = level.getGameTime();
+        if (budget.gameTime != now) {
+            budget.gameTime = now;
+            budget.used.clear();
+        }
+        return budget.used.addTo(ChunkPos.asLong(pos), 1) < Config.values().rubyGrowthPerChunk();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.rubymod.blocks.custom;
+
+import com.example.rubymod.Config;
+import com.example.rubymod.util.ModTags;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.AmethystClusterBlock;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+//a ruby bud that grows into the next bigger one while it sits on a ruby block or budding ruby.
+//Instead of checking on every random tick the bud schedules one tick for when it should grow,
+//so a farm full of buds costs nothing until one of them is due
+public class RubyBudBlock extends AmethystClusterBlock {
+    @Nullable
+    private final Supplier<Block> nextStage;
+
+    public RubyBudBlock(float height, float aabbOffset, @Nullable Supplier<Block> nextStage, Properties properties) {
+        super(height, aabbOffset, properties);
+        this.nextStage = nextStage;
+    }
+
+    private boolean isOnRuby(BlockState state, BlockGetter level, BlockPos pos) {
+        Direction facing = state.getValue(FACING);
+        return level.getBlockState(pos.relative(facing.getOpposite())).is(ModTags.Blocks.GROWS_RUBY_BUDS);
+    }
+
+    private void scheduleGrowth(BlockState state, LevelAccessor level, BlockPos pos) {
+        if (this.nextStage != null && !level.isClientSide() && this.isOnRuby(state, level, pos)
+                && !level.getBlockTicks().hasScheduledTick(pos, this)) {
+            level.scheduleTick(pos, this, growthDelay(level.getRandom()));
+        }
+    }
+
+    //spread around the configured time so buds placed together do not all grow in the same tick
+    private static int growthDelay(RandomSource random) {
+        int ticks = Config.values().rubyGrowthTicks();
+        return ticks / 2 + random.nextInt(ticks);
+    }
+
+    @Override
+    protected void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState, boolean movedByPiston) {
+        super.onPlace(state, level, pos, oldState, movedByPiston);
+        this.scheduleGrowth(state, level, pos);
+    }
+
+    //a ruby block put back behind a bud that stopped growing starts it again
+    @Override
+    protected BlockState updateShape(BlockState state, Direction direction, BlockState neighborState, LevelAccessor level,
+                                     BlockPos pos, BlockPos neighborPos) {
+        BlockState updated = super.updateShape(state, direction, neighborState, level, pos, neighborPos);
+        if (updated.is(this) && direction == state.getValue(FACING).getOpposite()) {
+            this.scheduleGrowth(updated, level, pos);
+        }
+        return updated;
+    }
+
+    @Override
+    protected void tick(BlockState state, ServerLevel level, BlockPos pos, RandomSource random) {
+        if (this.nextStage == null || !this.isOnRuby(state, level, pos)) {
+            return;
+        }
+        //too much growth in this chunk already, try again a moment later
+        if (!GrowthBudget.tryUse(level, pos)) {
+            level.scheduleTick(pos, this, 1 + random.nextInt(20));
+            return;
+        }
+        BlockState grown = this.nextStage.get().defaultBlockState()
+                .setValue(FACING, state.getValue(FACING))
+                .setValue(WATERLOGGED, state.getValue(WATERLOGGED));
+        level.setBlock(pos, grown, Block.UPDATE_ALL);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.rubymod.blocks.entity;
+
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.blocks.ModBlocks;
+
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.registries.DeferredRegister;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.RegistryObject;
+
+public class ModBlockEntities {
+    public static final DeferredRegister<BlockEntityType<?>> BLOCK_ENTITY_TYPES =
+        DeferredRegister.create(ForgeRegistries.BLOCK_ENTITY_TYPES, RubyMod.MODID);
+
+    public static final RegistryObject<BlockEntityType<RubyFurnaceBlockEntity>> RUBY_FURNACE =
+        BLOCK_ENTITY_TYPES.register("ruby_furnace", () -> BlockEntityType.Builder.of(RubyFurnaceBlockEntity::new,
+            ModBlocks.RUBY_FURNACE.get()).build(null));
+
+    public static void register(IEventBus eventBus){
+        BLOCK_ENTITY_TYPES.register(eventBus);
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.rubymod.blocks.entity;
+
+import com.example.rubymod.blocks.custom.RubyFurnaceBlock;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.NonNullList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.ContainerHelper;
+import net.minecraft.world.WorldlyContainer;
+import net.minecraft.world.entity.ExperienceOrb;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.ContainerData;
+import net.minecraft.world.inventory.FurnaceMenu;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.SingleRecipeInput;
+import net.minecraft.world.item.crafting.SmeltingRecipe;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BaseContainerBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.wrapper.SidedInvWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+//the ruby furnace smelts the normal smelting recipes twice as fast, fuel burns as long as in a furnace.
+//it only ticks while it is burning, cooking or could start cooking. Anything that changes the inventory
+//(menus, hoppers, item handlers) calls setChanged, which sets the AWAKE property and so gives it a ticker again
+public class RubyFurnaceBlockEntity extends BaseContainerBlockEntity implements WorldlyContainer {
+    public static final int SLOT_INPUT = 0;
+    public static final int SLOT_FUEL = 1;
+    public static final int SLOT_RESULT = 2;
+    private static final int[] SLOTS_FOR_UP = new int[]{SLOT_INPUT};
+    private static final int[] SLOTS_FOR_DOWN = new int[]{SLOT_RESULT, SLOT_FUEL};
+    private static final int[] SLOTS_FOR_SIDES = new int[]{SLOT_FUEL};
+    private static final int SPEED = 2;
+    private static final int DEFAULT_COOK_TIME = 200 / SPEED;
+
+    private NonNullList<ItemStack> items = NonNullList.withSize(3, ItemStack.EMPTY);
+    private int litTime;
+    private int litDuration;
+    private int cookingProgress;
+    private int cookingTotalTime;
+    //experience of the items smelted since the output was last taken
+    private float experience;
+
+    //the recipe of the last input, it is only looked up again when the input item or the loaded recipes change.
+    //the recipe manager is replaced on /reload, so comparing it is enough to notice new recipes
+    @Nullable
+    private RecipeManager recipeManager;
+    private ItemStack recipeInput = ItemStack.EMPTY;
+    @Nullable
+    private RecipeHolder<SmeltingRecipe> recipe;
+    //what the recipe makes from that input, assembled once with the lookup instead of on every tick. Never changed, only copied
+    private ItemStack recipeResult = ItemStack.EMPTY;
+
+    //the same four values the vanilla furnace menu expects
+    private final ContainerData dataAccess = new ContainerData() {
+        @Override
+        public int get(int index) {
+            return switch (index) {
+                case 0 -> RubyFurnaceBlockEntity.this.litTime;
+                case 1 -> RubyFurnaceBlockEntity.this.litDuration;
+                case 2 -> RubyFurnaceBlockEntity.this.cookingProgress;
+                case 3 -> RubyFurnaceBlockEntity.this.cookingTotalTime;
+                default -> 0;
+            };
+        }
+
+        @Override
+        public void set(int index, int value) {
+            switch (index) {
+                case 0 -> RubyFurnaceBlockEntity.this.litTime = value;
+                case 1 -> RubyFurnaceBlockEntity.this.litDuration = value;
+                case 2 -> RubyFurnaceBlockEntity.this.cookingProgress = value;
+                case 3 -> RubyFurnaceBlockEntity.this.cookingTotalTime = value;
+            }
+        }
+
+        @Override
+        public int getCount() {
+            return 4;
+        }
+    };
+
+    private LazyOptional<? extends IItemHandler>[] handlers = SidedInvWrapper.create(this, Direction.UP, Direction.DOWN, Direction.NORTH);
+
+    public RubyFurnaceBlockEntity(BlockPos pos, BlockState state) {
+        super(ModBlockEntities.RUBY_FURNACE.get(), pos, state);
+    }
+
+    public static void serverTick(Level level, BlockPos pos, BlockState state, RubyFurnaceBlockEntity furnace) {
+        boolean wasLit = furnace.isLit();
+        boolean changed = false;
+        if (furnace.isLit()) {
+            furnace.litTime--;
+        }
+
+        ItemStack input = furnace.items.get(SLOT_INPUT);
+        ItemStack fuel = furnace.items.get(SLOT_FUEL);
+        RecipeHolder<SmeltingRecipe> recipe = furnace.getRecipe(level, input);
+        boolean canSmelt = furnace.canSmelt(recipe);
+        if (furnace.isLit() || !fuel.isEmpty() && canSmelt) {
+            if (!furnace.isLit() && canSmelt) {
+                furnace.litTime = fuel.getBurnTime(RecipeType.SMELTING);
+                furnace.litDuration = furnace.litTime;
+                if (furnace.isLit()) {
+                    changed = true;
+                    //lava buckets leave their bucket behind
+                    if (fuel.hasCraftingRemainingItem()) {
+                        furnace.items.set(SLOT_FUEL, fuel.getCraftingRemainingItem());
+                    } else {
+                        fuel.shrink(1);
+                        if (fuel.isEmpty()) {
+                            furnace.items.set(SLOT_FUEL, fuel.getCraftingRemainingItem());
+                        }
+                    }
+                }
+            }
+            if (furnace.isLit() && canSmelt) {
+                furnace.cookingProgress++;
+                if (furnace.cookingProgress >= furnace.cookingTotalTime) {
+                    furnace.cookingProgress = 0;
+                    furnace.smelt(recipe);
+                    furnace.cookingTotalTime = furnace.getCookTime(level);
+                    changed = true;
+                }
+            } else {
+                furnace.cookingProgress = 0;
+            }
+        } else if (furnace.cookingProgress > 0) {
+            furnace.cookingProgress = Mth.clamp(furnace.cookingProgress - 2, 0, furnace.cookingTotalTime);
+        }
+
+        //go to sleep once nothing can happen before the inventory changes again, an empty bucket in the fuel slot is no fuel
+        boolean awake = furnace.isLit() || furnace.cookingProgress > 0
+                || furnace.items.get(SLOT_FUEL).getBurnTime(RecipeType.SMELTING) > 0
+                && furnace.canSmelt(furnace.getRecipe(level, furnace.items.get(SLOT_INPUT)));
+        if (wasLit != furnace.isLit() || !awake) {
+            BlockState updated = state.setValue(RubyFurnaceBlock.LIT, furnace.isLit()).setValue(RubyFurnaceBlock.AWAKE, awake);
+            //only the light changes the neighbors care about
+            level.setBlock(pos, updated, wasLit != furnace.isLit() ? Block.UPDATE_ALL : Block.UPDATE_CLIENTS);
+            state = updated;
+            changed = true;
+        }
+        if (changed) {
+            //the static one, the instance setChanged would wake the furnace up again
+            setChanged(level, pos, state);
+        }
+    }
+
+    //wakes the furnace when its inventory changes
+    @Override
+    public void setChanged() {
+        super.setChanged();
+        if (this.level != null && !this.level.isClientSide()) {
+            BlockState state = this.getBlockState();
+            if (state.hasProperty(RubyFurnaceBlock.AWAKE) && !state.getValue(RubyFurnaceBlock.AWAKE)) {
+                this.level.setBlock(this.worldPosition, state.setValue(RubyFurnaceBlock.AWAKE, true), Block.UPDATE_CLIENTS);
+            }
+        }
+    }
+
+    private boolean isLit() {
+        return this.litTime > 0;
+    }
+
+    @Nullable
+    private RecipeHolder<SmeltingRecipe> getRecipe(Level level, ItemStack input) {
+        if (input.isEmpty()) {
+            return null;
+        }
+        RecipeManager manager = level.getRecipeManager();
+        if (manager != this.recipeManager || !ItemStack.isSameItemSameComponents(input, this.recipeInput)) {
+            this.recipeManager = manager;
+            this.recipeInput = input.copyWithCount(1);
+            SingleRecipeInput smeltInput = new SingleRecipeInput(input);
+            this.recipe = manager.getRecipeFor(RecipeType.SMELTING, smeltInput, level).orElse(null);
+            this.recipeResult = this.recipe == null ? ItemStack.EMPTY : this.recipe.value().assemble(smeltInput, level.registryAccess());
+        }
+        return this.recipe;
+    }
+
+    private int getCookTime(Level level) {
+        RecipeHolder<SmeltingRecipe> recipe = this.getRecipe(level, this.items.get(SLOT_INPUT));
+        return recipe == null ? DEFAULT_COOK_TIME : Math.max(1, recipe.value().getCookingTime() / SPEED);
+    }
+
+    //recipe comes from getRecipe for the current input, so the cached result belongs to it
+    private boolean canSmelt(@Nullable RecipeHolder<SmeltingRecipe> recipe) {
+        ItemStack input = this.items.get(SLOT_INPUT);
+        if (input.isEmpty() || recipe == null) {
+            return false;
+        }
+        ItemStack result = this.recipeResult;
+        if (result.isEmpty()) {
+            return false;
+        }
+        ItemStack output = this.items.get(SLOT_RESULT);
+        if (output.isEmpty()) {
+            return true;
+        }
+        if (!ItemStack.isSameItemSameComponents(output, result)) {
+            return false;
+        }
+        int count = output.getCount() + result.getCount();
+        return count <= this.getMaxStackSize() && count <= output.getMaxStackSize();
+    }
+
+    private void smelt(RecipeHolder<SmeltingRecipe> recipe) {
+        ItemStack input = this.items.get(SLOT_INPUT);
+        ItemStack result = this.recipeResult;
+        ItemStack output = this.items.get(SLOT_RESULT);
+        if (output.isEmpty()) {
+            this.items.set(SLOT_RESULT, result.copy());
+        } else {
+            output.grow(result.getCount());
+        }
+        //drying a sponge fills a bucket in the fuel slot, like in the vanilla furnace
+        ItemStack fuel = this.items.get(SLOT_FUEL);
+        if (input.is(Blocks.WET_SPONGE.asItem()) && !fuel.isEmpty() && fuel.is(Items.BUCKET)) {
+            this.items.set(SLOT_FUEL, new ItemStack(Items.WATER_BUCKET));
+        }
+        input.shrink(1);
+        this.experience += recipe.value().getExperience();
+    }
+
+    //drops the experience collected so far as orbs, the fraction is rounded up by chance
+    public void awardExperience(ServerLevel level, Vec3 pos) {
+        int points = Mth.floor(this.experience);
+        float fraction = Mth.frac(this.experience);
+        if (fraction != 0.0F && level.getRandom().nextFloat() < fraction) {
+            points++;
+        }
+        this.experience = 0.0F;
+        if (points > 0) {
+            ExperienceOrb.award(level, pos, points);
+        }
+    }
+
+    @Override
+    public void setItem(int slot, ItemStack stack) {
+        ItemStack old = this.items.get(slot);
+        boolean same = !stack.isEmpty() && ItemStack.isSameItemSameComponents(old, stack);
+        this.items.set(slot, stack);
+        stack.limitSize(this.getMaxStackSize(stack));
+        if (slot == SLOT_INPUT && !same && this.level != null) {
+            this.cookingTotalTime = this.getCookTime(this.level);
+            this.cookingProgress = 0;
+        }
+        this.setChanged();
+    }
+
+    @Override
+    public boolean canPlaceItem(int slot, ItemStack stack) {
+        if (slot == SLOT_RESULT) {
+            return false;
+        }
+        if (slot == SLOT_FUEL) {
+            ItemStack fuel = this.items.get(SLOT_FUEL);
+            return stack.getBurnTime(RecipeType.SMELTING) > 0 || stack.is(Items.BUCKET) && !fuel.is(Items.BUCKET);
+        }
+        return true;
+    }
+
+    @Override
+    public int[] getSlotsForFace(Direction side) {
+        if (side == Direction.DOWN) {
+            return SLOTS_FOR_DOWN;
+        }
+        return side == Direction.UP ? SLOTS_FOR_UP : SLOTS_FOR_SIDES;
+    }
+
+    @Override
+    public boolean canPlaceItemThroughFace(int slot, ItemStack stack, @Nullable Direction side) {
+        return this.canPlaceItem(slot, stack);
+    }
+
+    //only empty buckets come back out of the fuel slot
+    @Override
+    public boolean canTakeItemThroughFace(int slot, ItemStack stack, Direction side) {
+        return side != Direction.DOWN || slot != SLOT_FUEL || stack.is(Items.WATER_BUCKET) || stack.is(Items.BUCKET);
+    }
+
+    @Override
+    public int getContainerSize() {
+        return this.items.size();
+    }
+
+    @Override
+    protected NonNullList<ItemStack> getItems() {
+        return this.items;
+    }
+
+    @Override
+    protected void setItems(NonNullList<ItemStack> items) {
+        this.items = items;
+    }
+
+    @Override
+    protected Component getDefaultName() {
+        return Component.translatable("container.rubymod.ruby_furnace");
+    }
+
+    @Override
+    protected AbstractContainerMenu createMenu(int containerId, Inventory inventory) {
+        return new FurnaceMenu(containerId, inventory, this, this.dataAccess);
+    }
+
+    @Override
+    protected void loadAdditional(CompoundTag tag, HolderLookup.Provider registries) {
+        super.loadAdditional(tag, registries);
+        this.items = NonNullList.withSize(this.getContainerSize(), ItemStack.EMPTY);
+        ContainerHelper.loadAllItems(tag, this.items, registries);
+        this.litTime = tag.getInt("BurnTime");
+        this.litDuration = tag.getInt("BurnDuration");
+        this.cookingProgress = tag.getInt("CookTime");
+        this.cookingTotalTime = tag.getInt("CookTimeTotal");
+        this.experience = tag.getFloat("Experience");
+    }
+
+    @Override
+    protected void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
+        super.saveAdditional(tag, registries);
+        tag.putInt("BurnTime", this.litTime);
+        tag.putInt("BurnDuration", this.litDuration);
+        tag.putInt("CookTime", this.cookingProgress);
+        tag.putInt("CookTimeTotal", this.cookingTotalTime);
+        tag.putFloat("Experience", this.experience);
+        ContainerHelper.saveAllItems(tag, this.items, registries);
+    }
+
+    //hoppers and pipes see the same sides as in the vanilla furnace
+    @Override
+    public <T> @NotNull LazyOptional<T> getCapability(@NotNull Capability<T> capability, @Nullable Direction side) {
+        if (capability == ForgeCapabilities.ITEM_HANDLER && side != null && !this.remove) {
+            return switch (side) {
+                case UP -> this.handlers[0].cast();
+                case DOWN -> this.handlers[1].cast();
+                default -> this.handlers[2].cast();
+            };
+        }
+        return super.getCapability(capability, side);
+    }
+
+    @Override
+    public void invalidateCaps() {
+        super.invalidateCaps();
+        for (LazyOptional<? extends IItemHandler> handler : this.handlers) {
+            handler.invalidate();
+        }
+    }
+
+    @Override
+    public void reviveCaps() {
+        super.reviveCaps();
+        this.handlers = SidedInvWrapper.create(this, Direction.UP, Direction.DOWN, Direction.NORTH);
+    }
+}
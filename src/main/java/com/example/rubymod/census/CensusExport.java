@@ -0,0 +1,84 @@
+package com.example.rubymod.census;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.storage.LevelResource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+//writes a census as a csv with one line per chunk and a png heatmap of the tick cost,
+//both go to <world>/rubymod_census
+public class CensusExport {
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    //pixels per chunk side
+    private static final int SCALE = 8;
+
+    //returns the csv, the png sits next to it with the same name
+    public static Path write(ServerLevel level, ChunkPos center, int radius, List<ChunkCensus> chunks) throws IOException {
+        Path folder = level.getServer().getWorldPath(LevelResource.ROOT).resolve("rubymod_census");
+        Files.createDirectories(folder);
+        String name = level.dimension().location().getPath() + "-" + LocalDateTime.now().format(FILE_NAME);
+        Path csv = folder.resolve(name + ".csv");
+        try (Writer out = Files.newBufferedWriter(csv)) {
+            out.write("chunk_x,chunk_z,elephants,bullets,flying_spears,stuck_spears,tick_micros\n");
+            for (ChunkCensus census : chunks) {
+                out.write(ChunkPos.getX(census.getChunk()) + "," + ChunkPos.getZ(census.getChunk()) + ","
+                        + census.getCount(ChunkCensus.ELEPHANTS) + "," + census.getCount(ChunkCensus.BULLETS) + ","
+                        + census.getCount(ChunkCensus.FLYING_SPEARS) + "," + census.getCount(ChunkCensus.STUCK_SPEARS) + ","
+                        + census.getNanosPerTick() / 1000.0 + "\n");
+            }
+        }
+        ImageIO.write(heatmap(center, radius, chunks), "png", folder.resolve(name + ".png").toFile());
+        return csv;
+    }
+
+    //north is up, the center chunk is in the middle. Colors go from dark blue over red to yellow
+    //relative to the most expensive chunk, chunks without a measured cost are colored by their entity count
+    private static BufferedImage heatmap(ChunkPos center, int radius, List<ChunkCensus> chunks) {
+        int side = (radius * 2 + 1) * SCALE;
+        BufferedImage image = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        long maxNanos = 1;
+        int maxCount = 1;
+        for (ChunkCensus census : chunks) {
+            maxNanos = Math.max(maxNanos, census.getNanosPerTick());
+            maxCount = Math.max(maxCount, census.getTotal());
+        }
+        for (ChunkCensus census : chunks) {
+            double heat = census.getNanosPerTick() > 0 ? (double) census.getNanosPerTick() / maxNanos
+                    : 0.5 * census.getTotal() / maxCount;
+            int color = color(heat);
+            int left = (ChunkPos.getX(census.getChunk()) - center.x + radius) * SCALE;
+            int top = (ChunkPos.getZ(census.getChunk()) - center.z + radius) * SCALE;
+            for (int y = 0; y < SCALE; y++) {
+                for (int x = 0; x < SCALE; x++) {
+                    image.setRGB(left + x, top + y, color);
+                }
+            }
+        }
+        //a white dot on the center chunk
+        image.setRGB(radius * SCALE + SCALE / 2, radius * SCALE + SCALE / 2, 0xFFFFFF);
+        return image;
+    }
+
+    private static int color(double heat) {
+        heat = Math.max(0.0, Math.min(1.0, heat));
+        if (heat < 0.5) {
+            double t = heat * 2;
+            return rgb(40 + 215 * t, 0, 80 * (1 - t));
+        }
+        double t = (heat - 0.5) * 2;
+        return rgb(255, 220 * t, 0);
+    }
+
+    private static int rgb(double r, double g, double b) {
+        return (int) r << 16 | (int) g << 8 | (int) b;
+    }
+}
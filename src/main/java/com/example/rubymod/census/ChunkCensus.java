@@ -0,0 +1,56 @@
+package com.example.rubymod.census;
+
+//the rubymod entities in one chunk and what ticking them cost
+public class ChunkCensus {
+    public static final int ELEPHANTS = 0;
+    public static final int BULLETS = 1;
+    public static final int FLYING_SPEARS = 2;
+    public static final int STUCK_SPEARS = 3;
+    static final int KINDS = 4;
+
+    private final long chunk;
+    private final int[] counts = new int[KINDS];
+    private long windowNanos;
+    private long lastWindowNanos;
+
+    ChunkCensus(long chunk) {
+        this.chunk = chunk;
+    }
+
+    //ChunkPos.asLong of the chunk
+    public long getChunk() {
+        return this.chunk;
+    }
+
+    public int getCount(int kind) {
+        return this.counts[kind];
+    }
+
+    public int getTotal() {
+        int total = 0;
+        for (int count : this.counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    //average over the last finished window
+    public long getNanosPerTick() {
+        return this.lastWindowNanos / EntityCensus.WINDOW_TICKS;
+    }
+
+    void add(int kind, int delta) {
+        this.counts[kind] += delta;
+    }
+
+    void addNanos(long nanos) {
+        this.windowNanos += nanos;
+    }
+
+    //true when nothing is left to report and the entry can go
+    boolean endWindow() {
+        this.lastWindowNanos = this.windowNanos;
+        this.windowNanos = 0;
+        return this.lastWindowNanos == 0 && this.getTotal() == 0;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.rubymod.census;
+
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.entity.custom.BulletEntity;
+import com.example.rubymod.entity.custom.ElephantEntity;
+import com.example.rubymod.entity.custom.SpearEntity;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+//per chunk counts of the mod's entities, kept up to date from join, leave and chunk change events
+//and from the entities themselves, so a census only reads these counters and never walks the entity lists
+@Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class EntityCensus {
+    //tick costs are summed over this many ticks, an entry with nothing left is dropped at the end of one
+    static final int WINDOW_TICKS = 20;
+    private static final Map<ServerLevel, Long2ObjectOpenHashMap<ChunkCensus>> LEVELS = new IdentityHashMap<>();
+
+    //-1 for entities that are not counted
+    private static int kind(Entity entity) {
+        if (entity instanceof ElephantEntity) {
+            return ChunkCensus.ELEPHANTS;
+        }
+        if (entity instanceof BulletEntity) {
+            return ChunkCensus.BULLETS;
+        }
+        if (entity instanceof SpearEntity spear) {
+            return spear.isStuck() ? ChunkCensus.STUCK_SPEARS : ChunkCensus.FLYING_SPEARS;
+        }
+        return -1;
+    }
+
+    private static Long2ObjectOpenHashMap<ChunkCensus> chunks(ServerLevel level) {
+        return LEVELS.computeIfAbsent(level, l -> new Long2ObjectOpenHashMap<>());
+    }
+
+    private static void add(ServerLevel level, long chunk, int kind, int delta) {
+        Long2ObjectOpenHashMap<ChunkCensus> chunks = chunks(level);
+        ChunkCensus census = chunks.get(chunk);
+        if (census == null) {
+            census = new ChunkCensus(chunk);
+            chunks.put(chunk, census);
+        }
+        census.add(kind, delta);
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        int kind = kind(event.getEntity());
+        if (kind >= 0 && event.getLevel() instanceof ServerLevel level) {
+            add(level, event.getEntity().chunkPosition().toLong(), kind, 1);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        int kind = kind(event.getEntity());
+        if (kind >= 0 && event.getLevel() instanceof ServerLevel level) {
+            add(level, event.getEntity().chunkPosition().toLong(), kind, -1);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEnteringSection(EntityEvent.EnteringSection event) {
+        int kind = kind(event.getEntity());
+        if (kind >= 0 && event.didChunkChange() && event.getEntity().level() instanceof ServerLevel level) {
+            add(level, event.getOldPos().chunk().toLong(), kind, -1);
+            add(level, event.getNewPos().chunk().toLong(), kind, 1);
+        }
+    }
+
+    //called by a spear when it sticks in a block or comes loose, before isStuck changes
+    public static void spearStuck(SpearEntity spear, boolean stuck) {
+        if (spear.level() instanceof ServerLevel level && spear.isAddedToWorld()) {
+            long chunk = spear.chunkPosition().toLong();
+            add(level, chunk, stuck ? ChunkCensus.FLYING_SPEARS : ChunkCensus.STUCK_SPEARS, -1);
+            add(level, chunk, stuck ? ChunkCensus.STUCK_SPEARS : ChunkCensus.FLYING_SPEARS, 1);
+        }
+    }
+
+    //server tick time of one counted entity
+    public static void addTickNanos(Entity entity, long nanos) {
+        if (entity.level() instanceof ServerLevel level) {
+            ChunkCensus census = chunks(level).get(entity.chunkPosition().toLong());
+            if (census != null) {
+                census.addNanos(nanos);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent.Post event) {
+        if (event.getServer().getTickCount() % WINDOW_TICKS != 0) {
+            return;
+        }
+        for (Long2ObjectOpenHashMap<ChunkCensus> chunks : LEVELS.values()) {
+            chunks.values().removeIf(ChunkCensus::endWindow);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            LEVELS.remove(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        LEVELS.clear();
+    }
+
+    //the chunks within radius chunks of the center that have counted entities or a tick cost
+    public static List<ChunkCensus> around(ServerLevel level, ChunkPos center, int radius) {
+        List<ChunkCensus> found = new ArrayList<>();
+        Long2ObjectOpenHashMap<ChunkCensus> chunks = LEVELS.get(level);
+        if (chunks == null) {
+            return found;
+        }
+        for (Long2ObjectMap.Entry<ChunkCensus> entry : chunks.long2ObjectEntrySet()) {
+            long chunk = entry.getLongKey();
+            if (Math.abs(ChunkPos.getX(chunk) - center.x) <= radius && Math.abs(ChunkPos.getZ(chunk) - center.z) <= radius) {
+                found.add(entry.getValue());
+            }
+        }
+        return found;
+    }
+
+    public static int[] totals(Collection<ChunkCensus> chunks) {
+        int[] totals = new int[ChunkCensus.KINDS];
+        for (ChunkCensus census : chunks) {
+            for (int kind = 0; kind < ChunkCensus.KINDS; kind++) {
+                totals[kind] += census.getCount(kind);
+            }
+        }
+        return totals;
+    }
+}
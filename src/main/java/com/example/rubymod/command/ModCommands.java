@@ -0,0 +1,297 @@
+package com.example.rubymod.command;
+
+import com.example.rubymod.census.CensusExport;
+import com.example.rubymod.census.ChunkCensus;
+import com.example.rubymod.census.EntityCensus;
+import com.example.rubymod.entity.SyncStats;
+import com.example.rubymod.metrics.MetricsExporter;
+import com.example.rubymod.replay.ReplayPlayer;
+import com.example.rubymod.replay.ReplayRecorder;
+import com.example.rubymod.worldgen.index.RubyOreIndex;
+import com.example.rubymod.worldgen.placement.SectionPaletteFilter;
+import com.example.rubymod.worldgen.pregen.ChunkPregenerator;
+import com.example.rubymod.worldgen.pregen.PregenTask;
+import com.example.rubymod.worldgen.retrogen.RetrogenBatch;
+import com.example.rubymod.worldgen.retrogen.RubyRetrogen;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+//the /rubymod command, every tool of the mod is a subcommand of it
+public class ModCommands {
+    //how many chunks around the player the ore index is searched
+    private static final int LOCATE_RADIUS = 256;
+    //chunks around the player a census covers when no radius is given
+    private static final int CENSUS_RADIUS = 8;
+    //how many chunks a census lists in chat, the export has all of them
+    private static final int CENSUS_LINES = 10;
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("rubymod")
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("sync")
+                        .executes(ModCommands::showSyncStats)
+                        .then(Commands.literal("reset").executes(ModCommands::resetSyncStats)))
+                .then(Commands.literal("placement")
+                        .executes(ModCommands::showPlacementStats)
+                        .then(Commands.literal("reset").executes(ModCommands::resetPlacementStats)))
+                .then(Commands.literal("locate")
+                        .then(Commands.literal("ruby").executes(ModCommands::locateRuby)))
+                .then(Commands.literal("pregen")
+                        .then(Commands.literal("status").executes(ModCommands::pregenStatus))
+                        .then(Commands.literal("stop").executes(ModCommands::pregenStop))
+                        .then(Commands.argument("radius", IntegerArgumentType.integer(1, 1000))
+                                .executes(ModCommands::pregenStart)))
+                .then(Commands.literal("retrogen")
+                        .executes(ModCommands::retrogenStart)
+                        .then(Commands.literal("status").executes(ModCommands::retrogenStatus))
+                        .then(Commands.literal("stop").executes(ModCommands::retrogenStop)))
+                .then(Commands.literal("metrics")
+                        .then(Commands.literal("dump").executes(ModCommands::dumpMetrics)))
+                .then(Commands.literal("replay")
+                        .then(Commands.literal("status").executes(ModCommands::replayStatus))
+                        .then(Commands.literal("record")
+                                .then(Commands.literal("start").executes(ModCommands::replayRecordStart))
+                                .then(Commands.literal("stop").executes(ModCommands::replayRecordStop)))
+                        .then(Commands.literal("play")
+                                .then(Commands.argument("file", StringArgumentType.greedyString())
+                                        .executes(ModCommands::replayPlay)))
+                        .then(Commands.literal("stop").executes(ModCommands::replayStop)))
+                .then(Commands.literal("census")
+                        .executes(context -> census(context, CENSUS_RADIUS, false))
+                        .then(Commands.argument("radius", IntegerArgumentType.integer(0, 256))
+                                .executes(context -> census(context, IntegerArgumentType.getInteger(context, "radius"), false)))
+                        .then(Commands.literal("export")
+                                .executes(context -> census(context, CENSUS_RADIUS, true))
+                                .then(Commands.argument("radius", IntegerArgumentType.integer(0, 256))
+                                        .executes(context -> census(context, IntegerArgumentType.getInteger(context, "radius"), true))))));
+    }
+
+    private static int showSyncStats(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        if (SyncStats.all().isEmpty()) {
+            source.sendSuccess(() -> Component.literal("No rotation updates recorded yet"), false);
+            return 0;
+        }
+        for (Map.Entry<EntityType<?>, SyncStats.Counter> entry : SyncStats.all().entrySet()) {
+            SyncStats.Counter counter = entry.getValue();
+            long total = counter.getSent() + counter.getSkipped();
+            long percent = total == 0 ? 0 : counter.getSkipped() * 100 / total;
+            String line = EntityType.getKey(entry.getKey()) + ": sent " + counter.getSent() + " (" + counter.getBytesSent()
+                    + " B), skipped " + counter.getSkipped() + " (" + counter.getBytesSaved() + " B), " + percent + "% saved per player";
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+        return SyncStats.all().size();
+    }
+
+    private static int resetSyncStats(CommandContext<CommandSourceStack> context) {
+        SyncStats.reset();
+        context.getSource().sendSuccess(() -> Component.literal("Sync counters reset"), true);
+        return 1;
+    }
+
+    private static int showPlacementStats(CommandContext<CommandSourceStack> context) {
+        long passed = SectionPaletteFilter.getPassed();
+        long skipped = SectionPaletteFilter.getSkipped();
+        context.getSource().sendSuccess(() -> Component.literal("Ore placement attempts: " + passed + " passed, "
+                + skipped + " skipped by the section palette check"), false);
+        return (int) Math.min(Integer.MAX_VALUE, passed + skipped);
+    }
+
+    private static int resetPlacementStats(CommandContext<CommandSourceStack> context) {
+        SectionPaletteFilter.resetStats();
+        context.getSource().sendSuccess(() -> Component.literal("Placement counters reset"), true);
+        return 1;
+    }
+
+    private static int locateRuby(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        BlockPos from = BlockPos.containing(source.getPosition());
+        BlockPos found = RubyOreIndex.get(source.getLevel()).findNearest(from, LOCATE_RADIUS);
+        if (found == null) {
+            source.sendFailure(Component.literal("No ruby ore known within " + LOCATE_RADIUS + " chunks"));
+            return 0;
+        }
+        int distance = (int) Math.sqrt(found.distSqr(from));
+        source.sendSuccess(() -> Component.literal("Nearest ruby ore is at " + found.getX() + ", " + found.getY() + ", "
+                + found.getZ() + " (" + distance + " blocks away)"), false);
+        return distance;
+    }
+
+    //the radius is in chunks around the chunk the command is run from
+    private static int pregenStart(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        int radius = IntegerArgumentType.getInteger(context, "radius");
+        ChunkPos center = new ChunkPos(BlockPos.containing(source.getPosition()));
+        ChunkPregenerator.start(source.getLevel(), center, radius);
+        int total = ChunkPregenerator.getTask(source.getServer()).total();
+        source.sendSuccess(() -> Component.literal("Pregenerating " + total + " chunks around " + center
+                + ", progress is logged and shown by /rubymod pregen status"), true);
+        return total;
+    }
+
+    private static int pregenStatus(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        ChunkPregenerator running = ChunkPregenerator.getRunning();
+        if (running == null) {
+            PregenTask task = ChunkPregenerator.getTask(source.getServer());
+            source.sendSuccess(() -> Component.literal(task.isActive() ? "Pregeneration is waiting to resume" : "No pregeneration running"), false);
+            return 0;
+        }
+        String progress = running.progress(source.getServer());
+        source.sendSuccess(() -> Component.literal(progress), false);
+        return 1;
+    }
+
+    private static int pregenStop(CommandContext<CommandSourceStack> context) {
+        boolean stopped = ChunkPregenerator.stop(context.getSource().getServer());
+        context.getSource().sendSuccess(() -> Component.literal(stopped ? "Pregeneration stopped" : "No pregeneration running"), true);
+        return stopped ? 1 : 0;
+    }
+
+    //loads every saved chunk of the dimension the command is run in
+    private static int retrogenStart(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        try {
+            int regions = RetrogenBatch.start(source.getLevel());
+            source.sendSuccess(() -> Component.literal("Retrogen started over " + regions + " region files"), true);
+            return regions;
+        } catch (IOException e) {
+            source.sendFailure(Component.literal("Could not list the region files: " + e.getMessage()));
+            return 0;
+        }
+    }
+
+    private static int retrogenStatus(CommandContext<CommandSourceStack> context) {
+        RetrogenBatch running = RetrogenBatch.getRunning();
+        String status = running != null ? running.progress()
+                : RubyRetrogen.getRetrogenerated() + " chunks given ruby, " + RubyRetrogen.getQueued() + " waiting";
+        context.getSource().sendSuccess(() -> Component.literal(status), false);
+        return RubyRetrogen.getQueued();
+    }
+
+    private static int retrogenStop(CommandContext<CommandSourceStack> context) {
+        boolean stopped = RetrogenBatch.stop();
+        context.getSource().sendSuccess(() -> Component.literal(stopped ? "Retrogen batch stopped" : "No retrogen batch running"), true);
+        return stopped ? 1 : 0;
+    }
+
+    private static int dumpMetrics(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        try {
+            Path output = MetricsExporter.dump(source.getServer());
+            source.sendSuccess(() -> Component.literal("Metrics written to " + output), false);
+            return 1;
+        } catch (IOException e) {
+            source.sendFailure(Component.literal("Could not write the metrics: " + e.getMessage()));
+            return 0;
+        }
+    }
+
+    private static int replayStatus(CommandContext<CommandSourceStack> context) {
+        String progress = ReplayPlayer.progress();
+        String status = progress != null ? progress
+                : ReplayRecorder.isRecording() ? "Recording to " + ReplayRecorder.getFile() + ", " + ReplayRecorder.getRecorded() + " events"
+                : "Not recording or replaying";
+        context.getSource().sendSuccess(() -> Component.literal(status), false);
+        return ReplayRecorder.isRecording() || ReplayPlayer.isRunning() ? 1 : 0;
+    }
+
+    //the world is saved when the recording starts, a copy of the world folder at that point is what it replays against
+    private static int replayRecordStart(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        if (ReplayPlayer.isRunning()) {
+            source.sendFailure(Component.literal("A replay is running, stop it first"));
+            return 0;
+        }
+        try {
+            Path file = ReplayRecorder.start(source.getServer(), false);
+            source.sendSuccess(() -> Component.literal("Recording to " + file), true);
+            return 1;
+        } catch (IOException e) {
+            source.sendFailure(Component.literal("Could not start recording: " + e.getMessage()));
+            return 0;
+        }
+    }
+
+    private static int replayRecordStop(CommandContext<CommandSourceStack> context) {
+        boolean stopped = ReplayRecorder.stop();
+        context.getSource().sendSuccess(() -> Component.literal(stopped ? "Recording stopped" : "Not recording"), true);
+        return stopped ? 1 : 0;
+    }
+
+    //a bare file name is looked up in the rubymod_replays folder of the world
+    private static int replayPlay(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        String name = StringArgumentType.getString(context, "file");
+        Path file = Path.of(name);
+        if (!Files.exists(file)) {
+            file = source.getServer().getWorldPath(LevelResource.ROOT).resolve("rubymod_replays").resolve(name);
+        }
+        try {
+            ReplayPlayer.start(source.getServer(), file, false);
+            Path started = file;
+            source.sendSuccess(() -> Component.literal("Replaying " + started + ", the result is logged when it ends"), true);
+            return 1;
+        } catch (IOException e) {
+            source.sendFailure(Component.literal("Could not open the replay: " + e.getMessage()));
+            return 0;
+        }
+    }
+
+    private static int replayStop(CommandContext<CommandSourceStack> context) {
+        boolean stopped = ReplayPlayer.stop();
+        context.getSource().sendSuccess(() -> Component.literal(stopped ? "Replay stopped" : "No replay running"), true);
+        return stopped ? 1 : 0;
+    }
+
+    //reads the per chunk counters, the most expensive chunks are listed first
+    private static int census(CommandContext<CommandSourceStack> context, int radius, boolean export) {
+        CommandSourceStack source = context.getSource();
+        ChunkPos center = new ChunkPos(BlockPos.containing(source.getPosition()));
+        List<ChunkCensus> chunks = EntityCensus.around(source.getLevel(), center, radius);
+        chunks.sort(Comparator.comparingLong(ChunkCensus::getNanosPerTick).thenComparingInt(ChunkCensus::getTotal).reversed());
+        int[] totals = EntityCensus.totals(chunks);
+        long nanos = chunks.stream().mapToLong(ChunkCensus::getNanosPerTick).sum();
+        source.sendSuccess(() -> Component.literal(chunks.size() + " chunks within " + radius + ": " + censusCounts(totals[ChunkCensus.ELEPHANTS],
+                totals[ChunkCensus.BULLETS], totals[ChunkCensus.FLYING_SPEARS], totals[ChunkCensus.STUCK_SPEARS]) + ", "
+                + nanos / 1000 + " us per tick"), false);
+        for (ChunkCensus census : chunks.subList(0, Math.min(CENSUS_LINES, chunks.size()))) {
+            String line = "[" + ChunkPos.getX(census.getChunk()) + ", " + ChunkPos.getZ(census.getChunk()) + "] "
+                    + censusCounts(census.getCount(ChunkCensus.ELEPHANTS), census.getCount(ChunkCensus.BULLETS),
+                    census.getCount(ChunkCensus.FLYING_SPEARS), census.getCount(ChunkCensus.STUCK_SPEARS))
+                    + ", " + census.getNanosPerTick() / 1000 + " us per tick";
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+        if (export) {
+            try {
+                Path csv = CensusExport.write(source.getLevel(), center, radius, chunks);
+                source.sendSuccess(() -> Component.literal("Census written to " + csv + " with a heatmap next to it"), false);
+            } catch (IOException e) {
+                source.sendFailure(Component.literal("Could not write the census: " + e.getMessage()));
+                return 0;
+            }
+        }
+        return chunks.size();
+    }
+
+    private static String censusCounts(int elephants, int bullets, int flyingSpears, int stuckSpears) {
+        return elephants + " elephants, " + bullets + " bullets, " + flyingSpears + " flying spears, " + stuckSpears + " stuck spears";
+    }
+}
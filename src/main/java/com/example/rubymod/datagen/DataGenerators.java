@@ -23,19 +23,29 @@ public class DataGenerators {
         PackOutput packOutput = generator.getPackOutput();
         ExistingFileHelper existingFileHelper = event.getExistingFileHelper();
         CompletableFuture<HolderLookup.Provider> lookupProvider = event.getLookupProvider();
+        //the providers only run again when a source file of the mod changed
+        ParallelDataProvider data = new ParallelDataProvider(packOutput);
 
-        generator.addProvider(event.includeServer(), new LootTableProvider(packOutput, Collections.emptySet(),
+        data.add(event.includeServer(), new LootTableProvider(packOutput, Collections.emptySet(),
                 List.of(new LootTableProvider.SubProviderEntry(ModBlockLootTableProvider::new, LootContextParamSets.BLOCK)), lookupProvider));
 
         BlockTagsProvider blockTagsProvider = new ModBlockTagProvider(packOutput, lookupProvider, existingFileHelper);
-        generator.addProvider(event.includeServer(), blockTagsProvider);
-        generator.addProvider(event.includeServer(), new ModItemTagProvider(packOutput, lookupProvider, blockTagsProvider.contentsGetter(), existingFileHelper));
-        
-        generator.addProvider(event.includeServer(), new ModRecipeProvider(packOutput, lookupProvider));
+        ParallelDataProvider.Member blockTags = data.add(event.includeServer(), blockTagsProvider);
+        //the item tags copy from the block tags, so those have to run too
+        ParallelDataProvider.Member itemTags = data.add(event.includeServer(),
+                new ModItemTagProvider(packOutput, lookupProvider, blockTagsProvider.contentsGetter(), existingFileHelper))
+                .after(blockTags);
 
-        generator.addProvider(event.includeClient(), new ModItemModelProvider(packOutput, existingFileHelper));
-        generator.addProvider(event.includeClient(), new ModBlockStateProvider(packOutput, existingFileHelper));
+        data.add(event.includeServer(), new ModRecipeProvider(packOutput, lookupProvider));
 
-        generator.addProvider(event.includeServer(), new ModDatapackEntries(packOutput, lookupProvider));
+        //the tag and model providers share the existing file helper, which is not safe to use from two threads,
+        //so they run one after the other: block tags, item tags, item models, block states
+        ParallelDataProvider.Member itemModels = data.add(event.includeClient(), new ModItemModelProvider(packOutput, existingFileHelper))
+                .waitsFor(blockTags, itemTags);
+        data.add(event.includeClient(), new ModBlockStateProvider(packOutput, existingFileHelper)).after(itemModels);
+
+        data.add(event.includeServer(), new ModDatapackEntries(packOutput, lookupProvider));
+
+        generator.addProvider(true, data);
     }
-}
\ No newline at end of file
+}
@@ -31,6 +31,14 @@ public class ModBlockLootTableProvider extends BlockLootSubProvider{
         dropSelf(ModBlocks.RUBY_BLOCK.get());//drops ruby block when brakes
         //drops ruby when brakes
         this.add(ModBlocks.RUBY_ORE.get(), block -> createMultipleOreDrops(ModBlocks.RUBY_ORE.get(), ModItems.RUBY.get(),1,3));
+        //buds only drop with silk touch, the grown cluster drops rubies
+        //crafted, unlike budding amethyst, so it drops itself
+        dropSelf(ModBlocks.BUDDING_RUBY.get());
+        dropWhenSilkTouch(ModBlocks.SMALL_RUBY_BUD.get());
+        dropWhenSilkTouch(ModBlocks.MEDIUM_RUBY_BUD.get());
+        dropWhenSilkTouch(ModBlocks.LARGE_RUBY_BUD.get());
+        this.add(ModBlocks.RUBY_CLUSTER.get(), block -> createMultipleOreDrops(ModBlocks.RUBY_CLUSTER.get(), ModItems.RUBY.get(),2,4));
+        dropSelf(ModBlocks.RUBY_FURNACE.get());
     }
 
     protected LootTable.Builder createMultipleOreDrops(Block pBlock, Item item, float minDrops, float maxDrops) {
@@ -2,10 +2,13 @@ package com.example.rubymod.datagen;
 
 import com.example.rubymod.RubyMod;
 import com.example.rubymod.blocks.ModBlocks;
+import com.example.rubymod.blocks.custom.RubyFurnaceBlock;
 
 import net.minecraft.data.PackOutput;
 import net.minecraft.world.level.block.Block;
 import net.minecraftforge.client.model.generators.BlockStateProvider;
+import net.minecraftforge.client.model.generators.ConfiguredModel;
+import net.minecraftforge.client.model.generators.ModelFile;
 import net.minecraftforge.common.data.ExistingFileHelper;
 import net.minecraftforge.registries.RegistryObject;
 
@@ -18,9 +21,34 @@ public class ModBlockStateProvider extends BlockStateProvider{
     protected void registerStatesAndModels(){
         blockWithItem(ModBlocks.RUBY_BLOCK);
         blockWithItem(ModBlocks.RUBY_ORE);
+        blockWithItem(ModBlocks.BUDDING_RUBY);
+        budWithItem(ModBlocks.SMALL_RUBY_BUD);
+        budWithItem(ModBlocks.MEDIUM_RUBY_BUD);
+        budWithItem(ModBlocks.LARGE_RUBY_BUD);
+        budWithItem(ModBlocks.RUBY_CLUSTER);
+        furnaceWithItem(ModBlocks.RUBY_FURNACE);
 
     }
     private void blockWithItem(RegistryObject<Block> blockRegistryObject){
         simpleBlockWithItem(blockRegistryObject.get(), cubeAll(blockRegistryObject.get()));
     }
+    //crossed planes turned to the face the bud sits on, the item shows the flat texture like amethyst buds
+    private void budWithItem(RegistryObject<Block> blockRegistryObject){
+        Block block = blockRegistryObject.get();
+        String name = blockRegistryObject.getId().getPath();
+        directionalBlock(block, models().cross(name, blockTexture(block)).renderType("cutout"));
+        itemModels().withExistingParent(name, mcLoc("item/generated")).texture("layer0", blockTexture(block));
+    }
+    //ruby block sides with the furnace front, AWAKE only matters to the server so it has no models of its own
+    private void furnaceWithItem(RegistryObject<Block> blockRegistryObject){
+        Block block = blockRegistryObject.get();
+        String name = blockRegistryObject.getId().getPath();
+        ModelFile off = models().orientable(name, modLoc("block/ruby_block"), mcLoc("block/furnace_front"), modLoc("block/ruby_block"));
+        ModelFile on = models().orientable(name + "_on", modLoc("block/ruby_block"), mcLoc("block/furnace_front_on"), modLoc("block/ruby_block"));
+        getVariantBuilder(block).forAllStatesExcept(state -> ConfiguredModel.builder()
+                .modelFile(state.getValue(RubyFurnaceBlock.LIT) ? on : off)
+                .rotationY(((int) state.getValue(RubyFurnaceBlock.FACING).toYRot() + 180) % 360)
+                .build(), RubyFurnaceBlock.AWAKE);
+        simpleBlockItem(block, off);
+    }
 }
@@ -8,6 +8,7 @@ import net.minecraft.core.HolderLookup;
 import net.minecraft.data.PackOutput;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.world.level.block.Blocks;
+import net.minecraftforge.common.Tags;
 import net.minecraftforge.common.data.BlockTagsProvider;
 import net.minecraftforge.common.data.ExistingFileHelper;
 import org.jetbrains.annotations.Nullable;
@@ -23,7 +24,13 @@ public class ModBlockTagProvider extends BlockTagsProvider {
     protected void addTags(HolderLookup.Provider pProvider) {
         tag(BlockTags.MINEABLE_WITH_PICKAXE)
                 .add(ModBlocks.RUBY_BLOCK.get())
-                .add(ModBlocks.RUBY_ORE.get());
+                .add(ModBlocks.RUBY_ORE.get())
+                .add(ModBlocks.BUDDING_RUBY.get())
+                .add(ModBlocks.SMALL_RUBY_BUD.get())
+                .add(ModBlocks.MEDIUM_RUBY_BUD.get())
+                .add(ModBlocks.LARGE_RUBY_BUD.get())
+                .add(ModBlocks.RUBY_CLUSTER.get())
+                .add(ModBlocks.RUBY_FURNACE.get());
                 
 
         tag(BlockTags.NEEDS_IRON_TOOL)
@@ -48,5 +55,13 @@ public class ModBlockTagProvider extends BlockTagsProvider {
                 tag(ModTags.Blocks.INCORRECT_FOR_RUBY_TOOL)
                         .addTag(BlockTags.INCORRECT_FOR_DIAMOND_TOOL);
 
+        tag(ModTags.Blocks.GROWS_RUBY_BUDS)
+                .add(ModBlocks.RUBY_BLOCK.get())
+                .add(ModBlocks.BUDDING_RUBY.get());
+
+        tag(ModTags.Blocks.VEIN_MINEABLE)
+                .add(ModBlocks.RUBY_ORE.get())
+                .addTag(Tags.Blocks.ORES);
+
     }
 }
\ No newline at end of file
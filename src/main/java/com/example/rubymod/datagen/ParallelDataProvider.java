@@ -0,0 +1,296 @@
+package com.example.rubymod.datagen;
+
+import com.example.rubymod.RubyMod;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.mojang.logging.LogUtils;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.Util;
+import net.minecraft.data.CachedOutput;
+import net.minecraft.data.DataProvider;
+import net.minecraft.data.PackOutput;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+//runs all data providers of the mod at the same time instead of one after the other,
+//and skips them when no source file of the mod changed since the last run.
+//A provider reads more classes than anyone would keep a list of up to date, so every source file
+//under the mod's package goes into the hash. That hash and the files every provider wrote are kept
+//in .cache/rubymod_inputs, a skipped provider hands its old files to the cache again so they are not deleted.
+//The hash is taken from the source files so the record is the same on every machine and is committed
+public class ParallelDataProvider implements DataProvider {
+    //set by the data run in build.gradle to src/main/java
+    public static final String SOURCES_PROPERTY = "rubymod.datagen.sources";
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private final Path outputFolder;
+    private final Path recordFile;
+    private final List<Member> members = new ArrayList<>();
+
+    public ParallelDataProvider(PackOutput output) {
+        this.outputFolder = output.getOutputFolder();
+        this.recordFile = this.outputFolder.resolve(".cache").resolve("rubymod_inputs");
+    }
+
+    public Member add(boolean include, DataProvider provider) {
+        Member member = new Member(provider, include);
+        this.members.add(member);
+        return member;
+    }
+
+    @Override
+    public CompletableFuture<?> run(CachedOutput output) {
+        Map<String, Record> previous = this.readRecords();
+        String hash = hashSources(SharedConstants.getCurrentVersion().getName());
+        for (Member member : this.members) {
+            member.hash = hash;
+            Record record = previous.get(member.name);
+            member.previous = record;
+            member.shouldRun = member.include && (record == null || !record.hash.equals(member.hash) || !record.outputsExist(this.outputFolder));
+        }
+        //a provider that runs also needs the ones it reads from
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Member member : this.members) {
+                if (member.shouldRun) {
+                    for (Member dependency : member.after) {
+                        if (dependency.include && !dependency.shouldRun) {
+                            dependency.shouldRun = true;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<Member, CompletableFuture<?>> futures = new HashMap<>();
+        for (Member member : this.members) {
+            this.start(member, output, futures);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenRun(() -> {
+                    this.writeRecords(output);
+                    LOGGER.info(this.timingTable());
+                });
+    }
+
+    private CompletableFuture<?> start(Member member, CachedOutput output, Map<Member, CompletableFuture<?>> futures) {
+        CompletableFuture<?> existing = futures.get(member);
+        if (existing != null) {
+            return existing;
+        }
+        //a skipped provider waits as well, so whatever waits for it still comes after the ones before it
+        List<CompletableFuture<?>> before = new ArrayList<>();
+        for (Member dependency : member.after) {
+            before.add(this.start(dependency, output, futures));
+        }
+        for (Member dependency : member.waitsFor) {
+            before.add(this.start(dependency, output, futures));
+        }
+        CompletableFuture<Void> ready = CompletableFuture.allOf(before.toArray(CompletableFuture[]::new));
+        CompletableFuture<?> future;
+        if (member.shouldRun) {
+            RecordingOutput recording = new RecordingOutput(output);
+            future = ready.thenComposeAsync(unused -> {
+                long start = System.nanoTime();
+                return member.provider.run(recording).thenRun(() -> {
+                    member.nanos = System.nanoTime() - start;
+                    member.outputs = this.relativize(recording.written);
+                    member.status = "ran";
+                });
+            }, Util.backgroundExecutor());
+        } else if (member.previous != null) {
+            future = ready.thenRunAsync(() -> {
+                long start = System.nanoTime();
+                member.previous.replay(this.outputFolder, output);
+                member.nanos = System.nanoTime() - start;
+                member.outputs = member.previous.outputs;
+                member.status = member.include ? "skipped" : "kept";
+            }, Util.backgroundExecutor());
+        } else {
+            member.status = "off";
+            future = ready;
+        }
+        futures.put(member, future);
+        return future;
+    }
+
+    //every source file under the mod's package, by its path inside the source folder.
+    //Without the source folder or with a file that can not be read the providers always run
+    private static String hashSources(String version) {
+        String sources = System.getProperty(SOURCES_PROPERTY);
+        if (sources == null) {
+            return UUID.randomUUID().toString();
+        }
+        Path root = Path.of(sources);
+        Path modPackage = root.resolve(RubyMod.class.getPackageName().replace('.', '/'));
+        Hasher hasher = Hashing.sha1().newHasher();
+        hasher.putString(version, StandardCharsets.UTF_8);
+        try (Stream<Path> files = Files.walk(modPackage)) {
+            List<Path> sorted = files.filter(file -> file.toString().endsWith(".java")).sorted().toList();
+            for (Path file : sorted) {
+                hasher.putString(root.relativize(file).toString().replace('\\', '/'), StandardCharsets.UTF_8);
+                hasher.putBytes(Files.readAllBytes(file));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            return UUID.randomUUID().toString();
+        }
+        return hasher.hash().toString();
+    }
+
+    private Map<String, HashCode> relativize(Map<Path, HashCode> written) {
+        Map<String, HashCode> outputs = new TreeMap<>();
+        written.forEach((path, hash) -> outputs.put(this.outputFolder.relativize(path).toString().replace('\\', '/'), hash));
+        return outputs;
+    }
+
+    //one line "> hash<TAB>provider name" per provider, followed by "sha1 path" for each file it wrote
+    private Map<String, Record> readRecords() {
+        Map<String, Record> records = new HashMap<>();
+        if (!Files.isRegularFile(this.recordFile)) {
+            return records;
+        }
+        try {
+            Record current = null;
+            for (String line : Files.readAllLines(this.recordFile, StandardCharsets.UTF_8)) {
+                if (line.startsWith("> ")) {
+                    int tab = line.indexOf('\t');
+                    if (tab < 0) {
+                        current = null;
+                        continue;
+                    }
+                    current = new Record(line.substring(2, tab), new TreeMap<>());
+                    records.put(line.substring(tab + 1), current);
+                } else if (current != null && line.indexOf(' ') > 0) {
+                    int space = line.indexOf(' ');
+                    current.outputs.put(line.substring(space + 1), HashCode.fromString(line.substring(0, space)));
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("Could not read {}, every provider runs", this.recordFile, e);
+            records.clear();
+        }
+        return records;
+    }
+
+    private void writeRecords(CachedOutput output) {
+        StringBuilder text = new StringBuilder();
+        for (Member member : this.members) {
+            if (member.outputs == null) {
+                continue;
+            }
+            text.append("> ").append(member.hash).append('\t').append(member.name).append('\n');
+            member.outputs.forEach((path, hash) -> text.append(hash).append(' ').append(path).append('\n'));
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            output.writeIfNeeded(this.recordFile, bytes, Hashing.sha1().hashBytes(bytes));
+        } catch (IOException e) {
+            LOGGER.warn("Could not write {}", this.recordFile, e);
+        }
+    }
+
+    private String timingTable() {
+        StringBuilder table = new StringBuilder("Data providers:");
+        long total = 0;
+        for (Member member : this.members) {
+            int files = member.outputs == null ? 0 : member.outputs.size();
+            table.append(String.format("%n  %-45s %-8s %7d ms %5d files", member.name, member.status, member.nanos / 1_000_000, files));
+            total += member.nanos;
+        }
+        table.append(String.format("%n  %-45s %-8s %7d ms", "total provider time", "", total / 1_000_000));
+        return table.toString();
+    }
+
+    @Override
+    public String getName() {
+        return "Data: rubymod";
+    }
+
+    public static class Member {
+        private final DataProvider provider;
+        private final String name;
+        private final boolean include;
+        private final List<Member> after = new ArrayList<>();
+        private final List<Member> waitsFor = new ArrayList<>();
+        private String hash;
+        private Record previous;
+        private boolean shouldRun;
+        private String status = "";
+        private long nanos;
+        private Map<String, HashCode> outputs;
+
+        private Member(DataProvider provider, boolean include) {
+            this.provider = provider;
+            this.name = provider.getName();
+            this.include = include;
+        }
+
+        //the given providers run first whenever this one runs
+        public Member after(Member... members) {
+            this.after.addAll(List.of(members));
+            return this;
+        }
+
+        //only the order: when both run the given providers finish first, but they are not made to run
+        public Member waitsFor(Member... members) {
+            this.waitsFor.addAll(List.of(members));
+            return this;
+        }
+    }
+
+    private record Record(String hash, Map<String, HashCode> outputs) {
+        private boolean outputsExist(Path folder) {
+            for (String path : this.outputs.keySet()) {
+                if (!Files.isRegularFile(folder.resolve(path))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        //the hash matches the cache so nothing is written, the files are only marked as still generated
+        private void replay(Path folder, CachedOutput output) {
+            for (Map.Entry<String, HashCode> entry : this.outputs.entrySet()) {
+                Path path = folder.resolve(entry.getKey());
+                try {
+                    output.writeIfNeeded(path, Files.readAllBytes(path), entry.getValue());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    //passes everything through and remembers which files the provider wrote
+    private static class RecordingOutput implements CachedOutput {
+        private final CachedOutput target;
+        private final Map<Path, HashCode> written = new ConcurrentHashMap<>();
+
+        private RecordingOutput(CachedOutput target) {
+            this.target = target;
+        }
+
+        @Override
+        public void writeIfNeeded(Path path, byte[] bytes, HashCode hash) throws IOException {
+            this.target.writeIfNeeded(path, bytes, hash);
+            this.written.put(path, hash);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.rubymod.entity;
+
+import com.example.rubymod.Config;
+
+import net.minecraft.server.level.ChunkMap;
+import net.minecraft.server.level.ServerEntity;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Mob;
+
+//ServerEntity sends a rotation or head look packet whenever the angle changes by one step,
+//so mobs that stand around and look at things send a packet almost every update.
+//The mob always keeps its real angles, the held back angle lives in the tracker instead: while a change is held
+//the tracker's last sent angle is set to the current one so it sees nothing to send, and once the change may go out
+//the tracker gets back the angle the clients still have and sends the update itself.
+//Which changes go out depends on how big they are, how long ago the last one was and whether the mob is moving.
+public class AdaptiveSync {
+    private final SyncStats.Counter stats;
+    //the angles the clients have
+    private float sentYRot;
+    private float sentXRot;
+    private float sentYHeadRot;
+    //the angles left to the tracker on the last tick, they are what the clients have once it sent them
+    private float releasedYRot;
+    private float releasedXRot;
+    private float releasedYHeadRot;
+    private boolean rotationReleased;
+    private boolean headReleased;
+    //what was written into the tracker, a different value on the next tick means it sent a packet
+    private byte trackerYRot;
+    private byte trackerXRot;
+    private byte trackerYHeadRot;
+    private int ticksSinceRotation;
+    private int ticksSinceHead;
+
+    public AdaptiveSync(Mob mob) {
+        this.stats = SyncStats.forType(mob.getType());
+        this.sentYRot = mob.getYRot();
+        this.sentXRot = mob.getXRot();
+        this.sentYHeadRot = mob.getYHeadRot();
+    }
+
+    //called after the mob ticks, the tracker reads the angles at the start of the next tick
+    public void publish(ServerLevel level, Mob mob) {
+        ServerEntity tracker = findTracker(level, mob);
+        if (tracker == null) {
+            return;
+        }
+        //first see what the tracker did with the angles it was given last time
+        if (this.rotationReleased && (tracker.yRotp != this.trackerYRot || tracker.xRotp != this.trackerXRot)) {
+            this.sentYRot = this.releasedYRot;
+            this.sentXRot = this.releasedXRot;
+            this.ticksSinceRotation = 0;
+            this.stats.rotationSent();
+        }
+        if (this.headReleased && tracker.yHeadRotp != this.trackerYHeadRot) {
+            this.sentYHeadRot = this.releasedYHeadRot;
+            this.ticksSinceHead = 0;
+            this.stats.headSent();
+        }
+        this.rotationReleased = false;
+        this.headReleased = false;
+        this.ticksSinceRotation++;
+        this.ticksSinceHead++;
+
+        float yRot = mob.getYRot();
+        float xRot = mob.getXRot();
+        float yHeadRot = mob.getYHeadRot();
+        boolean moving = isMoving(mob);
+        Config.Values config = Config.values();
+        float rotationThreshold = moving ? 0.0F : config.elephantIdleRotationThreshold();
+        float headThreshold = moving ? config.elephantHeadSyncThreshold() : config.elephantIdleRotationThreshold();
+        int interval = moving ? 1 : config.elephantIdleSyncInterval();
+
+        //the tracker only looks at the body rotation every updateInterval ticks, holding it on the other ticks
+        //saves nothing, so only the ticks it looks are counted. The head is looked at every tick
+        if (changed(yRot, this.sentYRot) || changed(xRot, this.sentXRot)) {
+            if (tracker.tickCount % tracker.updateInterval == 0) {
+                if (this.ticksSinceRotation >= interval
+                        || Math.abs(Mth.wrapDegrees(yRot - this.sentYRot)) >= rotationThreshold
+                        || Math.abs(Mth.wrapDegrees(xRot - this.sentXRot)) >= rotationThreshold) {
+                    this.rotationReleased = true;
+                    this.releasedYRot = yRot;
+                    this.releasedXRot = xRot;
+                } else {
+                    this.stats.rotationSkipped();
+                }
+            }
+        }
+        if (changed(yHeadRot, this.sentYHeadRot)) {
+            if (this.ticksSinceHead >= interval || Math.abs(Mth.wrapDegrees(yHeadRot - this.sentYHeadRot)) >= headThreshold) {
+                this.headReleased = true;
+                this.releasedYHeadRot = yHeadRot;
+            } else {
+                this.stats.headSkipped();
+            }
+        }
+
+        this.trackerYRot = Mth.packDegrees(this.rotationReleased ? this.sentYRot : yRot);
+        this.trackerXRot = Mth.packDegrees(this.rotationReleased ? this.sentXRot : xRot);
+        this.trackerYHeadRot = Mth.packDegrees(this.headReleased ? this.sentYHeadRot : yHeadRot);
+        tracker.yRotp = this.trackerYRot;
+        tracker.xRotp = this.trackerXRot;
+        tracker.yHeadRotp = this.trackerYHeadRot;
+    }
+
+    //null until a tracker is set up for the mob after it was added to the level
+    private static ServerEntity findTracker(ServerLevel level, Mob mob) {
+        ChunkMap.TrackedEntity tracked = level.getChunkSource().chunkMap.entityMap.get(mob.getId());
+        return tracked == null ? null : tracked.serverEntity;
+    }
+
+    //standing or grazing mobs have no horizontal motion and nowhere to walk to
+    private static boolean isMoving(Mob mob) {
+        return mob.getDeltaMovement().horizontalDistanceSqr() > 1.0E-4 || !mob.getNavigation().isDone();
+    }
+
+    //true when the tracker would see a different byte angle
+    private static boolean changed(float current, float sent) {
+        return Mth.packDegrees(current) != Mth.packDegrees(sent);
+    }
+}
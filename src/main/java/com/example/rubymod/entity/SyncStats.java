@@ -0,0 +1,75 @@
+package com.example.rubymod.entity;
+
+import net.minecraft.world.entity.EntityType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//counts the rotation packets the tracker sent for mobs with an AdaptiveSync and the ones it held back
+//on ticks the tracker would have sent them, per entity type
+public class SyncStats {
+    //approximate size of one packet sent to one tracking player
+    public static final int ROTATION_PACKET_BYTES = 7;
+    public static final int HEAD_PACKET_BYTES = 6;
+    private static final Map<EntityType<?>, Counter> COUNTERS = new ConcurrentHashMap<>();
+
+    public static Counter forType(EntityType<?> type) {
+        return COUNTERS.computeIfAbsent(type, t -> new Counter());
+    }
+
+    public static Map<EntityType<?>, Counter> all() {
+        return COUNTERS;
+    }
+
+    public static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+    }
+
+    //only written from the server thread, read by the stats command on the same thread
+    public static class Counter {
+        private long rotationSent;
+        private long rotationSkipped;
+        private long headSent;
+        private long headSkipped;
+
+        void rotationSent() {
+            this.rotationSent++;
+        }
+
+        void rotationSkipped() {
+            this.rotationSkipped++;
+        }
+
+        void headSent() {
+            this.headSent++;
+        }
+
+        void headSkipped() {
+            this.headSkipped++;
+        }
+
+        public long getSent() {
+            return this.rotationSent + this.headSent;
+        }
+
+        public long getSkipped() {
+            return this.rotationSkipped + this.headSkipped;
+        }
+
+        //bytes per tracking player that were not sent
+        public long getBytesSaved() {
+            return this.rotationSkipped * ROTATION_PACKET_BYTES + this.headSkipped * HEAD_PACKET_BYTES;
+        }
+
+        public long getBytesSent() {
+            return this.rotationSent * ROTATION_PACKET_BYTES + this.headSent * HEAD_PACKET_BYTES;
+        }
+
+        private void reset() {
+            this.rotationSent = 0;
+            this.rotationSkipped = 0;
+            this.headSent = 0;
+            this.headSkipped = 0;
+        }
+    }
+}
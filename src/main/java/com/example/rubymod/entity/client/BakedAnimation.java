@@ -0,0 +1,124 @@
+package com.example.rubymod.entity.client;
+
+import net.minecraft.client.animation.AnimationChannel;
+import net.minecraft.client.animation.AnimationDefinition;
+import net.minecraft.client.animation.Keyframe;
+import net.minecraft.client.model.HierarchicalModel;
+import net.minecraft.client.model.geom.ModelPart;
+import net.minecraft.util.Mth;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+//an animation that is sampled once at a fixed rate into flat float tables
+//so the models dont have to search and interpolate keyframes every frame
+public class BakedAnimation {
+    private final float lengthInSeconds;
+    private final boolean looping;
+    private final float sampleRate;
+    private final int frames;
+    private final String[] boneNames;
+    private final AnimationChannel.Target[] targets;
+    //one table per channel with x,y,z for every frame
+    private final float[][] samples;
+
+    private BakedAnimation(AnimationDefinition definition, float sampleRate, String[] boneNames,
+                           AnimationChannel.Target[] targets, float[][] samples, int frames) {
+        this.lengthInSeconds = definition.lengthInSeconds();
+        this.looping = definition.looping();
+        this.sampleRate = sampleRate;
+        this.frames = frames;
+        this.boneNames = boneNames;
+        this.targets = targets;
+        this.samples = samples;
+    }
+
+    public static BakedAnimation bake(AnimationDefinition definition, float sampleRate) {
+        //one extra frame so the last sample sits exactly on the end of the animation
+        int frames = Math.max(2, Mth.ceil(definition.lengthInSeconds() * sampleRate) + 1);
+        List<String> bones = new ArrayList<>();
+        List<AnimationChannel.Target> targets = new ArrayList<>();
+        List<float[]> samples = new ArrayList<>();
+        Vector3f vec = new Vector3f();
+
+        for (Map.Entry<String, List<AnimationChannel>> entry : definition.boneAnimations().entrySet()) {
+            for (AnimationChannel channel : entry.getValue()) {
+                float[] table = new float[frames * 3];
+                for (int frame = 0; frame < frames; frame++) {
+                    float seconds = Math.min(frame / sampleRate, definition.lengthInSeconds());
+                    sampleKeyframes(channel.keyframes(), seconds, vec);
+                    table[frame * 3] = vec.x();
+                    table[frame * 3 + 1] = vec.y();
+                    table[frame * 3 + 2] = vec.z();
+                }
+                bones.add(entry.getKey());
+                targets.add(channel.target());
+                samples.add(table);
+            }
+        }
+
+        return new BakedAnimation(definition, sampleRate, bones.toArray(new String[0]),
+                targets.toArray(new AnimationChannel.Target[0]), samples.toArray(new float[0][]), frames);
+    }
+
+    //same lookup KeyframeAnimations.animate does, with the scale left at 1 so it can be applied later
+    public static void sampleKeyframes(Keyframe[] keyframes, float seconds, Vector3f dest) {
+        int from = Math.max(0, Mth.binarySearch(0, keyframes.length, index -> seconds <= keyframes[index].timestamp()) - 1);
+        int to = Math.min(keyframes.length - 1, from + 1);
+        float alpha = 0.0F;
+        if (to != from) {
+            alpha = Mth.clamp((seconds - keyframes[from].timestamp()) / (keyframes[to].timestamp() - keyframes[from].timestamp()), 0.0F, 1.0F);
+        }
+        keyframes[to].interpolation().apply(dest, alpha, keyframes, from, to, 1.0F);
+    }
+
+    //looks up the parts once, the result is kept by the model and passed to apply
+    public ModelPart[] bind(HierarchicalModel<?> model) {
+        ModelPart[] parts = new ModelPart[this.boneNames.length];
+        for (int i = 0; i < this.boneNames.length; i++) {
+            parts[i] = model.getAnyDescendantWithName(this.boneNames[i]).orElse(null);
+        }
+        return parts;
+    }
+
+    public float seconds(long accumulatedMillis) {
+        float seconds = accumulatedMillis / 1000.0F;
+        return this.looping ? seconds % this.lengthInSeconds : Math.min(seconds, this.lengthInSeconds);
+    }
+
+    public int frameCount() {
+        return this.frames;
+    }
+
+    public int channelCount() {
+        return this.samples.length;
+    }
+
+    public float sampleRate() {
+        return this.sampleRate;
+    }
+
+    //reads the pose of one channel, blending the two closest baked frames
+    public void sample(int channel, float seconds, Vector3f dest) {
+        float position = Mth.clamp(seconds * this.sampleRate, 0.0F, this.frames - 1);
+        int frame = Math.min((int) position, this.frames - 2);
+        float alpha = position - frame;
+        float[] table = this.samples[channel];
+        int i = frame * 3;
+        dest.set(Mth.lerp(alpha, table[i], table[i + 3]),
+                Mth.lerp(alpha, table[i + 1], table[i + 4]),
+                Mth.lerp(alpha, table[i + 2], table[i + 5]));
+    }
+
+    public void apply(ModelPart[] parts, float seconds, float scale, Vector3f scratch) {
+        for (int channel = 0; channel < this.samples.length; channel++) {
+            ModelPart part = parts[channel];
+            if (part != null) {
+                this.sample(channel, seconds, scratch);
+                this.targets[channel].apply(part, scratch.mul(scale));
+            }
+        }
+    }
+}
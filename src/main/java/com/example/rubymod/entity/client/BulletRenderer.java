@@ -9,14 +9,14 @@ import net.minecraft.client.renderer.entity.EntityRendererProvider;
 import net.minecraft.resources.ResourceLocation;
 
 public class BulletRenderer extends ArrowRenderer<BulletEntity> {
+    private static final ResourceLocation TEXTURE = ResourceLocation.fromNamespaceAndPath(RubyMod.MODID, "textures/entity/bullet/bullet.png");
 
-   
     public BulletRenderer(EntityRendererProvider.Context context) {
         super(context);
     }
   
     @Override
     public ResourceLocation getTextureLocation(BulletEntity entity) {
-        return ResourceLocation.fromNamespaceAndPath(RubyMod.MODID, "textures/entity/bullet/bullet.png");
+        return TEXTURE;
     }
 }
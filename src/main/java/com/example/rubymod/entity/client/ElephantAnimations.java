@@ -71,4 +71,33 @@ public class ElephantAnimations {
 			AnimationChannel.Interpolations.LINEAR),
 		new Keyframe(2f, KeyframeAnimations.degreeVec(-10f, 0f, 0f),
 			AnimationChannel.Interpolations.LINEAR))).build();
+
+        public static final AnimationDefinition IDLE = AnimationDefinition.Builder.withLength(4f).looping()
+.addAnimation("nose",
+	new AnimationChannel(AnimationChannel.Targets.ROTATION,
+		new Keyframe(0f, KeyframeAnimations.degreeVec(0f, 0f, 0f),
+			AnimationChannel.Interpolations.CATMULLROM),
+		new Keyframe(1f, KeyframeAnimations.degreeVec(5f, 0f, 2.5f),
+			AnimationChannel.Interpolations.CATMULLROM),
+		new Keyframe(2f, KeyframeAnimations.degreeVec(0f, 0f, 0f),
+			AnimationChannel.Interpolations.CATMULLROM),
+		new Keyframe(3f, KeyframeAnimations.degreeVec(5f, 0f, -2.5f),
+			AnimationChannel.Interpolations.CATMULLROM),
+		new Keyframe(4f, KeyframeAnimations.degreeVec(0f, 0f, 0f),
+			AnimationChannel.Interpolations.CATMULLROM)))
+.addAnimation("ears",
+	new AnimationChannel(AnimationChannel.Targets.ROTATION,
+		new Keyframe(0f, KeyframeAnimations.degreeVec(0f, 0f, 0f),
+			AnimationChannel.Interpolations.LINEAR),
+		new Keyframe(0.5f, KeyframeAnimations.degreeVec(0f, 5f, 0f),
+			AnimationChannel.Interpolations.LINEAR),
+		new Keyframe(1f, KeyframeAnimations.degreeVec(0f, 0f, 0f),
+			AnimationChannel.Interpolations.LINEAR),
+		new Keyframe(4f, KeyframeAnimations.degreeVec(0f, 0f, 0f),
+			AnimationChannel.Interpolations.LINEAR))).build();
+
+        //sampled once at 20 frames per second and shared by every elephant
+        public static final float BAKE_RATE = 20f;
+        public static final BakedAnimation WALKING_BAKED = BakedAnimation.bake(WALKING, BAKE_RATE);
+        public static final BakedAnimation IDLE_BAKED = BakedAnimation.bake(IDLE, BAKE_RATE);
 }
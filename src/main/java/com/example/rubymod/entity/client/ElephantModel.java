@@ -3,8 +3,10 @@ package com.example.rubymod.entity.client;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
 import com.example.rubymod.entity.custom.ElephantEntity;
+import com.example.rubymod.Config;
 import com.example.rubymod.RubyMod;
 
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.model.EntityModel;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.client.model.HierarchicalModel;
@@ -18,9 +20,14 @@ import net.minecraft.client.model.geom.builders.MeshDefinition;
 import net.minecraft.client.model.geom.builders.PartDefinition;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
+import org.joml.Vector3f;
+
+import java.util.Set;
 
 public class ElephantModel<T extends ElephantEntity> extends HierarchicalModel<T> {
     public static final ModelLayerLocation LAYER_LOCATION = new ModelLayerLocation(ResourceLocation.fromNamespaceAndPath(RubyMod.MODID, "elephant"), "main");
+	//the parts moved by ElephantAnimations, everything else goes into the static mesh
+	static final Set<String> ANIMATED_PARTS = Set.of("f1", "f2", "f3", "f4", "ears", "nose");
 	private final ModelPart root;
 	private final ModelPart body;
 	private final ModelPart head;
@@ -31,6 +38,11 @@ public class ElephantModel<T extends ElephantEntity> extends HierarchicalModel<T
 	private final ModelPart f2;
 	private final ModelPart f3;
 	private final ModelPart f4;
+	private final ModelPart[] allParts;
+	private final ModelPart[] walkParts;
+	private final ModelPart[] idleParts;
+	private final Vector3f animationScratch = new Vector3f();
+	private final StaticModelMesh staticMesh;
 
 	public ElephantModel(ModelPart root) {
         this.root=root;
@@ -43,7 +55,11 @@ public class ElephantModel<T extends ElephantEntity> extends HierarchicalModel<T
 		this.f2 = this.body.getChild("f2");
 		this.f3 = this.body.getChild("f3");
 		this.f4 = this.body.getChild("f4");
-        
+		//parts are resolved once here instead of searched by name every frame
+		this.allParts = root.getAllParts().toArray(ModelPart[]::new);
+		this.walkParts = ElephantAnimations.WALKING_BAKED.bind(this);
+		this.idleParts = ElephantAnimations.IDLE_BAKED.bind(this);
+		this.staticMesh = StaticModelMesh.bake(root, ANIMATED_PARTS);
 	}
 
 	public static LayerDefinition createBodyLayer() {
@@ -88,13 +104,70 @@ public class ElephantModel<T extends ElephantEntity> extends HierarchicalModel<T
 
 	@Override
 	public void setupAnim(T entity, float limbSwing, float limbSwingAmount, float ageInTicks, float netHeadYaw, float headPitch) {
-        //this.animateWalk(ElephantAnimations.WALKING, limbSwing, limbSwingAmount, 2f, 2.5f);
-		
+		for (ModelPart part : this.allParts) {
+			part.resetPose();
+		}
+		int step = animationStep(entity);
+		if (step == 0) {
+			return;//too far away to see the animation, stays in the rest pose
+		}
+		//same timing as animateWalk(WALKING, limbSwing, limbSwingAmount, 2f, 2.5f)
+		float walkScale = Math.min(limbSwingAmount * 2.5f, 1f);
+		if (walkScale > 0f) {
+			float seconds = ElephantAnimations.WALKING_BAKED.seconds((long) (limbSwing * 50f * 2f));
+			ElephantAnimations.WALKING_BAKED.apply(this.walkParts, snap(seconds, step), walkScale, this.animationScratch);
+		}
+		entity.idleAnimationState.updateTime(ageInTicks, 1f);
+		if (entity.idleAnimationState.isStarted()) {
+			float seconds = ElephantAnimations.IDLE_BAKED.seconds(entity.idleAnimationState.getAccumulatedTime());
+			ElephantAnimations.IDLE_BAKED.apply(this.idleParts, snap(seconds, step), 1f, this.animationScratch);
+		}
+	}
+
+	//1 is full rate, bigger steps skip baked frames, 0 means the elephant is not animated at all
+	private static int animationStep(ElephantEntity entity) {
+		int lodDistance = Config.values().elephantAnimationLodDistance();
+		if (lodDistance <= 0) {
+			return 1;
+		}
+		double distanceSqr = entity.distanceToSqr(Minecraft.getInstance().gameRenderer.getMainCamera().getPosition());
+		double lodSqr = (double) lodDistance * lodDistance;
+		if (distanceSqr <= lodSqr) {
+			return 1;
+		}
+		if (distanceSqr <= lodSqr * 4) {
+			return 4;
+		}
+		if (distanceSqr <= lodSqr * 9) {
+			return 10;
+		}
+		return 0;
+	}
+
+	private static float snap(float seconds, int step) {
+		if (step <= 1) {
+			return seconds;
+		}
+		float stepSeconds = step / ElephantAnimations.BAKE_RATE;
+		return Mth.floor(seconds / stepSeconds) * stepSeconds;
 	}
 
 	@Override
 	public void renderToBuffer(PoseStack poseStack, VertexConsumer vertexConsumer, int packedLight, int packedOverlay, int color) {
-		this.root.render(poseStack, vertexConsumer, packedLight, packedOverlay, color);
+		//body, head and horns never move so they come from the baked mesh
+		this.staticMesh.render(poseStack.last(), vertexConsumer, packedLight, packedOverlay, color);
+		//only the animated parts walk the tree, under the same transforms as their parents
+		poseStack.pushPose();
+		this.root.translateAndRotate(poseStack);
+		this.body.translateAndRotate(poseStack);
+		this.f1.render(poseStack, vertexConsumer, packedLight, packedOverlay, color);
+		this.f2.render(poseStack, vertexConsumer, packedLight, packedOverlay, color);
+		this.f3.render(poseStack, vertexConsumer, packedLight, packedOverlay, color);
+		this.f4.render(poseStack, vertexConsumer, packedLight, packedOverlay, color);
+		this.head.translateAndRotate(poseStack);
+		this.ears.render(poseStack, vertexConsumer, packedLight, packedOverlay, color);
+		this.nose.render(poseStack, vertexConsumer, packedLight, packedOverlay, color);
+		poseStack.popPose();
 	}
     @Override
     public ModelPart root() {
@@ -2,6 +2,7 @@ package com.example.rubymod.entity.client;
 
 import com.example.rubymod.RubyMod;
 import com.example.rubymod.entity.custom.ElephantEntity;
+import com.example.rubymod.entity.custom.ElephantVariant;
 import com.mojang.blaze3d.vertex.PoseStack;
 
 import net.minecraft.client.renderer.MultiBufferSource;
@@ -10,13 +11,26 @@ import net.minecraft.client.renderer.entity.MobRenderer;
 import net.minecraft.resources.ResourceLocation;
 
 public class ElephantRenderer extends MobRenderer<ElephantEntity, ElephantModel<ElephantEntity>>{
+    //built once, indexed by the variant id so no location is created while rendering
+    private static final ResourceLocation[] TEXTURES = createTextures();
+
      public ElephantRenderer(EntityRendererProvider.Context pContext) {
         super(pContext, new ElephantModel<>(pContext.bakeLayer(ElephantModel.LAYER_LOCATION)), 0.85f);
     }
 
     @Override
     public ResourceLocation getTextureLocation(ElephantEntity pEntity) {
-        return ResourceLocation.fromNamespaceAndPath(RubyMod.MODID, "textures/entity/elephant/elephant_gray.png");
+        return TEXTURES[pEntity.getVariant().getId()];
+    }
+
+    private static ResourceLocation[] createTextures() {
+        ElephantVariant[] variants = ElephantVariant.values();
+        ResourceLocation[] textures = new ResourceLocation[variants.length];
+        for (ElephantVariant variant : variants) {
+            textures[variant.getId()] = ResourceLocation.fromNamespaceAndPath(RubyMod.MODID,
+                    "textures/entity/elephant/elephant_" + variant.getName() + ".png");
+        }
+        return textures;
     }
 
     @Override
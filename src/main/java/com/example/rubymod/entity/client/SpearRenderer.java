@@ -9,14 +9,14 @@ import net.minecraft.client.renderer.entity.EntityRendererProvider;
 import net.minecraft.resources.ResourceLocation;
 
 public class SpearRenderer extends ArrowRenderer<SpearEntity> {
+    private static final ResourceLocation TEXTURE = ResourceLocation.fromNamespaceAndPath(RubyMod.MODID, "textures/entity/spear/spear.png");
 
-   
     public SpearRenderer(EntityRendererProvider.Context context) {
         super(context);
     }
   
     @Override
     public ResourceLocation getTextureLocation(SpearEntity entity) {
-        return ResourceLocation.fromNamespaceAndPath(RubyMod.MODID, "textures/entity/spear/spear.png");
+        return TEXTURE;
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.example.rubymod.entity.client;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import net.minecraft.client.model.geom.ModelPart;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+import java.util.Set;
+
+//the cubes of every part that never moves, transformed once into model space
+//so rendering them is a single loop over a flat array instead of a walk over the part tree
+public class StaticModelMesh {
+    //x, y, z, u, v, normal x, normal y, normal z
+    private static final int STRIDE = 8;
+    private final float[] vertices;
+    private final Vector3f position = new Vector3f();
+    private final Vector3f normal = new Vector3f();
+
+    private StaticModelMesh(float[] vertices) {
+        this.vertices = vertices;
+    }
+
+    //bakes every cube of the tree except the ones under a part named in animatedParts
+    public static StaticModelMesh bake(ModelPart root, Set<String> animatedParts) {
+        VertexCapture capture = new VertexCapture();
+        root.visit(new PoseStack(), (pose, path, index, cube) -> {
+            if (!isUnderAnimatedPart(path, animatedParts)) {
+                cube.compile(pose, capture, 0, 0, -1);
+            }
+        });
+        return new StaticModelMesh(capture.data.toFloatArray());
+    }
+
+    private static boolean isUnderAnimatedPart(String path, Set<String> animatedParts) {
+        for (String name : path.split("/")) {
+            if (animatedParts.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int vertexCount() {
+        return this.vertices.length / STRIDE;
+    }
+
+    public void render(PoseStack.Pose pose, VertexConsumer consumer, int packedLight, int packedOverlay, int color) {
+        Matrix4f matrix = pose.pose();
+        float[] data = this.vertices;
+        for (int i = 0; i < data.length; i += STRIDE) {
+            matrix.transformPosition(data[i], data[i + 1], data[i + 2], this.position);
+            pose.transformNormal(data[i + 5], data[i + 6], data[i + 7], this.normal);
+            consumer.addVertex(this.position.x(), this.position.y(), this.position.z(), color, data[i + 3], data[i + 4],
+                    packedOverlay, packedLight, this.normal.x(), this.normal.y(), this.normal.z());
+        }
+    }
+
+    //keeps position, uv and normal of every vertex, light, overlay and color are given at render time
+    private static class VertexCapture implements VertexConsumer {
+        private final FloatArrayList data = new FloatArrayList();
+
+        @Override
+        public VertexConsumer addVertex(float x, float y, float z) {
+            this.data.add(x);
+            this.data.add(y);
+            this.data.add(z);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setColor(int red, int green, int blue, int alpha) {
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv(float u, float v) {
+            this.data.add(u);
+            this.data.add(v);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv1(int u, int v) {
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv2(int u, int v) {
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setNormal(float x, float y, float z) {
+            this.data.add(x);
+            this.data.add(y);
+            this.data.add(z);
+            return this;
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.example.rubymod.entity.custom;
 
+import com.example.rubymod.Config;
+import com.example.rubymod.census.EntityCensus;
 import com.example.rubymod.entity.ModEntities;
 
-import net.minecraft.world.damagesource.DamageSource;
-import net.minecraft.world.damagesource.DamageTypes;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
@@ -35,13 +35,8 @@ public class BulletEntity extends AbstractArrow {
 
         Entity hitEntity = hitResult.getEntity();
         if (hitEntity instanceof LivingEntity livingTarget) {
-            // Get the correct damage type from the world's registry
-            DamageSource bulletDamageSource = new DamageSource(livingTarget.level().registryAccess()
-                    .registryOrThrow(net.minecraft.core.registries.Registries.DAMAGE_TYPE)
-                    .getHolderOrThrow(DamageTypes.ARROW));
-
             // Apply damage
-            livingTarget.hurt(bulletDamageSource, bulletDamage);
+            livingTarget.hurt(ProjectileDamage.get(livingTarget.level()), bulletDamage);
         }
 
         this.discard(); // Remove bullet after hitting an entity
@@ -49,9 +44,13 @@ public class BulletEntity extends AbstractArrow {
     
     @Override
     public void tick() {
+        long start = System.nanoTime();
         super.tick();
         if (this.inGround) {
             this.discard(); // Bullet disappears on impact
+        } else if (!this.level().isClientSide() && this.tickCount >= Config.values().bulletMaxFlightTicks()) {
+            this.discard(); // stray bullets shot into the sky do not fly around forever
         }
+        EntityCensus.addTickNanos(this, System.nanoTime() - start);
     }
 }
@@ -2,10 +2,19 @@ package com.example.rubymod.entity.custom;
 
 import net.minecraft.world.entity.animal.Animal;
 import net.minecraft.world.entity.monster.Zombie;
+import net.minecraft.core.Holder;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.syncher.EntityDataAccessor;
+import net.minecraft.network.syncher.EntityDataSerializers;
+import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BiomeTags;
+import net.minecraft.world.DifficultyInstance;
 import net.minecraft.world.entity.AgeableMob;
 import net.minecraft.world.entity.AnimationState;
 import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.MobSpawnType;
+import net.minecraft.world.entity.SpawnGroupData;
 import net.minecraft.world.entity.ai.attributes.AttributeSupplier;
 import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.entity.ai.goal.*;
@@ -13,16 +22,25 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.ServerLevelAccessor;
+import net.minecraft.world.level.biome.Biome;
 import org.jetbrains.annotations.Nullable;
 
+import com.example.rubymod.Config;
+import com.example.rubymod.entity.AdaptiveSync;
 import com.example.rubymod.items.ModItems;
+import com.example.rubymod.census.EntityCensus;
+import com.example.rubymod.metrics.ModMetrics;
 
 public class ElephantEntity extends Animal{
+    private static final EntityDataAccessor<Integer> VARIANT =
+            SynchedEntityData.defineId(ElephantEntity.class, EntityDataSerializers.INT);
     public final AnimationState idleAnimationState = new AnimationState();
-    private int idleAnimationTimeout=0;
+    private final AdaptiveSync sync;
 
     public ElephantEntity(EntityType<? extends Animal> pEntityType, Level pLevel){
             super(pEntityType, pLevel);
+            this.sync = new AdaptiveSync(this);
     }
 
     @Override
@@ -53,6 +71,54 @@ public class ElephantEntity extends Animal{
                 .add(Attributes.ATTACK_DAMAGE,12D);
     }
 
+    @Override
+    protected void defineSynchedData(SynchedEntityData.Builder pBuilder) {
+        super.defineSynchedData(pBuilder);
+        pBuilder.define(VARIANT, ElephantVariant.GRAY.getId());
+    }
+
+    @Override
+    public void addAdditionalSaveData(CompoundTag pCompound) {
+        super.addAdditionalSaveData(pCompound);
+        pCompound.putInt("Variant", this.getVariantId());
+    }
+
+    @Override
+    public void readAdditionalSaveData(CompoundTag pCompound) {
+        super.readAdditionalSaveData(pCompound);
+        this.setVariant(ElephantVariant.byId(pCompound.getInt("Variant")));
+    }
+
+    //the color is picked from the biome the elephant spawns in
+    @Override
+    public SpawnGroupData finalizeSpawn(ServerLevelAccessor pLevel, DifficultyInstance pDifficulty, MobSpawnType pSpawnType,
+                                        @Nullable SpawnGroupData pSpawnGroupData) {
+        this.setVariant(variantForBiome(pLevel.getBiome(this.blockPosition())));
+        return super.finalizeSpawn(pLevel, pDifficulty, pSpawnType, pSpawnGroupData);
+    }
+
+    private ElephantVariant variantForBiome(Holder<Biome> biome) {
+        if (this.random.nextInt(50) == 0) {
+            return ElephantVariant.ALBINO;
+        }
+        if (biome.is(BiomeTags.IS_SAVANNA) || biome.is(BiomeTags.IS_BADLANDS)) {
+            return ElephantVariant.SAVANNA;
+        }
+        return ElephantVariant.GRAY;
+    }
+
+    public int getVariantId() {
+        return this.entityData.get(VARIANT);
+    }
+
+    public ElephantVariant getVariant() {
+        return ElephantVariant.byId(this.getVariantId());
+    }
+
+    public void setVariant(ElephantVariant variant) {
+        this.entityData.set(VARIANT, variant.getId());
+    }
+
     @Override
     public boolean isFood(ItemStack pStack){
         return pStack.is(Items.APPLE);
@@ -63,19 +129,36 @@ public class ElephantEntity extends Animal{
         return null;
     }
     private void setupAnimationStates() {
-        if(this.idleAnimationTimeout <= 0) {
-            this.idleAnimationTimeout = 40;
-            this.idleAnimationState.start(this.tickCount);
-        } else {
-            --this.idleAnimationTimeout;
+        //the idle animation loops by itself so it only has to be started once
+        this.idleAnimationState.startIfStopped(this.tickCount);
+    }
+    //elephants nobody is near only run their goals and navigation every few ticks,
+    //the offset by id keeps a herd from all thinking in the same tick
+    @Override
+    protected void serverAiStep() {
+        Config.Values config = Config.values();
+        if (config.elephantAiLodDistance() > 0 && (this.tickCount + this.getId()) % config.elephantFarAiInterval() != 0
+                && this.getLastHurtByMob() == null
+                && !this.level().hasNearbyAlivePlayer(this.getX(), this.getY(), this.getZ(), config.elephantAiLodDistance())) {
+            return;
         }
+        super.serverAiStep();
     }
+
     @Override
     public void tick() {
-        super.tick();
-
         if(this.level().isClientSide()) {
+            super.tick();
             this.setupAnimationStates();
+            return;
+        }
+        long start = System.nanoTime();
+        super.tick();
+        if (this.level() instanceof ServerLevel serverLevel) {
+            this.sync.publish(serverLevel, this);
         }
+        long nanos = System.nanoTime() - start;
+        ModMetrics.ELEPHANT_TICK.add(nanos);
+        EntityCensus.addTickNanos(this, nanos);
     }
 }
@@ -0,0 +1,29 @@
+package com.example.rubymod.entity.custom;
+
+//the colors an elephant can have, the id is what gets synced and saved
+public enum ElephantVariant {
+    GRAY(0, "gray"),
+    SAVANNA(1, "savanna"),
+    ALBINO(2, "albino");
+
+    private static final ElephantVariant[] BY_ID = values();
+    private final int id;
+    private final String name;
+
+    ElephantVariant(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public static ElephantVariant byId(int id) {
+        return id >= 0 && id < BY_ID.length ? BY_ID[id] : GRAY;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.rubymod.entity.custom;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.damagesource.DamageTypes;
+import net.minecraft.world.level.Level;
+
+//the damage source bullets and spears hit with. it has no attacker, so one instance is shared by every hit
+//instead of looking up the damage type and building a new source each time.
+//it is rebuilt when the level belongs to another registry access, like the next world that is opened
+public class ProjectileDamage {
+    private static volatile Cached cached;
+
+    public static DamageSource get(Level level) {
+        RegistryAccess registries = level.registryAccess();
+        Cached current = cached;
+        if (current == null || current.registries() != registries) {
+            current = new Cached(registries, new DamageSource(registries.registryOrThrow(Registries.DAMAGE_TYPE)
+                    .getHolderOrThrow(DamageTypes.ARROW)));
+            cached = current;
+        }
+        return current.source();
+    }
+
+    //one field so the server and client thread never see a source from the other registry access
+    private record Cached(RegistryAccess registries, DamageSource source) {
+    }
+}
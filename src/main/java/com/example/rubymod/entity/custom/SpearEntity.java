@@ -1,11 +1,13 @@
 package com.example.rubymod.entity.custom;
 
+import com.example.rubymod.Config;
+import com.example.rubymod.census.EntityCensus;
 import com.example.rubymod.items.ModItems;
+import com.example.rubymod.network.ModEffects;
 
 import net.minecraft.network.protocol.Packet;
+import net.minecraft.sounds.SoundEvent;
 import net.minecraft.sounds.SoundEvents;
-import net.minecraft.world.damagesource.DamageSource;
-import net.minecraft.world.damagesource.DamageTypes;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
@@ -18,6 +20,9 @@ import net.minecraft.world.phys.EntityHitResult;
 
 
 public class SpearEntity extends AbstractArrow {
+    private int stuckTicks;
+    //inGround as the census counted it, changes only together with the census
+    private boolean stuck;
     
     public SpearEntity(EntityType<? extends SpearEntity> entityType, Level world) {
         super(entityType, world);
@@ -33,26 +38,61 @@ public class SpearEntity extends AbstractArrow {
 
         Entity hitEntity = hitResult.getEntity();
         if (hitEntity instanceof LivingEntity livingTarget) {
-            // Get the correct damage type from the world's registry
-            DamageSource spearDamageSource = new DamageSource(livingTarget.level().registryAccess()
-                    .registryOrThrow(net.minecraft.core.registries.Registries.DAMAGE_TYPE)
-                    .getHolderOrThrow(DamageTypes.ARROW));
-
             // Apply damage
-            livingTarget.hurt(spearDamageSource, 12.0f);
+            livingTarget.hurt(ProjectileDamage.get(livingTarget.level()), 12.0f);
         }
 
          
     }
+    @Override
+    public void tick() {
+        if (this.level().isClientSide()) {
+            super.tick();
+            return;
+        }
+        long start = System.nanoTime();
+        super.tick();
+        if (this.inGround != this.stuck && !this.isRemoved()) {
+            EntityCensus.spearStuck(this, this.inGround);
+            this.stuck = this.inGround;
+        }
+        EntityCensus.addTickNanos(this, System.nanoTime() - start);
+    }
+
+    public boolean isStuck() {
+        return this.stuck;
+    }
+
     @Override
     protected ItemStack getDefaultPickupItem() {
         return new ItemStack(ModItems.SPEAR.get());
     }
     @Override
     protected void onHitBlock(BlockHitResult blockHitResult) {
-        this.setDeltaMovement(0, 0, 0); // Stops moving
-        this.setNoGravity(false); // Stick in the block
-        this.playSound(SoundEvents.TRIDENT_HIT, 1.0F, 1.0F);
+        //sticks in the block like an arrow, before this the spear kept falling onto the block
+        //and hit it again every tick, never despawned and played the sound every time
+        super.onHitBlock(blockHitResult);
+    }
+
+    @Override
+    protected SoundEvent getDefaultHitGroundSoundEvent() {
+        return SoundEvents.TRIDENT_HIT;
+    }
+
+    //the hit sound goes out with the mod's other effects, a field of spears landing at once is one packet per player
+    @Override
+    public void playSound(SoundEvent sound, float volume, float pitch) {
+        if (!this.isSilent()) {
+            ModEffects.playSound(this.level(), null, this.getX(), this.getY(), this.getZ(), sound, this.getSoundSource(), volume, pitch);
+        }
+    }
+
+    //called every tick while stuck, replaces the fixed minute of vanilla arrows
+    @Override
+    protected void tickDespawn() {
+        if (++this.stuckTicks >= Config.values().spearDespawnTicks()) {
+            this.discard();
+        }
     }
 
  
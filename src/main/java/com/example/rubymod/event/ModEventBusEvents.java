@@ -3,6 +3,7 @@ package com.example.rubymod.event;
 
 
 import com.example.rubymod.RubyMod;
+import com.example.rubymod.benchmark.StartupProfiler;
 import com.example.rubymod.entity.ModEntities;
 import com.example.rubymod.entity.client.ElephantModel;
 
@@ -11,7 +12,9 @@ import com.example.rubymod.entity.client.SpearModel;
 import com.example.rubymod.entity.client.BulletModel;
 import com.example.rubymod.entity.custom.BulletEntity;
 import com.example.rubymod.entity.custom.ElephantEntity;
+import com.example.rubymod.items.armor.ArmorSetBonuses;
 import net.minecraftforge.client.event.EntityRenderersEvent;
+import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
 import net.minecraftforge.event.entity.EntityAttributeCreationEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -20,15 +23,26 @@ import net.minecraftforge.fml.common.Mod;
 public class ModEventBusEvents {
     @SubscribeEvent
     public static void registerLayers(EntityRenderersEvent.RegisterLayerDefinitions event) {
-        event.registerLayerDefinition(ElephantModel.LAYER_LOCATION, ElephantModel::createBodyLayer);
-        event.registerLayerDefinition(BulletModel.LAYER_LOCATION, BulletModel::createBodyLayer);
-        event.registerLayerDefinition(SpearModel.LAYER_LOCATION, SpearModel::createBodyLayer);
+        try (var span = StartupProfiler.begin("registerLayers")) {
+            event.registerLayerDefinition(ElephantModel.LAYER_LOCATION, ElephantModel::createBodyLayer);
+            event.registerLayerDefinition(BulletModel.LAYER_LOCATION, BulletModel::createBodyLayer);
+            event.registerLayerDefinition(SpearModel.LAYER_LOCATION, SpearModel::createBodyLayer);
+        }
     }
 
     @SubscribeEvent
     public static void registerAttributes(EntityAttributeCreationEvent event) {
-        event.put(ModEntities.ELEPHANT.get(), ElephantEntity.createAttributes().build());
+        try (var span = StartupProfiler.begin("registerAttributes")) {
+            event.put(ModEntities.ELEPHANT.get(), ElephantEntity.createAttributes().build());
+        }
 
     }
+
+    @SubscribeEvent
+    public static void registerCapabilities(RegisterCapabilitiesEvent event) {
+        try (var span = StartupProfiler.begin("registerCapabilities")) {
+            ArmorSetBonuses.registerCapability(event);
+        }
+    }
     
 }
\ No newline at end of file
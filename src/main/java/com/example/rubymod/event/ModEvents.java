@@ -1,9 +1,61 @@
 package com.example.rubymod.event;
 
 import com.example.rubymod.RubyMod;
+import com.example.rubymod.blocks.ModBlocks;
+import com.example.rubymod.blocks.entity.RubyFurnaceBlockEntity;
+import com.example.rubymod.command.ModCommands;
+import com.example.rubymod.metrics.ModMetrics;
+import com.example.rubymod.worldgen.index.RubyOreIndex;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.inventory.FurnaceMenu;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
 @Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
 public class ModEvents {
-    
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        ModCommands.register(event.getDispatcher());
+    }
+
+    //ore placed by the worldgen threads is added to the index on the server thread
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent.Post event) {
+        long start = System.nanoTime();
+        RubyOreIndex.drainGenerated(event.getServer());
+        ModMetrics.ORE_INDEX_TICK.observeNanos(System.nanoTime() - start);
+    }
+
+    //after every other listener, a protection mod that cancels the break leaves the ore and its index entry alone
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onBlockBreak(BlockEvent.BreakEvent event) {
+        if (event.isCanceled()) {
+            return;
+        }
+        if (event.getLevel() instanceof ServerLevel level && event.getState().is(ModBlocks.RUBY_ORE.get())) {
+            RubyOreIndex.get(level).remove(event.getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            RubyOreIndex.unload(level);
+        }
+    }
+
+    //the furnace menu only pays out experience for vanilla furnaces, the ruby furnace does it when its output is taken
+    @SubscribeEvent
+    public static void onItemSmelted(PlayerEvent.ItemSmeltedEvent event) {
+        if (event.getEntity().level() instanceof ServerLevel level && event.getEntity().containerMenu instanceof FurnaceMenu menu
+                && menu.getSlot(RubyFurnaceBlockEntity.SLOT_RESULT).container instanceof RubyFurnaceBlockEntity furnace) {
+            furnace.awardExperience(level, event.getEntity().position());
+        }
+    }
 }
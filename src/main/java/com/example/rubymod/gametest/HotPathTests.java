@@ -0,0 +1,302 @@
+package com.example.rubymod.gametest;
+
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.entity.ModEntities;
+import com.example.rubymod.entity.custom.BulletEntity;
+import com.example.rubymod.entity.custom.ElephantEntity;
+import com.example.rubymod.entity.custom.SpearEntity;
+import com.example.rubymod.items.ModItems;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.logging.LogUtils;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.context.UseOnContext;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.EntityHitResult;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+//times the mod's hot entry points, the real item, projectile and elephant code on the game test server
+//with mock players. Every scenario makes its calls back to back within one tick and only the call is timed,
+//not what puts the arena back between two calls.
+//the time per call of every scenario goes to hot-paths.json in the run folder. Run with ./gradlew runGameTestServer.
+//The time is only reported, one tick of calls is too noisy to fail on, the jmh benchmarks compare times.
+//every scenario also counts the bytes the server thread allocates per call and fails when that is over its budget
+//in hot-path-budgets.json next to this class. That keeps the per call ammo stacks, randoms and damage sources
+//from coming back. When a change makes a path allocate more or less on purpose, or the game version changes,
+//take the new bytesPerCall from hot-paths.json and commit it as the budget with a little room on top
+@GameTestHolder(RubyMod.MODID)
+@PrefixGameTestTemplate(false)
+public class HotPathTests {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final String ARENA = "load_arena";
+    private static final String BATCH = "hot_paths";
+    //calls before the timed ones, so the paths are compiled like on a server that has been up for a while
+    private static final int WARMUP_CALLS = 10000;
+    private static final int CALLS = 10000;
+    private static final JsonObject BUDGETS = readBudgets();
+    //every scenario adds its line when it is done and the file is written again
+    private static final JsonObject RESULTS = new JsonObject();
+    //keeps the results of the calls, so the jit can not drop calls whose result is never used
+    private static Object sink;
+
+    @GameTest(template = ARENA, batch = BATCH)
+    public static void gunUse(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        ServerPlayer player = LoadTests.placePlayer(helper, new Vec3(24.5, 1, 24.5));
+        player.setItemInHand(InteractionHand.MAIN_HAND, new ItemStack(ModItems.GUN.get()));
+        ItemStack bullets = new ItemStack(ModItems.BULLET_ITEM.get(), 64);
+        player.getInventory().setItem(9, bullets);
+        Item gun = ModItems.GUN.get();
+        measure(helper, "gun_use", () -> {
+            bullets.setCount(64);
+            helper.killAllEntitiesOfClass(BulletEntity.class);
+        }, () -> gun.use(level, player, InteractionHand.MAIN_HAND), () -> LoadTests.removePlayers(helper, List.of(player)));
+    }
+
+    //no ammo anywhere, the click only plays the empty sound
+    @GameTest(template = ARENA, batch = BATCH)
+    public static void gunUseEmpty(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        ServerPlayer player = LoadTests.placePlayer(helper, new Vec3(24.5, 1, 24.5));
+        player.setItemInHand(InteractionHand.MAIN_HAND, new ItemStack(ModItems.GUN.get()));
+        Item gun = ModItems.GUN.get();
+        measure(helper, "gun_use_empty", () -> {
+        }, () -> gun.use(level, player, InteractionHand.MAIN_HAND), () -> LoadTests.removePlayers(helper, List.of(player)));
+    }
+
+    //the spears in hand are the ammo
+    @GameTest(template = ARENA, batch = BATCH)
+    public static void spearUse(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        ServerPlayer player = LoadTests.placePlayer(helper, new Vec3(24.5, 1, 24.5));
+        ItemStack spears = new ItemStack(ModItems.SPEAR.get(), 64);
+        player.setItemInHand(InteractionHand.MAIN_HAND, spears);
+        Item spear = ModItems.SPEAR.get();
+        measure(helper, "spear_use", () -> {
+            spears.setCount(64);
+            helper.killAllEntitiesOfClass(SpearEntity.class);
+        }, () -> spear.use(level, player, InteractionHand.MAIN_HAND), () -> LoadTests.removePlayers(helper, List.of(player)));
+    }
+
+    //the clicked block is stone again before every use so each one transmutes
+    @GameTest(template = ARENA, batch = BATCH)
+    public static void magicBladeUseOn(GameTestHelper helper) {
+        ServerPlayer player = LoadTests.placePlayer(helper, new Vec3(24.5, 1, 24.5));
+        ItemStack blade = new ItemStack(ModItems.MAGIC_BLADE.get());
+        player.setItemInHand(InteractionHand.MAIN_HAND, blade);
+        BlockPos target = new BlockPos(26, 1, 24);
+        UseOnContext context = clickOn(helper, player, target);
+        Item item = ModItems.MAGIC_BLADE.get();
+        measure(helper, "magic_blade_use_on", () -> {
+            helper.setBlock(target, Blocks.STONE);
+            blade.setDamageValue(0);
+        }, () -> item.useOn(context), () -> LoadTests.removePlayers(helper, List.of(player)));
+    }
+
+    @GameTest(template = ARENA, batch = BATCH)
+    public static void healItemUseOn(GameTestHelper helper) {
+        ServerPlayer player = LoadTests.placePlayer(helper, new Vec3(24.5, 1, 24.5));
+        ItemStack healer = new ItemStack(ModItems.HEALER.get());
+        player.setItemInHand(InteractionHand.MAIN_HAND, healer);
+        UseOnContext context = clickOn(helper, player, new BlockPos(24, 0, 24));
+        Item item = ModItems.HEALER.get();
+        measure(helper, "heal_item_use_on", () -> {
+            player.setHealth(1.0F);
+            healer.setDamageValue(0);
+        }, () -> item.useOn(context), () -> LoadTests.removePlayers(helper, List.of(player)));
+    }
+
+    //a fresh bullet for every hit, on a target that gets its health back in between
+    @GameTest(template = ARENA, batch = BATCH)
+    public static void bulletHit(GameTestHelper helper) {
+        Mob target = spawnTarget(helper);
+        EntityHitResult hit = new EntityHitResult(target);
+        BulletProbe[] bullet = new BulletProbe[1];
+        measure(helper, "bullet_hit", () -> {
+            resetTarget(target);
+            bullet[0] = new BulletProbe(helper.getLevel());
+            aimAt(bullet[0], target);
+        }, () -> bullet[0].hit(hit), helper::killAllEntities);
+    }
+
+    @GameTest(template = ARENA, batch = BATCH)
+    public static void spearHit(GameTestHelper helper) {
+        Mob target = spawnTarget(helper);
+        EntityHitResult hit = new EntityHitResult(target);
+        SpearProbe[] spear = new SpearProbe[1];
+        measure(helper, "spear_hit", () -> {
+            resetTarget(target);
+            spear[0] = new SpearProbe(helper.getLevel());
+            aimAt(spear[0], target);
+        }, () -> spear[0].hit(hit), helper::killAllEntities);
+    }
+
+    //construction includes registerGoals, the Mob constructor calls it
+    @GameTest(template = ARENA, batch = BATCH)
+    public static void elephantConstruction(GameTestHelper helper) {
+        measure(helper, "elephant_construction", () -> {
+        }, () -> new ElephantEntity(ModEntities.ELEPHANT.get(), helper.getLevel()), () -> {
+        });
+    }
+
+    //waits a tick so the arena is placed, then warms up, measures and checks in the same tick
+    private static void measure(GameTestHelper helper, String scenario, Runnable reset, Supplier<?> call, Runnable cleanup) {
+        helper.runAfterDelay(1, () -> {
+            run(WARMUP_CALLS, reset, call);
+            Calls measured = run(CALLS, reset, call);
+            cleanup.run();
+            LOGGER.info("Hot path {}: {} ns, {} bytes per call", scenario, String.format("%.1f", measured.nanos()),
+                    String.format("%.1f", measured.bytes()));
+            JsonObject result = new JsonObject();
+            result.addProperty("nanosPerCall", measured.nanos());
+            result.addProperty("bytesPerCall", measured.bytes());
+            record(scenario, result);
+
+            if (!BUDGETS.has(scenario)) {
+                helper.fail(scenario + " has no budget in hot-path-budgets.json, it allocates "
+                        + String.format("%.1f", measured.bytes()) + " bytes per call");
+            }
+            double budget = BUDGETS.get(scenario).getAsDouble();
+            //-1 bytes when the jvm can not count allocations per thread
+            if (measured.bytes() > budget) {
+                helper.fail(scenario + " allocates " + String.format("%.1f", measured.bytes()) + " bytes per call, the budget is "
+                        + String.format("%.0f", budget));
+            }
+            helper.succeed();
+        });
+    }
+
+    //average nanoseconds and bytes allocated by this thread per call
+    private static Calls run(int calls, Runnable reset, Supplier<?> call) {
+        long nanos = 0;
+        long bytes = 0;
+        for (int i = 0; i < calls; i++) {
+            reset.run();
+            long startBytes = allocatedBytes();
+            long start = System.nanoTime();
+            sink = call.get();
+            nanos += System.nanoTime() - start;
+            bytes += allocatedBytes() - startBytes;
+        }
+        return new Calls((double) nanos / calls, allocatedBytes() < 0 ? -1.0 : (double) bytes / calls);
+    }
+
+    //-1 when the jvm can not count allocations per thread
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1L;
+    }
+
+    private static synchronized void record(String scenario, JsonObject result) {
+        RESULTS.add(scenario, result);
+        Path output = FMLPaths.GAMEDIR.get().resolve("hot-paths.json");
+        try (Writer writer = Files.newBufferedWriter(output)) {
+            GSON.toJson(RESULTS, writer);
+        } catch (IOException e) {
+            LOGGER.error("Could not write {}", output, e);
+        }
+    }
+
+    //the allowed bytes per call of every scenario, they are part of the mod jar
+    private static JsonObject readBudgets() {
+        InputStream stream = HotPathTests.class.getResourceAsStream("hot-path-budgets.json");
+        if (stream == null) {
+            throw new IllegalStateException("hot-path-budgets.json is missing next to " + HotPathTests.class.getName());
+        }
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read hot-path-budgets.json", e);
+        }
+    }
+
+    //clicks the top of a block, like the player does with the item in the main hand
+    private static UseOnContext clickOn(GameTestHelper helper, ServerPlayer player, BlockPos relative) {
+        BlockPos absolute = helper.absolutePos(relative);
+        BlockHitResult hit = new BlockHitResult(Vec3.atCenterOf(absolute), Direction.UP, absolute, false);
+        return new UseOnContext(player, InteractionHand.MAIN_HAND, hit);
+    }
+
+    //an iron golem has the health to take a bullet and a spear, it stands still so the hits are all the same
+    private static Mob spawnTarget(GameTestHelper helper) {
+        Mob target = helper.spawn(EntityType.IRON_GOLEM, new Vec3(24.5, 1, 24.5));
+        target.setNoAi(true);
+        return target;
+    }
+
+    private static void resetTarget(LivingEntity target) {
+        target.setHealth(target.getMaxHealth());
+        target.invulnerableTime = 0;
+        target.setArrowCount(0);
+    }
+
+    //flying at the target like a shot from two blocks away
+    private static void aimAt(Entity projectile, LivingEntity target) {
+        projectile.setPos(target.getX() - 2.0, target.getEyeY(), target.getZ());
+        projectile.setDeltaMovement(3.0, 0.0, 0.0);
+    }
+
+    private record Calls(double nanos, double bytes) {
+    }
+
+    //the hit handlers are protected, a subclass reaches them the way the projectile's own flight does
+    private static class BulletProbe extends BulletEntity {
+        BulletProbe(Level level) {
+            super(ModEntities.BULLET.get(), level);
+        }
+
+        Object hit(EntityHitResult result) {
+            this.onHitEntity(result);
+            return this;
+        }
+    }
+
+    private static class SpearProbe extends SpearEntity {
+        SpearProbe(Level level) {
+            super(ModEntities.SPEAR.get(), level);
+        }
+
+        Object hit(EntityHitResult result) {
+            this.onHitEntity(result);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.rubymod.gametest;
+
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.entity.ModEntities;
+import com.example.rubymod.entity.custom.SpearEntity;
+import com.example.rubymod.items.ModItems;
+import com.mojang.logging.LogUtils;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.context.UseOnContext;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//load scenarios for the gameTestServer run, each one fails when the server gets slower than its budget.
+//every scenario is its own batch so they run one after another and do not share the tick time.
+//run with ./gradlew runGameTestServer, slower machines can loosen every budget with -Pgametest_budget_scale=2
+@GameTestHolder(RubyMod.MODID)
+@PrefixGameTestTemplate(false)
+public class LoadTests {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    //a 48x8x48 smooth stone floor
+    private static final String ARENA = "load_arena";
+    private static final int ARENA_SIZE = 48;
+    //ticks the scenario runs before the budget is checked
+    private static final int WARMUP_TICKS = 100;
+    //the server averages its tick time over the last 100 ticks, so that is the window that is checked
+    private static final int MEASURE_TICKS = 100;
+    private static final int TIMEOUT = WARMUP_TICKS + MEASURE_TICKS + 20;
+    private static final double BUDGET_SCALE = Double.parseDouble(System.getProperty("rubymod.loadtest.budgetScale", "1"));
+
+    private static final int ELEPHANTS = 500;
+    private static final double ELEPHANT_BUDGET_MS = 35.0;
+    private static final int SHOOTERS = 20;
+    private static final double GUN_BUDGET_MS = 15.0;
+    private static final int SPEARS = 1000;
+    private static final double SPEAR_BUDGET_MS = 10.0;
+    private static final int BLADE_USES_PER_TICK = 64;
+    private static final double BLADE_BUDGET_MS = 15.0;
+
+    @GameTest(template = ARENA, batch = "load_elephants", timeoutTicks = TIMEOUT)
+    public static void elephantPen(GameTestHelper helper) {
+        buildWall(helper);
+        for (int i = 0; i < ELEPHANTS; i++) {
+            helper.spawn(ModEntities.ELEPHANT.get(), 2 + (i % 22) * 2, 1, 2 + (i / 22) * 2);
+        }
+        checkBudget(helper, "elephant pen", ELEPHANT_BUDGET_MS, helper::killAllEntities);
+    }
+
+    //every player fires every tick, calling the item directly skips the cooldown like a macro on a laggy client would
+    @GameTest(template = ARENA, batch = "load_guns", timeoutTicks = TIMEOUT)
+    public static void playersFiringGuns(GameTestHelper helper) {
+        List<ServerPlayer> shooters = new ArrayList<>();
+        List<ItemStack> ammo = new ArrayList<>();
+        for (int i = 0; i < SHOOTERS; i++) {
+            ServerPlayer player = placePlayer(helper, new Vec3(2.5 + i * 2, 1, 2.5));
+            player.setItemInHand(InteractionHand.MAIN_HAND, new ItemStack(ModItems.GUN.get()));
+            ItemStack bullets = new ItemStack(ModItems.BULLET_ITEM.get(), 64);
+            player.getInventory().setItem(9, bullets);
+            shooters.add(player);
+            ammo.add(bullets);
+        }
+        helper.onEachTick(() -> {
+            for (int i = 0; i < shooters.size(); i++) {
+                ServerPlayer player = shooters.get(i);
+                ammo.get(i).setCount(64);
+                player.getMainHandItem().use(helper.getLevel(), player, InteractionHand.MAIN_HAND);
+            }
+        });
+        checkBudget(helper, "players firing guns", GUN_BUDGET_MS, () -> removePlayers(helper, shooters));
+    }
+
+    @GameTest(template = ARENA, batch = "load_spears", timeoutTicks = TIMEOUT)
+    public static void stuckSpearField(GameTestHelper helper) {
+        for (int i = 0; i < SPEARS; i++) {
+            SpearEntity spear = new SpearEntity(ModEntities.SPEAR.get(), helper.getLevel());
+            Vec3 pos = helper.absoluteVec(new Vec3(1.5 + i % 45, 4, 1.5 + (i / 45) * 2));
+            spear.setPos(pos.x, pos.y, pos.z);
+            spear.setDeltaMovement(0, -1.5, 0);
+            helper.getLevel().addFreshEntity(spear);
+        }
+        checkBudget(helper, "stuck spear field", SPEAR_BUDGET_MS, helper::killAllEntities);
+    }
+
+    //the same stone is turned back every tick so each use has something to transmute
+    @GameTest(template = ARENA, batch = "load_magic_blade", timeoutTicks = TIMEOUT)
+    public static void massMagicBladeUse(GameTestHelper helper) {
+        ServerPlayer player = placePlayer(helper, new Vec3(ARENA_SIZE / 2.0, 1, ARENA_SIZE / 2.0));
+        player.setItemInHand(InteractionHand.MAIN_HAND, new ItemStack(ModItems.MAGIC_BLADE.get()));
+        List<BlockPos> targets = new ArrayList<>();
+        for (int i = 0; i < BLADE_USES_PER_TICK; i++) {
+            targets.add(new BlockPos(4 + (i % 8) * 5, 1, 4 + (i / 8) * 5));
+        }
+        helper.onEachTick(() -> {
+            for (BlockPos target : targets) {
+                helper.setBlock(target, Blocks.STONE);
+                BlockPos absolute = helper.absolutePos(target);
+                BlockHitResult hit = new BlockHitResult(Vec3.atCenterOf(absolute), Direction.UP, absolute, false);
+                player.getMainHandItem().useOn(new UseOnContext(player, InteractionHand.MAIN_HAND, hit));
+            }
+        });
+        checkBudget(helper, "mass magic blade use", BLADE_BUDGET_MS, () -> removePlayers(helper, List.of(player)));
+    }
+
+    private static void checkBudget(GameTestHelper helper, String scenario, double budgetMillis, Runnable cleanup) {
+        helper.runAfterDelay(WARMUP_TICKS + MEASURE_TICKS, () -> {
+            double mspt = helper.getLevel().getServer().getAverageTickTimeNanos() / 1.0E6;
+            double budget = budgetMillis * BUDGET_SCALE;
+            cleanup.run();
+            LOGGER.info("Load test {}: {} ms per tick, budget {} ms", scenario, String.format("%.2f", mspt), budget);
+            if (mspt > budget) {
+                helper.fail(scenario + " took " + String.format("%.2f", mspt) + " ms per tick, the budget is " + budget + " ms");
+            }
+            helper.succeed();
+        });
+    }
+
+    private static void buildWall(GameTestHelper helper) {
+        for (int i = 0; i < ARENA_SIZE; i++) {
+            for (int y = 1; y <= 2; y++) {
+                helper.setBlock(i, y, 0, Blocks.STONE_BRICKS);
+                helper.setBlock(i, y, ARENA_SIZE - 1, Blocks.STONE_BRICKS);
+                helper.setBlock(0, y, i, Blocks.STONE_BRICKS);
+                helper.setBlock(ARENA_SIZE - 1, y, i, Blocks.STONE_BRICKS);
+            }
+        }
+    }
+
+    //facing into the arena and a little down so the bullets land on the floor
+    static ServerPlayer placePlayer(GameTestHelper helper, Vec3 relative) {
+        ServerPlayer player = helper.makeMockServerPlayerInLevel();
+        Vec3 pos = helper.absoluteVec(relative);
+        player.moveTo(pos.x, pos.y, pos.z, 0.0F, 5.0F);
+        return player;
+    }
+
+    static void removePlayers(GameTestHelper helper, List<ServerPlayer> players) {
+        for (ServerPlayer player : players) {
+            helper.getLevel().getServer().getPlayerList().remove(player);
+        }
+        helper.killAllEntities();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.rubymod.items;
 
 import com.example.rubymod.RubyMod;
+import com.example.rubymod.benchmark.StartupProfiler;
 import net.minecraft.Util;
 import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
@@ -49,17 +50,19 @@ public class ModArmorMaterials {
     private static Holder<ArmorMaterial> register(String name, EnumMap<ArmorItem.Type, Integer> typeProtection,
                                                   int enchantability, float toughness, float knockbackResistance,
                                                   Supplier<Item> ingredientItem) {
-        ResourceLocation location = ResourceLocation.fromNamespaceAndPath(RubyMod.MODID, name);
-        Holder<SoundEvent> equipSound = SoundEvents.ARMOR_EQUIP_NETHERITE;
-        Supplier<Ingredient> ingredient = () -> Ingredient.of(ingredientItem.get());
-        List<ArmorMaterial.Layer> layers = List.of(new ArmorMaterial.Layer(location));
+        try (var span = StartupProfiler.begin("armor material " + name)) {
+            ResourceLocation location = ResourceLocation.fromNamespaceAndPath(RubyMod.MODID, name);
+            Holder<SoundEvent> equipSound = SoundEvents.ARMOR_EQUIP_NETHERITE;
+            Supplier<Ingredient> ingredient = () -> Ingredient.of(ingredientItem.get());
+            List<ArmorMaterial.Layer> layers = List.of(new ArmorMaterial.Layer(location));
 
-        EnumMap<ArmorItem.Type, Integer> typeMap = new EnumMap<>(ArmorItem.Type.class);
-        for (ArmorItem.Type type : ArmorItem.Type.values()) {
-            typeMap.put(type, typeProtection.get(type));
-        }
+            EnumMap<ArmorItem.Type, Integer> typeMap = new EnumMap<>(ArmorItem.Type.class);
+            for (ArmorItem.Type type : ArmorItem.Type.values()) {
+                typeMap.put(type, typeProtection.get(type));
+            }
 
-        return Registry.registerForHolder(BuiltInRegistries.ARMOR_MATERIAL, location,
-                new ArmorMaterial(typeProtection, enchantability, equipSound, ingredient, layers, toughness, knockbackResistance));
+            return Registry.registerForHolder(BuiltInRegistries.ARMOR_MATERIAL, location,
+                    new ArmorMaterial(typeProtection, enchantability, equipSound, ingredient, layers, toughness, knockbackResistance));
+        }
     }
 }
\ No newline at end of file
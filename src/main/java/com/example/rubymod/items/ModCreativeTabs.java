@@ -66,6 +66,12 @@ public class ModCreativeTabs {
             .displayItems((itemDisplayParameters, output)->{
                 output.accept(ModBlocks.RUBY_BLOCK.get());
                 output.accept(ModBlocks.RUBY_ORE.get());
+                output.accept(ModBlocks.BUDDING_RUBY.get());
+                output.accept(ModBlocks.SMALL_RUBY_BUD.get());
+                output.accept(ModBlocks.MEDIUM_RUBY_BUD.get());
+                output.accept(ModBlocks.LARGE_RUBY_BUD.get());
+                output.accept(ModBlocks.RUBY_CLUSTER.get());
+                output.accept(ModBlocks.RUBY_FURNACE.get());
             }).build());
 
     public static void register(IEventBus eventBus){
@@ -2,6 +2,7 @@ package com.example.rubymod.items;
 
 import com.example.rubymod.RubyMod;
 import com.example.rubymod.entity.ModEntities;
+import com.example.rubymod.items.custom_items.AreaPickaxe;
 import com.example.rubymod.items.custom_items.MagicBlade;
 import com.example.rubymod.items.custom_items.HealItem;
 import com.example.rubymod.items.custom_items.Gun;
@@ -29,7 +30,7 @@ public class ModItems{
     public static final RegistryObject<Item> RUBY_SWORD = ITEMS.register("ruby_sword", () -> new SwordItem(ModToolTiers.RUBY, new Item.Properties()
     .attributes(SwordItem.createAttributes(ModToolTiers.RUBY, 8, -2.4f))));
     
-    public static final RegistryObject<Item> RUBY_PICKAXE = ITEMS.register("ruby_pickaxe", () -> new PickaxeItem(ModToolTiers.RUBY, new Item.Properties()
+    public static final RegistryObject<Item> RUBY_PICKAXE = ITEMS.register("ruby_pickaxe", () -> new AreaPickaxe(ModToolTiers.RUBY, new Item.Properties()
     .attributes(PickaxeItem.createAttributes(ModToolTiers.RUBY, 3, -2.5f))));
     
     public static final RegistryObject<Item> RUBY_AXE = ITEMS.register("ruby_axe", () -> new AxeItem(ModToolTiers.RUBY, new Item.Properties()
@@ -50,7 +51,7 @@ public class ModItems{
     public static final RegistryObject<Item> EMERALD_SWORD = ITEMS.register("emerald_sword", () -> new SwordItem(ModToolTiers.EMERALD, new Item.Properties()
     .attributes(SwordItem.createAttributes(ModToolTiers.EMERALD, 23, -1.4f))));
     
-    public static final RegistryObject<Item> EMERALD_PICKAXE = ITEMS.register("emerald_pickaxe", () -> new PickaxeItem(ModToolTiers.EMERALD, new Item.Properties()
+    public static final RegistryObject<Item> EMERALD_PICKAXE = ITEMS.register("emerald_pickaxe", () -> new AreaPickaxe(ModToolTiers.EMERALD, new Item.Properties()
     .attributes(PickaxeItem.createAttributes(ModToolTiers.EMERALD, 3, -2.5f))));
     
     public static final RegistryObject<Item> EMERALD_AXE = ITEMS.register("emerald_axe", () -> new AxeItem(ModToolTiers.EMERALD, new Item.Properties()
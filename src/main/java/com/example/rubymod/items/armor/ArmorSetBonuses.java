@@ -0,0 +1,61 @@
+package com.example.rubymod.items.armor;
+
+import com.example.rubymod.RubyMod;
+
+import net.minecraft.tags.DamageTypeTags;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.event.entity.living.LivingHurtEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+//keeps the set bonus mask of an entity up to date. It is only recomputed when an armor slot changes,
+//between changes a bonus costs nothing: attributes apply themselves and the hurt handler reads one int
+@Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class ArmorSetBonuses {
+    //damage taken from fire while wearing the full ruby set
+    private static final float RUBY_FIRE_DAMAGE = 0.5F;
+
+    public static void registerCapability(RegisterCapabilitiesEvent event) {
+        event.register(SetBonusState.class);
+    }
+
+    @SubscribeEvent
+    public static void onAttachCapabilities(AttachCapabilitiesEvent<Entity> event) {
+        if (event.getObject() instanceof LivingEntity) {
+            event.addCapability(SetBonusState.ID, new SetBonusState.Provider());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        LivingEntity entity = event.getEntity();
+        if (!event.getSlot().isArmor() || entity.level().isClientSide()) {
+            return;
+        }
+        SetBonusState state = entity.getCapability(SetBonusState.CAPABILITY).orElse(null);
+        if (state == null) {
+            return;
+        }
+        int mask = SetBonus.compute(entity);
+        if (mask != state.getMask()) {
+            SetBonus.update(entity, state.getMask(), mask);
+            state.setMask(mask);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onHurt(LivingHurtEvent event) {
+        if (event.getSource().is(DamageTypeTags.IS_FIRE) && SetBonus.RUBY.isIn(mask(event.getEntity()))) {
+            event.setAmount(event.getAmount() * RUBY_FIRE_DAMAGE);
+        }
+    }
+
+    public static int mask(LivingEntity entity) {
+        SetBonusState state = entity.getCapability(SetBonusState.CAPABILITY).orElse(null);
+        return state != null ? state.getMask() : 0;
+    }
+}
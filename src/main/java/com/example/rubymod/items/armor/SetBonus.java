@@ -0,0 +1,89 @@
+package com.example.rubymod.items.armor;
+
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.items.ModArmorMaterials;
+
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraft.world.item.ArmorItem;
+import net.minecraft.world.item.ArmorMaterial;
+import net.minecraft.world.item.Item;
+
+//what a full set of one armor material gives on top of its pieces.
+//the attribute part is a transient modifier added when the set is completed and removed when it breaks,
+//fire protection is looked up by the damage handler from the cached mask
+public enum SetBonus {
+    //burns half as long and takes half the fire damage
+    RUBY(ModArmorMaterials.RUBY_ARMOR_MATERIAL, Attributes.BURNING_TIME, -0.5, AttributeModifier.Operation.ADD_MULTIPLIED_TOTAL),
+    //breaks blocks a quarter faster, like a level of haste without the effect icon
+    EMERALD(ModArmorMaterials.EMERALD_ARMOR_MATERIAL, Attributes.BLOCK_BREAK_SPEED, 0.25, AttributeModifier.Operation.ADD_MULTIPLIED_BASE),
+    COPPER(ModArmorMaterials.COPPER_ARMOR_MATERIAL, Attributes.KNOCKBACK_RESISTANCE, 0.25, AttributeModifier.Operation.ADD_VALUE);
+
+    private static final SetBonus[] VALUES = values();
+    private static final EquipmentSlot[] ARMOR_SLOTS = {EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET};
+
+    private final Holder<ArmorMaterial> material;
+    private final Holder<Attribute> attribute;
+    private final AttributeModifier modifier;
+
+    SetBonus(Holder<ArmorMaterial> material, Holder<Attribute> attribute, double amount, AttributeModifier.Operation operation) {
+        this.material = material;
+        this.attribute = attribute;
+        this.modifier = new AttributeModifier(ResourceLocation.fromNamespaceAndPath(RubyMod.MODID,
+                this.name().toLowerCase() + "_set_bonus"), amount, operation);
+    }
+
+    public int bit() {
+        return 1 << this.ordinal();
+    }
+
+    public boolean isIn(int mask) {
+        return (mask & this.bit()) != 0;
+    }
+
+    //the sets worn right now, four slot reads, only done when a slot changed
+    public static int compute(LivingEntity entity) {
+        Holder<ArmorMaterial> material = null;
+        for (EquipmentSlot slot : ARMOR_SLOTS) {
+            Item item = entity.getItemBySlot(slot).getItem();
+            if (!(item instanceof ArmorItem armor) || (material != null && armor.getMaterial() != material)) {
+                return 0;
+            }
+            material = armor.getMaterial();
+        }
+        for (SetBonus bonus : VALUES) {
+            if (bonus.material == material) {
+                return bonus.bit();
+            }
+        }
+        return 0;
+    }
+
+    //adds the bonuses of the sets that were completed and removes the ones that broke
+    public static void update(LivingEntity entity, int oldMask, int newMask) {
+        for (SetBonus bonus : VALUES) {
+            if (bonus.isIn(oldMask) == bonus.isIn(newMask)) {
+                continue;
+            }
+            //not every entity has every attribute, a zombie has no block break speed
+            AttributeInstance instance = entity.getAttribute(bonus.attribute);
+            if (instance == null) {
+                continue;
+            }
+            //transient, the mask is not saved either and both are rebuilt when the armor is seen again after loading
+            if (bonus.isIn(newMask)) {
+                if (!instance.hasModifier(bonus.modifier.id())) {
+                    instance.addTransientModifier(bonus.modifier);
+                }
+            } else {
+                instance.removeModifier(bonus.modifier.id());
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.rubymod.items.armor;
+
+import com.example.rubymod.RubyMod;
+
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.common.util.LazyOptional;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+//the set bonus bitmask attached to every living entity, one bit per SetBonus
+public class SetBonusState {
+    public static final Capability<SetBonusState> CAPABILITY = CapabilityManager.get(new CapabilityToken<>() {});
+    public static final ResourceLocation ID = ResourceLocation.fromNamespaceAndPath(RubyMod.MODID, "set_bonus");
+
+    private int mask;
+
+    public int getMask() {
+        return this.mask;
+    }
+
+    void setMask(int mask) {
+        this.mask = mask;
+    }
+
+    //not serialized, a loaded entity reports its armor as a change on its first tick and the mask is rebuilt from that
+    static class Provider implements ICapabilityProvider {
+        private final LazyOptional<SetBonusState> state = LazyOptional.of(SetBonusState::new);
+
+        @Override
+        public <T> @NotNull LazyOptional<T> getCapability(@NotNull Capability<T> capability, @Nullable Direction side) {
+            return CAPABILITY.orEmpty(capability, this.state);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.rubymod.items.custom_items;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+//finds the slot a weapon takes its ammo from, kept free of game classes so it can be benchmarked on its own
+public class AmmoSearch {
+    //index of the first slot holding ammo, -1 when there is none
+    public static <T> int find(List<T> slots, Predicate<? super T> isAmmo) {
+        for (int i = 0; i < slots.size(); i++) {
+            if (isAmmo.test(slots.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
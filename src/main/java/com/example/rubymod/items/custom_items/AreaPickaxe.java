@@ -0,0 +1,141 @@
+package com.example.rubymod.items.custom_items;
+
+import com.example.rubymod.Config;
+import com.example.rubymod.util.ModTags;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.InteractionResultHolder;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.PickaxeItem;
+import net.minecraft.world.item.Tier;
+import net.minecraft.world.item.TooltipFlag;
+import net.minecraft.world.item.component.CustomData;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+//a pickaxe that can mine more than one block at a time. Sneak and use it to switch between
+//normal, a 3x3 hammer facing the player and following an ore vein.
+//the extra blocks are broken as one MiningBatch after the block the player mined
+public class AreaPickaxe extends PickaxeItem {
+    private static final String MODE_KEY = "rubymod_mining_mode";
+    private static final Mode[] MODES = Mode.values();
+
+    public enum Mode {
+        NORMAL, HAMMER, VEIN;
+
+        public String translationKey() {
+            return "item.rubymod.area_pickaxe.mode." + this.name().toLowerCase();
+        }
+    }
+
+    public AreaPickaxe(Tier tier, Properties properties) {
+        super(tier, properties);
+    }
+
+    public static Mode getMode(ItemStack stack) {
+        CustomData data = stack.get(DataComponents.CUSTOM_DATA);
+        if (data == null) {
+            return Mode.NORMAL;
+        }
+        int mode = data.copyTag().getByte(MODE_KEY);
+        return mode >= 0 && mode < MODES.length ? MODES[mode] : Mode.NORMAL;
+    }
+
+    @Override
+    public InteractionResultHolder<ItemStack> use(Level level, Player player, InteractionHand hand) {
+        ItemStack stack = player.getItemInHand(hand);
+        if (!player.isShiftKeyDown()) {
+            return InteractionResultHolder.pass(stack);
+        }
+        if (!level.isClientSide()) {
+            Mode next = MODES[(getMode(stack).ordinal() + 1) % MODES.length];
+            CustomData.update(DataComponents.CUSTOM_DATA, stack, tag -> tag.putByte(MODE_KEY, (byte) next.ordinal()));
+            player.displayClientMessage(Component.translatable(next.translationKey()), true);
+        }
+        return InteractionResultHolder.sidedSuccess(stack, level.isClientSide());
+    }
+
+    //runs after the player broke the block at pos and before its drops spawn, the durability charge of that block
+    //pays for the whole batch. Sneaking mines a single block whatever the mode
+    @Override
+    public boolean mineBlock(ItemStack stack, Level level, BlockState state, BlockPos pos, LivingEntity miner) {
+        Mode mode = getMode(stack);
+        if (mode != Mode.NORMAL && level instanceof ServerLevel serverLevel && miner instanceof ServerPlayer player
+                && !player.isShiftKeyDown() && this.isCorrectToolForDrops(stack, state)) {
+            List<BlockPos> targets = mode == Mode.HAMMER ? hammerTargets(player, pos)
+                    : veinTargets(serverLevel, state, pos, Config.values().veinMineLimit() - 1);
+            if (!targets.isEmpty()) {
+                new MiningBatch(serverLevel, player, stack, pos, state).breakAll(targets);
+            }
+        }
+        return super.mineBlock(stack, level, state, pos, miner);
+    }
+
+    //the 8 blocks around pos in the plane the player is looking into
+    private static List<BlockPos> hammerTargets(Player player, BlockPos pos) {
+        Direction.Axis axis = Direction.orderedByNearest(player)[0].getAxis();
+        List<BlockPos> targets = new ArrayList<>(8);
+        for (int a = -1; a <= 1; a++) {
+            for (int b = -1; b <= 1; b++) {
+                if (a == 0 && b == 0) {
+                    continue;
+                }
+                targets.add(switch (axis) {
+                    case X -> pos.offset(0, a, b);
+                    case Y -> pos.offset(a, 0, b);
+                    case Z -> pos.offset(a, b, 0);
+                });
+            }
+        }
+        return targets;
+    }
+
+    //blocks of the same kind touching pos, corners included, nearest first
+    private static List<BlockPos> veinTargets(ServerLevel level, BlockState state, BlockPos pos, int limit) {
+        List<BlockPos> found = new ArrayList<>();
+        if (!state.is(ModTags.Blocks.VEIN_MINEABLE) || limit <= 0) {
+            return found;
+        }
+        Set<BlockPos> seen = new HashSet<>();
+        seen.add(pos);
+        ArrayDeque<BlockPos> queue = new ArrayDeque<>();
+        queue.add(pos);
+        while (!queue.isEmpty() && found.size() < limit) {
+            BlockPos current = queue.poll();
+            for (BlockPos next : BlockPos.betweenClosed(current.offset(-1, -1, -1), current.offset(1, 1, 1))) {
+                if (found.size() >= limit) {
+                    break;
+                }
+                //betweenClosed reuses one mutable position
+                if (!seen.contains(next) && level.isLoaded(next) && level.getBlockState(next).is(state.getBlock())) {
+                    BlockPos immutable = next.immutable();
+                    seen.add(immutable);
+                    found.add(immutable);
+                    queue.add(immutable);
+                }
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void appendHoverText(ItemStack stack, TooltipContext context, List<Component> tooltip, TooltipFlag flag) {
+        super.appendHoverText(stack, context, tooltip, flag);
+        tooltip.add(Component.translatable(getMode(stack).translationKey()).withStyle(ChatFormatting.GRAY));
+    }
+}
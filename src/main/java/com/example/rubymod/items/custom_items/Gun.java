@@ -9,11 +9,22 @@ import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResultHolder;
 import net.minecraft.world.level.Level;
 
+import java.util.function.Predicate;
+
+import com.example.rubymod.Config;
 import com.example.rubymod.entity.ModEntities;
 import com.example.rubymod.items.ModItems;
+import com.example.rubymod.metrics.ModMetrics;
+import com.example.rubymod.network.ModEffects;
 import com.example.rubymod.entity.custom.BulletEntity;
 
 public class Gun extends Item {
+    private static final Predicate<ItemStack> IS_AMMO = stack -> stack.is(ModItems.BULLET_ITEM.get());
+
+    //the projectile copies the stack it is given, so one stack serves every shot.
+    //made on first use, the ammo item may not be registered yet when this item is created
+    private ItemStack ammoTemplate = ItemStack.EMPTY;
+
     public Gun(Properties properties) {
         super(properties);
     }
@@ -21,31 +32,35 @@ public class Gun extends Item {
     @Override
     public InteractionResultHolder<ItemStack> use(Level world, Player player, InteractionHand hand) {
         ItemStack stack = player.getItemInHand(hand);
-        ItemStack ammo = new ItemStack(ModItems.BULLET_ITEM.get());
-        if(!getAmmo(player).isEmpty()){
+        //one pass over the inventory, the slot is reused when the shot is fired
+        int ammoSlot = AmmoSearch.find(player.getInventory().items, IS_AMMO);
+        if(ammoSlot >= 0){
 
             if (!world.isClientSide) { // Server-side execution
-                ItemStack bullets=getAmmo(player);
-                BulletEntity bullet = new BulletEntity(ModEntities.BULLET.get(),world, player,ammo);
+                ItemStack bullets=player.getInventory().items.get(ammoSlot);
+                BulletEntity bullet = new BulletEntity(ModEntities.BULLET.get(),world, player,this.ammoTemplate());
                 bullet.shootFromRotation(player, player.getXRot(), player.getYRot(), 0.0F, 3.0F, 1.0F);
                 world.addFreshEntity(bullet);
                 bullets.shrink(1);
+                ModMetrics.GUN_USES.increment();
+                int cooldown = Config.values().gunCooldownTicks();
+                if (cooldown > 0) {
+                    player.getCooldowns().addCooldown(this, cooldown);
+                }
             }
             return InteractionResultHolder.sidedSuccess(stack, world.isClientSide());
         }else {
             // Play empty gun click sound
-            world.playSound(player, player.getX(), player.getY(), player.getZ(), SoundEvents.DISPENSER_FAIL, SoundSource.PLAYERS, 1.0F, 1.0F);
+            ModEffects.playSound(world, player, player.getX(), player.getY(), player.getZ(), SoundEvents.DISPENSER_FAIL, SoundSource.PLAYERS, 1.0F, 1.0F);
             return InteractionResultHolder.fail(stack);
         }
         
     }
 
-    private ItemStack getAmmo(Player player) {
-        for (ItemStack itemStack : player.getInventory().items) {
-            if (itemStack.getItem() == ModItems.BULLET_ITEM.get()) {
-                return itemStack;
-            }
+    private ItemStack ammoTemplate() {
+        if (this.ammoTemplate.isEmpty()) {
+            this.ammoTemplate = new ItemStack(ModItems.BULLET_ITEM.get());
         }
-        return ItemStack.EMPTY;
+        return this.ammoTemplate;
     }
 }
@@ -1,5 +1,8 @@
 package com.example.rubymod.items.custom_items;
 
+import com.example.rubymod.metrics.ModMetrics;
+import com.example.rubymod.network.ModEffects;
+
 import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.server.level.ServerLevel;
@@ -24,7 +27,8 @@ public class HealItem extends Item{
             //heals the player
             player.heal(2);
             pContext.getItemInHand().hurtAndBreak(1, ((ServerLevel)level), ((ServerPlayer)pContext.getPlayer()), item -> pContext.getPlayer().onEquippedItemBroken(item, EquipmentSlot.MAINHAND));
-            level.playSound(null, player.getX(), player.getY(), player.getZ(), SoundEvents.PLAYER_LEVELUP, SoundSource.PLAYERS, 1.0F, 1.0F);
+            ModEffects.playSound(level, null, player.getX(), player.getY(), player.getZ(), SoundEvents.PLAYER_LEVELUP, SoundSource.PLAYERS, 1.0F, 1.0F);
+            ModMetrics.HEAL_USES.increment();
         }
         
        
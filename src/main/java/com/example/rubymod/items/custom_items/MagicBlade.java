@@ -1,9 +1,11 @@
 package com.example.rubymod.items.custom_items;
 
 import java.util.Map;
-import java.util.Random;
 import com.example.rubymod.RubyMod;
 import com.example.rubymod.blocks.ModBlocks;
+import com.example.rubymod.metrics.ModMetrics;
+import com.example.rubymod.network.ModEffects;
+import com.example.rubymod.worldgen.index.RubyOreIndex;
 
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
@@ -20,10 +22,6 @@ import net.minecraft.world.level.block.Blocks;
 
 public class MagicBlade extends Item{
    
-    private static final Map<Block, Integer[]> MAGIC_BLADE_MAP = Map.of(
-        Blocks.STONE, new Integer[]{15, 26, 36, 48, 70, 80, 90, 100}//posibilities of each ore to appear
-    );
-    
     private static final Block[] STONE_REPLACEMENTS = new Block[]{
         Blocks.COAL_ORE,
         Blocks.IRON_ORE,
@@ -34,47 +32,35 @@ public class MagicBlade extends Item{
         Blocks.EMERALD_ORE,
         ModBlocks.RUBY_ORE.get()
     };
-    
 
+    private static final Map<Block, TransmutationTable<Block>> MAGIC_BLADE_MAP = Map.of(
+        Blocks.STONE, new TransmutationTable<>(new int[]{15, 26, 36, 48, 70, 80, 90, 100}, STONE_REPLACEMENTS)//posibilities of each ore to appear
+    );
+    
     public MagicBlade(Properties p){
         super(p);
     }
     
     @Override
     public InteractionResult useOn(UseOnContext pContext){
-        Random rand=new Random();
-        int r=rand.nextInt(100);
         Level level=pContext.getLevel();
+        int r=level.getRandom().nextInt(100);
         //takes the clicked object
         Block BlockClicked =  level.getBlockState(pContext.getClickedPos()).getBlock();//getNearbyPlayers
-        if(MAGIC_BLADE_MAP.containsKey(BlockClicked)){
-            
-                //takes the inner array
-                Integer[] pos = MAGIC_BLADE_MAP.get(BlockClicked); // The inner map
-                
-                
-                
-                for (int i=0;i<pos.length;i++) {
-
-                    
-                    //System.out.println(r+" "+pos[i]+" Is True? "+(r<pos[i]));//for debuging
-                    if(r<pos[i]){
-                        if(!level.isClientSide()){
-                            level.setBlockAndUpdate(pContext.getClickedPos(),STONE_REPLACEMENTS[i].defaultBlockState());
-                            pContext.getItemInHand().hurtAndBreak(1, ((ServerLevel)level), ((ServerPlayer)pContext.getPlayer()), item -> pContext.getPlayer().onEquippedItemBroken(item, EquipmentSlot.MAINHAND));
-                            level.playSound(null, pContext.getClickedPos(), SoundEvents.GRINDSTONE_USE, SoundSource.BLOCKS);
-                            
-                        }
-                        break;
-                    }
-                    
-                    
-                    
+        TransmutationTable<Block> table = MAGIC_BLADE_MAP.get(BlockClicked);
+        if(table != null){
+            Block replacement = table.select(r);
+            if(replacement != null && !level.isClientSide()){
+                level.setBlockAndUpdate(pContext.getClickedPos(),replacement.defaultBlockState());
+                if(replacement == ModBlocks.RUBY_ORE.get()){
+                    RubyOreIndex.get((ServerLevel)level).add(pContext.getClickedPos());//so locate finds it too
                 }
+                pContext.getItemInHand().hurtAndBreak(1, ((ServerLevel)level), ((ServerPlayer)pContext.getPlayer()), item -> pContext.getPlayer().onEquippedItemBroken(item, EquipmentSlot.MAINHAND));
+                ModEffects.playSound(level, null, pContext.getClickedPos(), SoundEvents.GRINDSTONE_USE, SoundSource.BLOCKS);
+                ModMetrics.MAGIC_BLADE_USES.increment();
             }
+        }
 
-        
-            
          return InteractionResult.SUCCESS;
     }
 }
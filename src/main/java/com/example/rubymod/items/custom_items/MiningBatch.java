@@ -0,0 +1,143 @@
+package com.example.rubymod.items.custom_items;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.stats.Stats;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.level.BlockEvent;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+//breaks a group of blocks for a player as one operation.
+//every block still goes through the break event so protection mods can refuse it, but then:
+//- the blocks are removed without neighbor updates, and only the blocks around the hole get one update afterwards
+//- the client gets the changes as one packet per chunk section, which the chunk map does for changes in one tick
+//- the drops are merged into as few stacks as possible and put in the inventory, the rest drops as one item per stack
+//- the experience goes straight to the player instead of one orb per block
+//blocks that take much longer to mine than the one the player broke are left alone,
+//and a player in creative gets no drops and no experience like with a normal break
+public class MiningBatch {
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+    //the flags of Level.setBlock: tell clients, skip the neighbor shape updates that are done once at the end
+    private static final int REMOVE_FLAGS = Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE;
+    //a target may take up to this many times as long to mine as the origin block, so stone breaks obsidian no more
+    private static final float MAX_SLOWDOWN = 4.0F;
+
+    private final ServerLevel level;
+    private final ServerPlayer player;
+    private final ItemStack tool;
+    private final BlockPos origin;
+    private final float originProgress;
+    private final boolean instabuild;
+    private final List<ItemStack> drops = new ArrayList<>();
+    private int experience;
+
+    //originState is the block the player mined, it is already gone from the level when the batch is made
+    public MiningBatch(ServerLevel level, ServerPlayer player, ItemStack tool, BlockPos origin, BlockState originState) {
+        this.level = level;
+        this.player = player;
+        this.tool = tool;
+        this.origin = origin;
+        this.originProgress = originState.getDestroyProgress(player, level, origin);
+        this.instabuild = player.getAbilities().instabuild;
+    }
+
+    public void breakAll(List<BlockPos> targets) {
+        Set<BlockPos> broken = new HashSet<>();
+        for (BlockPos pos : targets) {
+            if (this.breakOne(pos)) {
+                broken.add(pos);
+            }
+        }
+        if (broken.isEmpty()) {
+            return;
+        }
+        //the block the player mined is part of the hole too
+        broken.add(this.origin);
+        for (BlockPos pos : broken) {
+            this.updateAround(pos, broken);
+        }
+        this.deliver();
+    }
+
+    private boolean breakOne(BlockPos pos) {
+        BlockState state = this.level.getBlockState(pos);
+        //blocks with contents and unbreakable blocks are left for a normal break
+        if (state.isAir() || state.hasBlockEntity() || state.getDestroySpeed(this.level, pos) < 0
+                || !this.tool.isCorrectToolForDrops(state) || !this.player.mayInteract(this.level, pos)) {
+            return false;
+        }
+        if (state.getDestroyProgress(this.player, this.level, pos) * MAX_SLOWDOWN < this.originProgress) {
+            return false;
+        }
+        BlockEvent.BreakEvent event = new BlockEvent.BreakEvent(this.level, pos, state, this.player);
+        if (MinecraftForge.EVENT_BUS.post(event)) {
+            return false;
+        }
+        this.level.setBlock(pos, AIR, REMOVE_FLAGS);
+        if (this.instabuild) {
+            return true;
+        }
+        for (ItemStack drop : Block.getDrops(state, this.level, pos, null, this.player, this.tool)) {
+            this.merge(drop);
+        }
+        this.experience += event.getExpToDrop();
+        //silverfish out of infested stone and the like, the experience is handled above
+        state.spawnAfterBreak(this.level, pos, this.tool, false);
+        this.player.awardStat(Stats.BLOCK_MINED.get(state.getBlock()));
+        this.player.causeFoodExhaustion(0.005F);
+        return true;
+    }
+
+    //a neighbor that was broken as well needs nothing, it is air now like this block
+    private void updateAround(BlockPos pos, Set<BlockPos> broken) {
+        BlockPos.MutableBlockPos neighbor = new BlockPos.MutableBlockPos();
+        for (Direction direction : Direction.values()) {
+            neighbor.setWithOffset(pos, direction);
+            if (broken.contains(neighbor)) {
+                continue;
+            }
+            BlockState state = this.level.getBlockState(neighbor);
+            BlockState updated = state.updateShape(direction.getOpposite(), AIR, this.level, neighbor, pos);
+            Block.updateOrDestroy(state, updated, this.level, neighbor, Block.UPDATE_ALL);
+            this.level.neighborChanged(neighbor, Blocks.AIR, pos);
+        }
+    }
+
+    private void merge(ItemStack drop) {
+        for (ItemStack stack : this.drops) {
+            if (ItemStack.isSameItemSameComponents(stack, drop) && stack.getCount() < stack.getMaxStackSize()) {
+                int moved = Math.min(drop.getCount(), stack.getMaxStackSize() - stack.getCount());
+                stack.grow(moved);
+                drop.shrink(moved);
+                if (drop.isEmpty()) {
+                    return;
+                }
+            }
+        }
+        if (!drop.isEmpty()) {
+            this.drops.add(drop);
+        }
+    }
+
+    private void deliver() {
+        for (ItemStack stack : this.drops) {
+            this.player.getInventory().add(stack);
+            if (!stack.isEmpty()) {
+                Block.popResource(this.level, this.origin, stack);
+            }
+        }
+        if (this.experience > 0) {
+            this.player.giveExperiencePoints(this.experience);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.rubymod.items.custom_items;
+
+//picks what a block turns into from cumulative chances out of 100,
+//{15, 26, 100} means the first result below 15, the second below 26 and the last for everything else
+public class TransmutationTable<T> {
+    private final int[] thresholds;
+    private final T[] results;
+
+    public TransmutationTable(int[] thresholds, T[] results) {
+        if (thresholds.length != results.length) {
+            throw new IllegalArgumentException("Every threshold needs a result");
+        }
+        this.thresholds = thresholds.clone();
+        this.results = results.clone();
+    }
+
+    //roll is between 0 and 99, null when it is above the last threshold
+    public T select(int roll) {
+        for (int i = 0; i < this.thresholds.length; i++) {
+            if (roll < this.thresholds[i]) {
+                return this.results[i];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.rubymod.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//a small registry of counters, gauges and histograms that can be written in the prometheus text format.
+//every metric is made of LongAdders so the game threads only add to a striped cell,
+//the exporter thread sums them up when it is scraped
+public class Metrics {
+    //upper bounds in seconds for timing a tick handler, from 10 microseconds to a whole tick
+    public static final double[] TICK_BUCKETS = {0.00001, 0.00005, 0.0001, 0.0005, 0.001, 0.002, 0.005, 0.01, 0.025, 0.05};
+    private static final Map<String, Family> FAMILIES = new ConcurrentSkipListMap<>();
+
+    //labels are given as name, value, name, value...
+    public static Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, "counter").metrics.computeIfAbsent(labelText(labels), l -> new Counter(1.0));
+    }
+
+    //counts nanoseconds and is written as seconds
+    public static Counter nanosCounter(String name, String help, String... labels) {
+        return (Counter) family(name, help, "counter").metrics.computeIfAbsent(labelText(labels), l -> new Counter(1.0E-9));
+    }
+
+    public static Gauge gauge(String name, String help, String... labels) {
+        return (Gauge) family(name, help, "gauge").metrics.computeIfAbsent(labelText(labels), l -> new Gauge());
+    }
+
+    public static Histogram histogram(String name, String help, double[] buckets, String... labels) {
+        return (Histogram) family(name, help, "histogram").metrics.computeIfAbsent(labelText(labels), l -> new Histogram(buckets));
+    }
+
+    private static Family family(String name, String help, String type) {
+        Family family = FAMILIES.computeIfAbsent(name, n -> new Family(help, type));
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException("Metric " + name + " is already a " + family.type);
+        }
+        return family;
+    }
+
+    private static String labelText(String... labels) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (!text.isEmpty()) {
+                text.append(',');
+            }
+            text.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        return text.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    //prometheus text exposition format 0.0.4
+    public static String write() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, Family> entry : FAMILIES.entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            out.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(family.type).append('\n');
+            for (Map.Entry<String, Metric> metric : family.metrics.entrySet()) {
+                metric.getValue().write(out, name, metric.getKey());
+            }
+        }
+        return out.toString();
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(number(value)).append('\n');
+    }
+
+    private static String number(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static class Family {
+        private final String help;
+        private final String type;
+        private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+        private Family(String help, String type) {
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    private interface Metric {
+        void write(StringBuilder out, String name, String labels);
+    }
+
+    public static class Counter implements Metric {
+        private final LongAdder value = new LongAdder();
+        private final double scale;
+
+        private Counter(double scale) {
+            this.scale = scale;
+        }
+
+        public void increment() {
+            this.value.increment();
+        }
+
+        public void add(long amount) {
+            this.value.add(amount);
+        }
+
+        public long get() {
+            return this.value.sum();
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            sample(out, name, labels, this.value.sum() * this.scale);
+        }
+    }
+
+    //a value that goes up and down, like the number of loaded entities
+    public static class Gauge implements Metric {
+        private final LongAdder value = new LongAdder();
+
+        public void add(long amount) {
+            this.value.add(amount);
+        }
+
+        //only exact when one thread sets the gauge, the others may still add
+        public void set(long amount) {
+            this.value.add(amount - this.value.sum());
+        }
+
+        public long get() {
+            return this.value.sum();
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            sample(out, name, labels, this.value.sum());
+        }
+    }
+
+    //fixed buckets chosen up front, observing is one search over a short array and two adds
+    public static class Histogram implements Metric {
+        private final double[] bounds;
+        private final long[] boundNanos;
+        //one more cell than bounds for everything above the last bound
+        private final LongAdder[] buckets;
+        private final LongAdder sumNanos = new LongAdder();
+
+        private Histogram(double[] bounds) {
+            this.bounds = bounds.clone();
+            this.boundNanos = new long[bounds.length];
+            this.buckets = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < bounds.length; i++) {
+                this.boundNanos[i] = (long) (bounds[i] * 1.0E9);
+            }
+            for (int i = 0; i < this.buckets.length; i++) {
+                this.buckets[i] = new LongAdder();
+            }
+        }
+
+        public void observeNanos(long nanos) {
+            int bucket = 0;
+            while (bucket < this.boundNanos.length && nanos > this.boundNanos[bucket]) {
+                bucket++;
+            }
+            this.buckets[bucket].increment();
+            this.sumNanos.add(nanos);
+        }
+
+        public long count() {
+            long count = 0;
+            for (LongAdder bucket : this.buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            String prefix = labels.isEmpty() ? "" : labels + ",";
+            long cumulative = 0;
+            for (int i = 0; i < this.bounds.length; i++) {
+                cumulative += this.buckets[i].sum();
+                sample(out, name + "_bucket", prefix + "le=\"" + number(this.bounds[i]) + "\"", cumulative);
+            }
+            cumulative += this.buckets[this.bounds.length].sum();
+            sample(out, name + "_bucket", prefix + "le=\"+Inf\"", cumulative);
+            sample(out, name + "_sum", labels, this.sumNanos.sum() * 1.0E-9);
+            sample(out, name + "_count", labels, cumulative);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.rubymod.metrics;
+
+import com.example.rubymod.Config;
+import com.example.rubymod.RubyMod;
+import com.mojang.logging.LogUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//serves the metrics on http://127.0.0.1:<metricsPort>/metrics for a prometheus scraper on the same machine.
+//only bound to the loopback address, a remote prometheus has to go through a proxy or an ssh tunnel
+@Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class MetricsExporter {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static HttpServer http;
+    private static ExecutorService executor;
+    private static int port;
+
+    //checked once a second so a changed port in the config applies without a restart
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent.Post event) {
+        if (event.getServer().getTickCount() % 20 == 0) {
+            int configured = Config.values().metricsPort();
+            if (configured != port) {
+                stop();
+                start(configured);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        stop();
+    }
+
+    //writes the same text a scrape would return, for servers without a scraper
+    public static Path dump(MinecraftServer server) throws IOException {
+        Path output = server.getServerDirectory().resolve("rubymod-metrics.prom");
+        Files.writeString(output, Metrics.write(), StandardCharsets.UTF_8);
+        return output;
+    }
+
+    private static void start(int newPort) {
+        port = newPort;
+        if (newPort <= 0) {
+            return;
+        }
+        try {
+            http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), newPort), 0);
+        } catch (IOException e) {
+            //remembered as the current port so a taken port is not retried every second
+            LOGGER.error("Could not serve metrics on port {}", newPort, e);
+            return;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rubymod-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        http.createContext("/metrics", MetricsExporter::handle);
+        http.setExecutor(executor);
+        http.start();
+        LOGGER.info("Serving metrics on http://127.0.0.1:{}/metrics", newPort);
+    }
+
+    private static void stop() {
+        if (http != null) {
+            http.stop(0);
+            executor.shutdownNow();
+            http = null;
+            executor = null;
+        }
+        port = 0;
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = Metrics.write().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.rubymod.metrics;
+
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.entity.ModEntities;
+
+import net.minecraft.world.entity.EntityType;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.server.ServerStartingEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.registries.RegistryObject;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+//the metrics the mod reports, the places that update them only touch these fields
+@Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class ModMetrics {
+    private static final String ITEM_USES = "rubymod_item_uses_total";
+    private static final String ITEM_USES_HELP = "Times a rubymod item was used on the server";
+    public static final Metrics.Counter GUN_USES = Metrics.counter(ITEM_USES, ITEM_USES_HELP, "item", "gun");
+    public static final Metrics.Counter SPEAR_USES = Metrics.counter(ITEM_USES, ITEM_USES_HELP, "item", "spear");
+    public static final Metrics.Counter MAGIC_BLADE_USES = Metrics.counter(ITEM_USES, ITEM_USES_HELP, "item", "magic_blade");
+    public static final Metrics.Counter HEAL_USES = Metrics.counter(ITEM_USES, ITEM_USES_HELP, "item", "heal");
+
+    private static final String TICK = "rubymod_tick_seconds";
+    private static final String TICK_HELP = "Time spent in the mod's server tick handlers";
+    public static final Metrics.Histogram ORE_INDEX_TICK = Metrics.histogram(TICK, TICK_HELP, Metrics.TICK_BUCKETS, "system", "ore_index");
+    public static final Metrics.Histogram RETROGEN_TICK = Metrics.histogram(TICK, TICK_HELP, Metrics.TICK_BUCKETS, "system", "retrogen");
+    public static final Metrics.Histogram RETROGEN_BATCH_TICK = Metrics.histogram(TICK, TICK_HELP, Metrics.TICK_BUCKETS, "system", "retrogen_batch");
+    public static final Metrics.Histogram PREGEN_TICK = Metrics.histogram(TICK, TICK_HELP, Metrics.TICK_BUCKETS, "system", "pregen");
+
+    //summed over every elephant, a histogram per entity tick would cost more than the tick itself
+    public static final Metrics.Counter ELEPHANT_TICK = Metrics.nanosCounter("rubymod_entity_tick_seconds_total",
+            "Time spent ticking the mod's entities on the server", "entity", "elephant");
+
+    private static final String EFFECTS = "rubymod_effects_total";
+    private static final String EFFECTS_HELP = "Sounds and particles the mod played on the server, merged ones were folded into a nearby one";
+    public static final Metrics.Counter EFFECTS_QUEUED = Metrics.counter(EFFECTS, EFFECTS_HELP, "stage", "queued");
+    public static final Metrics.Counter EFFECTS_MERGED = Metrics.counter(EFFECTS, EFFECTS_HELP, "stage", "merged");
+    public static final Metrics.Counter EFFECT_PACKETS = Metrics.counter("rubymod_effect_packets_total",
+            "Effect batches sent to players, at most one per player and tick");
+
+    private static Map<EntityType<?>, Metrics.Gauge> entityCounts;
+
+    //built on first use, the entity types do not exist before registration
+    private static Map<EntityType<?>, Metrics.Gauge> entityCounts() {
+        if (entityCounts == null) {
+            Map<EntityType<?>, Metrics.Gauge> counts = new IdentityHashMap<>();
+            for (RegistryObject<EntityType<?>> entry : ModEntities.ENTITY_TYPES.getEntries()) {
+                counts.put(entry.get(), Metrics.gauge("rubymod_entities", "Entities of each rubymod type loaded on the server",
+                        "entity", entry.getId().getPath()));
+            }
+            entityCounts = counts;
+        }
+        return entityCounts;
+    }
+
+    //entities of a stopped integrated server are not always reported as leaving
+    @SubscribeEvent
+    public static void onServerStarting(ServerStartingEvent event) {
+        for (Metrics.Gauge gauge : entityCounts().values()) {
+            gauge.set(0);
+        }
+    }
+
+    //kept up to date from the join and leave events instead of walking every level
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (!event.getLevel().isClientSide()) {
+            Metrics.Gauge gauge = entityCounts().get(event.getEntity().getType());
+            if (gauge != null) {
+                gauge.add(1);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (!event.getLevel().isClientSide()) {
+            Metrics.Gauge gauge = entityCounts().get(event.getEntity().getType());
+            if (gauge != null) {
+                gauge.add(-1);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.rubymod.network;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.util.RandomSource;
+
+//plays a batch on the client, only loaded when a batch arrives so the dedicated server never touches it
+public class ClientEffects {
+    //the client caps particles of one effect, a merged effect can add up to a lot of them
+    private static final int MAX_PARTICLES = 64;
+
+    public static void play(EffectBatchPacket packet) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level == null) {
+            return;
+        }
+        for (EffectBatchPacket.SoundEffect sound : packet.sounds()) {
+            level.playLocalSound(sound.x(), sound.y(), sound.z(), sound.sound(), sound.source(), sound.volume(), sound.pitch(), false);
+        }
+        RandomSource random = level.getRandom();
+        for (EffectBatchPacket.ParticleEffect particle : packet.particles()) {
+            int count = Math.min(particle.count(), MAX_PARTICLES);
+            for (int i = 0; i < count; i++) {
+                double x = particle.x() + random.nextGaussian() * particle.spread();
+                double y = particle.y() + random.nextGaussian() * particle.spread();
+                double z = particle.z() + random.nextGaussian() * particle.spread();
+                level.addParticle(particle.type(), x, y, z, 0.0, 0.0, 0.0);
+            }
+        }
+    }
+}
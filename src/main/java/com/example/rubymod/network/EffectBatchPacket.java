@@ -0,0 +1,91 @@
+package com.example.rubymod.network;
+
+import net.minecraft.core.particles.ParticleType;
+import net.minecraft.core.particles.SimpleParticleType;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.sounds.SoundEvent;
+import net.minecraft.sounds.SoundSource;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//every sound and particle effect of the mod one player gets in one tick.
+//registry ids are varints and positions are fixed point eighths of a block like the vanilla sound packet,
+//so an effect is about 20 bytes instead of a packet of its own
+public record EffectBatchPacket(List<SoundEffect> sounds, List<ParticleEffect> particles) {
+    private static final SoundSource[] SOURCES = SoundSource.values();
+
+    public record SoundEffect(SoundEvent sound, SoundSource source, double x, double y, double z, float volume, float pitch) {
+    }
+
+    //count particles spread randomly up to spread blocks around the position
+    public record ParticleEffect(SimpleParticleType type, double x, double y, double z, int count, float spread) {
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(this.sounds.size());
+        for (SoundEffect sound : this.sounds) {
+            buf.writeVarInt(BuiltInRegistries.SOUND_EVENT.getId(sound.sound()));
+            buf.writeByte(sound.source().ordinal());
+            writePosition(buf, sound.x(), sound.y(), sound.z());
+            buf.writeFloat(sound.volume());
+            buf.writeFloat(sound.pitch());
+        }
+        buf.writeVarInt(this.particles.size());
+        for (ParticleEffect particle : this.particles) {
+            buf.writeVarInt(BuiltInRegistries.PARTICLE_TYPE.getId(particle.type()));
+            writePosition(buf, particle.x(), particle.y(), particle.z());
+            buf.writeVarInt(particle.count());
+            buf.writeFloat(particle.spread());
+        }
+    }
+
+    //an id that is unknown on this side is skipped instead of failing the whole batch
+    public static EffectBatchPacket decode(FriendlyByteBuf buf) {
+        int soundCount = buf.readVarInt();
+        List<SoundEffect> sounds = new ArrayList<>(Math.min(soundCount, 256));
+        for (int i = 0; i < soundCount; i++) {
+            SoundEvent sound = BuiltInRegistries.SOUND_EVENT.byId(buf.readVarInt());
+            SoundSource source = SOURCES[Math.min(buf.readUnsignedByte(), SOURCES.length - 1)];
+            double x = readCoordinate(buf);
+            double y = readCoordinate(buf);
+            double z = readCoordinate(buf);
+            float volume = buf.readFloat();
+            float pitch = buf.readFloat();
+            if (sound != null) {
+                sounds.add(new SoundEffect(sound, source, x, y, z, volume, pitch));
+            }
+        }
+        int particleCount = buf.readVarInt();
+        List<ParticleEffect> particles = new ArrayList<>(Math.min(particleCount, 256));
+        for (int i = 0; i < particleCount; i++) {
+            ParticleType<?> type = BuiltInRegistries.PARTICLE_TYPE.byId(buf.readVarInt());
+            double x = readCoordinate(buf);
+            double y = readCoordinate(buf);
+            double z = readCoordinate(buf);
+            int count = buf.readVarInt();
+            float spread = buf.readFloat();
+            if (type instanceof SimpleParticleType simple) {
+                particles.add(new ParticleEffect(simple, x, y, z, count, spread));
+            }
+        }
+        return new EffectBatchPacket(sounds, particles);
+    }
+
+    public void handle(CustomPayloadEvent.Context context) {
+        ClientEffects.play(this);
+        context.setPacketHandled(true);
+    }
+
+    private static void writePosition(FriendlyByteBuf buf, double x, double y, double z) {
+        buf.writeInt((int) Math.floor(x * 8.0));
+        buf.writeInt((int) Math.floor(y * 8.0));
+        buf.writeInt((int) Math.floor(z * 8.0));
+    }
+
+    private static double readCoordinate(FriendlyByteBuf buf) {
+        return buf.readInt() / 8.0;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.rubymod.network;
+
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.metrics.ModMetrics;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.particles.SimpleParticleType;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.sounds.SoundEvent;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//the way the mod plays sounds and particles. On the server they are collected during the tick,
+//effects of the same kind close to each other are merged, and at the end of the tick every player gets
+//one packet with what is in range of them instead of one vanilla packet per effect.
+//on the client the calls play directly, like the vanilla methods they replace
+@Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class ModEffects {
+    //effects in the same cube of this many blocks are merged, a few blocks make no audible difference
+    private static final int MERGE_CELL = 4;
+    //the range of ServerLevel.sendParticles without force
+    private static final double PARTICLE_RANGE = 32.0;
+    private static final Map<ServerLevel, Map<Key, Queued>> QUEUED = new IdentityHashMap<>();
+
+    //the same as Level.playSound, except does not get the sound because its client already played it
+    public static void playSound(Level level, @Nullable Player except, double x, double y, double z,
+                                 SoundEvent sound, SoundSource source, float volume, float pitch) {
+        if (!(level instanceof ServerLevel serverLevel)) {
+            level.playSound(except, x, y, z, sound, source, volume, pitch);
+            return;
+        }
+        Queued queued = queue(serverLevel, new Key(sound, source, except != null ? except.getId() : -1, cell(x, y, z)), x, y, z);
+        //a merged sound is heard as far as the loudest of them
+        queued.volume = Math.max(queued.volume, volume);
+        //the first sound of a cell keeps its pitch, 0 is below anything the client plays
+        if (queued.pitch == 0.0F) {
+            queued.pitch = pitch;
+        }
+    }
+
+    public static void playSound(Level level, @Nullable Player except, BlockPos pos, SoundEvent sound, SoundSource source) {
+        playSound(level, except, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, sound, source, 1.0F, 1.0F);
+    }
+
+    public static void addParticles(Level level, SimpleParticleType type, double x, double y, double z, int count, float spread) {
+        if (!(level instanceof ServerLevel serverLevel)) {
+            for (int i = 0; i < count; i++) {
+                level.addParticle(type, x + level.getRandom().nextGaussian() * spread, y + level.getRandom().nextGaussian() * spread,
+                        z + level.getRandom().nextGaussian() * spread, 0.0, 0.0, 0.0);
+            }
+            return;
+        }
+        Queued queued = queue(serverLevel, new Key(type, null, -1, cell(x, y, z)), x, y, z);
+        queued.count += count;
+        queued.spread = Math.max(queued.spread, spread);
+    }
+
+    private static Queued queue(ServerLevel level, Key key, double x, double y, double z) {
+        ModMetrics.EFFECTS_QUEUED.increment();
+        Map<Key, Queued> effects = QUEUED.computeIfAbsent(level, l -> new LinkedHashMap<>());
+        Queued queued = effects.get(key);
+        if (queued == null) {
+            //the first effect of a cell keeps its position
+            queued = new Queued(x, y, z);
+            effects.put(key, queued);
+        } else {
+            ModMetrics.EFFECTS_MERGED.increment();
+        }
+        return queued;
+    }
+
+    private static long cell(double x, double y, double z) {
+        return BlockPos.asLong(Math.floorDiv((int) Math.floor(x), MERGE_CELL), Math.floorDiv((int) Math.floor(y), MERGE_CELL),
+                Math.floorDiv((int) Math.floor(z), MERGE_CELL));
+    }
+
+    //after everything else so effects of other end of tick handlers still go out this tick
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onServerTick(TickEvent.ServerTickEvent.Post event) {
+        if (QUEUED.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<ServerLevel, Map<Key, Queued>> entry : QUEUED.entrySet()) {
+            for (ServerPlayer player : entry.getKey().players()) {
+                send(player, entry.getValue());
+            }
+        }
+        QUEUED.clear();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        QUEUED.clear();
+    }
+
+    private static void send(ServerPlayer player, Map<Key, Queued> effects) {
+        List<EffectBatchPacket.SoundEffect> sounds = new ArrayList<>();
+        List<EffectBatchPacket.ParticleEffect> particles = new ArrayList<>();
+        for (Map.Entry<Key, Queued> entry : effects.entrySet()) {
+            Key key = entry.getKey();
+            Queued queued = entry.getValue();
+            double distanceSqr = player.distanceToSqr(queued.x, queued.y, queued.z);
+            if (key.type() instanceof SoundEvent sound) {
+                double range = sound.getRange(queued.volume);
+                if (key.except() != player.getId() && distanceSqr < range * range) {
+                    sounds.add(new EffectBatchPacket.SoundEffect(sound, key.source(), queued.x, queued.y, queued.z,
+                            queued.volume, queued.pitch));
+                }
+            } else if (distanceSqr < PARTICLE_RANGE * PARTICLE_RANGE) {
+                particles.add(new EffectBatchPacket.ParticleEffect((SimpleParticleType) key.type(), queued.x, queued.y, queued.z,
+                        queued.count, queued.spread));
+            }
+        }
+        if (!sounds.isEmpty() || !particles.isEmpty()) {
+            ModNetwork.sendTo(player, new EffectBatchPacket(sounds, particles));
+            ModMetrics.EFFECT_PACKETS.increment();
+        }
+    }
+
+    //type is the SoundEvent or the particle type, except is the entity id of the player left out or -1
+    private record Key(Object type, @Nullable SoundSource source, int except, long cell) {
+    }
+
+    private static class Queued {
+        private final double x;
+        private final double y;
+        private final double z;
+        private float volume;
+        private float pitch;
+        private int count;
+        private float spread;
+
+        private Queued(double x, double y, double z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+}
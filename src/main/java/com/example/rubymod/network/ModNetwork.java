@@ -0,0 +1,33 @@
+package com.example.rubymod.network;
+
+import com.example.rubymod.RubyMod;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.ChannelBuilder;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.network.SimpleChannel;
+
+//the mod's own channel, bump the version when a packet layout changes
+public class ModNetwork {
+    private static final int VERSION = 1;
+
+    public static final SimpleChannel CHANNEL = ChannelBuilder
+            .named(ResourceLocation.fromNamespaceAndPath(RubyMod.MODID, "main"))
+            .networkProtocolVersion(VERSION)
+            .simpleChannel();
+
+    //called from common setup, the channel has to know its packets before the first connection
+    public static void register() {
+        CHANNEL.messageBuilder(EffectBatchPacket.class, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(EffectBatchPacket::encode)
+                .decoder(EffectBatchPacket::decode)
+                .consumerMainThread(EffectBatchPacket::handle)
+                .add();
+    }
+
+    public static void sendTo(ServerPlayer player, Object packet) {
+        CHANNEL.send(packet, PacketDistributor.PLAYER.with(player));
+    }
+}
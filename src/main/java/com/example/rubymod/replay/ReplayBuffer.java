@@ -0,0 +1,90 @@
+package com.example.rubymod.replay;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+//a growable byte array the recorder writes the events of one tick into.
+//it is reused every tick so recording an event does not allocate once the array is big enough
+public class ReplayBuffer {
+    private byte[] data;
+    private int size;
+
+    public ReplayBuffer(int capacity) {
+        this.data = new byte[capacity];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public void reset() {
+        this.size = 0;
+    }
+
+    public byte[] toArray() {
+        return Arrays.copyOf(this.data, this.size);
+    }
+
+    private void ensure(int extra) {
+        if (this.size + extra > this.data.length) {
+            this.data = Arrays.copyOf(this.data, Math.max(this.data.length * 2, this.size + extra));
+        }
+    }
+
+    public void writeByte(int value) {
+        this.ensure(1);
+        this.data[this.size++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+        this.writeByte(value ? 1 : 0);
+    }
+
+    //7 bits per byte, small numbers like dictionary indices take one byte
+    public void writeVarInt(int value) {
+        this.ensure(5);
+        while ((value & ~0x7F) != 0) {
+            this.data[this.size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.data[this.size++] = (byte) value;
+    }
+
+    public void writeInt(int value) {
+        this.ensure(4);
+        this.data[this.size++] = (byte) (value >>> 24);
+        this.data[this.size++] = (byte) (value >>> 16);
+        this.data[this.size++] = (byte) (value >>> 8);
+        this.data[this.size++] = (byte) value;
+    }
+
+    public void writeLong(long value) {
+        this.writeInt((int) (value >>> 32));
+        this.writeInt((int) value);
+    }
+
+    public void writeFloat(float value) {
+        this.writeInt(Float.floatToIntBits(value));
+    }
+
+    public void writeDouble(double value) {
+        this.writeLong(Double.doubleToLongBits(value));
+    }
+
+    public void writeUtf(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        this.writeVarInt(bytes.length);
+        this.ensure(bytes.length);
+        System.arraycopy(bytes, 0, this.data, this.size, bytes.length);
+        this.size += bytes.length;
+    }
+
+    //a frame is the tick delta and the length in front of the payload
+    public void writeFrame(int tickDelta, ReplayBuffer payload) {
+        this.writeVarInt(tickDelta);
+        this.writeVarInt(payload.size);
+        this.ensure(payload.size);
+        System.arraycopy(payload.data, 0, this.data, this.size, payload.size);
+        this.size += payload.size;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.rubymod.replay;
+
+//layout of a .rmreplay file. After the header the file is deflate compressed and holds frames:
+//  varint ticks since the previous frame, varint payload length, payload
+//a payload is a list of records, each one starts with its type byte.
+//names (items, entity types, dimensions) and uuids are written once with a define record
+//and after that only by their index, so a busy tick costs a few bytes per event
+public class ReplayFormat {
+    //"RMRP"
+    public static final int MAGIC = 0x524D5250;
+    public static final int VERSION = 1;
+    public static final String EXTENSION = ".rmreplay";
+
+    //varint index, utf name
+    public static final int DEFINE_NAME = 0;
+    //varint index, long most significant bits, long least significant bits
+    public static final int DEFINE_UUID = 1;
+    //player, dimension, item, hand, player position and rotation
+    public static final int USE_ITEM = 2;
+    //the same as USE_ITEM, then the hit location, the clicked block, the face and whether the hit was inside the block
+    public static final int USE_ITEM_ON = 3;
+    //varint type, varint owner + 1 (0 without owner), dimension, position, motion
+    public static final int PROJECTILE_SPAWN = 4;
+    //the same as USE_ITEM, then the elephant uuid and its position
+    public static final int ELEPHANT_INTERACT = 5;
+    public static final int ELEPHANT_ATTACK = 6;
+}
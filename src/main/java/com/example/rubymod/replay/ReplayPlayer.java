@@ -0,0 +1,311 @@
+package com.example.rubymod.replay;
+
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.entity.custom.BulletEntity;
+import com.example.rubymod.entity.custom.ElephantEntity;
+import com.example.rubymod.entity.custom.SpearEntity;
+import com.example.rubymod.items.ModItems;
+import com.mojang.authlib.GameProfile;
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.common.util.FakePlayerFactory;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+//plays a recording back against a copy of the world it was recorded in.
+//every recorded player becomes a fake player that is moved to where the player stood and does the same thing
+//through the normal game paths, so cooldowns, events and the item code all run again.
+//the replayed projectile spawns are compared with the recorded ones to see where the replay went its own way.
+//start it with -Drubymod.replay=<file> (add -Drubymod.replay.exit=true to stop the server afterwards)
+//or with /rubymod replay play <file>
+@Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class ReplayPlayer {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    //how far a replayed elephant may be from the recorded one when it was born during the recording and has a new uuid
+    private static final double ELEPHANT_SEARCH = 4.0;
+    @Nullable
+    private static ReplayPlayer running;
+
+    private final MinecraftServer server;
+    private final ReplayReader reader;
+    private final boolean exitWhenDone;
+    private final Int2ObjectOpenHashMap<String> names = new Int2ObjectOpenHashMap<>();
+    private final Int2ObjectOpenHashMap<UUID> uuids = new Int2ObjectOpenHashMap<>();
+    private final Int2ObjectOpenHashMap<FakePlayer> players = new Int2ObjectOpenHashMap<>();
+    @Nullable
+    private ReplayReader.Frame pending;
+    private int ticksUntilFrame;
+    private int tick;
+    private long events;
+    private long recordedSpawns;
+    private long replayedSpawns;
+    private int firstDivergence = -1;
+
+    private ReplayPlayer(MinecraftServer server, ReplayReader reader, boolean exitWhenDone) throws IOException {
+        this.server = server;
+        this.reader = reader;
+        this.exitWhenDone = exitWhenDone;
+        this.pending = reader.next();
+        this.ticksUntilFrame = this.pending != null ? this.pending.tickDelta() : 0;
+    }
+
+    public static boolean isRunning() {
+        return running != null;
+    }
+
+    @Nullable
+    public static String progress() {
+        ReplayPlayer player = running;
+        if (player == null) {
+            return null;
+        }
+        return "Replaying tick " + player.tick + ", " + player.events + " events, projectiles recorded "
+                + player.recordedSpawns + " replayed " + player.replayedSpawns;
+    }
+
+    public static void start(MinecraftServer server, Path file, boolean exitWhenDone) throws IOException {
+        stop();
+        ReplayRecorder.stop();
+        ReplayReader reader = new ReplayReader(file);
+        long gameTime = server.overworld().getGameTime();
+        if (reader.getStartGameTime() != gameTime) {
+            LOGGER.warn("The replay was recorded from game time {} but the world is at {}, it may not be the right copy",
+                    reader.getStartGameTime(), gameTime);
+        }
+        running = new ReplayPlayer(server, reader, exitWhenDone);
+        LOGGER.info("Replaying {}", file);
+    }
+
+    public static boolean stop() {
+        ReplayPlayer player = running;
+        if (player == null) {
+            return false;
+        }
+        running = null;
+        player.finish();
+        return true;
+    }
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        String file = System.getProperty("rubymod.replay", "");
+        if (!file.isEmpty()) {
+            try {
+                start(event.getServer(), Path.of(file), Boolean.getBoolean("rubymod.replay.exit"));
+            } catch (IOException e) {
+                LOGGER.error("Could not open the replay {}", file, e);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        stop();
+    }
+
+    //recorded events happened while the server ticked, so they are replayed before the level ticks
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent.Pre event) {
+        ReplayPlayer player = running;
+        if (player == null) {
+            return;
+        }
+        try {
+            if (player.tick()) {
+                stop();
+                if (player.exitWhenDone) {
+                    player.server.halt(false);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("The replay is broken at tick {}", player.tick, e);
+            stop();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (running != null && !event.loadedFromDisk() && !event.getLevel().isClientSide()
+                && (event.getEntity() instanceof BulletEntity || event.getEntity() instanceof SpearEntity)) {
+            running.replayedSpawns++;
+        }
+    }
+
+    //returns true once every frame is played
+    private boolean tick() throws IOException {
+        for (FakePlayer player : this.players.values()) {
+            //fake players are not ticked by the level, their cooldowns would never run out
+            player.getCooldowns().tick();
+        }
+        //spawns of the last tick are compared now that the items had their turn
+        if (this.firstDivergence < 0 && this.recordedSpawns != this.replayedSpawns) {
+            this.firstDivergence = this.tick - 1;
+            LOGGER.warn("Replay diverged at tick {}: {} projectiles recorded, {} replayed", this.firstDivergence,
+                    this.recordedSpawns, this.replayedSpawns);
+        }
+        while (this.pending != null && this.ticksUntilFrame <= 0) {
+            ReplayReader.Payload payload = this.pending.payload();
+            while (payload.hasMore()) {
+                this.play(payload);
+            }
+            this.pending = this.reader.next();
+            this.ticksUntilFrame = this.pending != null ? this.pending.tickDelta() : 0;
+        }
+        this.ticksUntilFrame--;
+        this.tick++;
+        return this.pending == null;
+    }
+
+    private void play(ReplayReader.Payload in) throws IOException {
+        int type = in.readByte();
+        switch (type) {
+            case ReplayFormat.DEFINE_NAME -> this.names.put(in.readVarInt(), in.readUtf());
+            case ReplayFormat.DEFINE_UUID -> this.uuids.put(in.readVarInt(), new UUID(in.readLong(), in.readLong()));
+            case ReplayFormat.PROJECTILE_SPAWN -> {
+                in.readVarInt();
+                in.readVarInt();
+                in.readVarInt();
+                readVec(in);
+                readVec(in);
+                this.recordedSpawns++;
+            }
+            case ReplayFormat.USE_ITEM, ReplayFormat.USE_ITEM_ON, ReplayFormat.ELEPHANT_INTERACT, ReplayFormat.ELEPHANT_ATTACK -> {
+                this.playUse(type, in);
+                this.events++;
+            }
+            default -> throw new IOException("Unknown record type " + type);
+        }
+    }
+
+    private void playUse(int type, ReplayReader.Payload in) throws IOException {
+        int playerIndex = in.readVarInt();
+        ServerLevel level = this.level(this.names.get(in.readVarInt()));
+        Item item = BuiltInRegistries.ITEM.get(ResourceLocation.parse(this.names.get(in.readVarInt())));
+        InteractionHand hand = InteractionHand.values()[in.readByte()];
+        Vec3 position = readVec(in);
+        float yRot = in.readFloat();
+        float xRot = in.readFloat();
+
+        FakePlayer player = this.player(playerIndex, level);
+        player.moveTo(position.x, position.y, position.z, yRot, xRot);
+        if (!player.getItemInHand(hand).is(item)) {
+            player.setItemInHand(hand, new ItemStack(item));
+        }
+        restock(player);
+
+        switch (type) {
+            case ReplayFormat.USE_ITEM -> player.gameMode.useItem(player, level, player.getItemInHand(hand), hand);
+            case ReplayFormat.USE_ITEM_ON -> {
+                Vec3 location = readVec(in);
+                BlockPos pos = new BlockPos(in.readInt(), in.readInt(), in.readInt());
+                Direction face = Direction.from3DDataValue(in.readByte());
+                boolean inside = in.readBoolean();
+                BlockHitResult hit = new BlockHitResult(location, face, pos, inside);
+                player.gameMode.useItemOn(player, level, player.getItemInHand(hand), hand, hit);
+            }
+            default -> {
+                UUID uuid = this.uuids.get(in.readVarInt());
+                Vec3 elephantPosition = readVec(in);
+                ElephantEntity elephant = this.findElephant(level, uuid, elephantPosition);
+                if (elephant == null) {
+                    return;
+                }
+                if (type == ReplayFormat.ELEPHANT_INTERACT) {
+                    player.interactOn(elephant, hand);
+                } else {
+                    player.attack(elephant);
+                }
+            }
+        }
+    }
+
+    //the uuid is the same for elephants saved in the world copy, elephants born later are found by position
+    @Nullable
+    private ElephantEntity findElephant(ServerLevel level, UUID uuid, Vec3 position) {
+        Entity entity = level.getEntity(uuid);
+        if (entity instanceof ElephantEntity elephant) {
+            return elephant;
+        }
+        List<ElephantEntity> nearby = level.getEntitiesOfClass(ElephantEntity.class,
+                AABB.ofSize(position, ELEPHANT_SEARCH * 2, ELEPHANT_SEARCH * 2, ELEPHANT_SEARCH * 2));
+        return nearby.stream().min(Comparator.comparingDouble(e -> e.distanceToSqr(position))).orElse(null);
+    }
+
+    private FakePlayer player(int index, ServerLevel level) {
+        FakePlayer player = this.players.get(index);
+        if (player == null || player.level() != level) {
+            UUID uuid = this.uuids.get(index);
+            player = FakePlayerFactory.get(level, new GameProfile(uuid, "rubymod_replay_" + index));
+            this.players.put(index, player);
+        }
+        return player;
+    }
+
+    //the inventory of the recorded player is not in the log, the fake player always has ammo
+    //and the projectile comparison shows when the real player ran dry
+    private static void restock(FakePlayer player) {
+        fill(player, 9, ModItems.BULLET_ITEM.get());
+        fill(player, 10, ModItems.SPEAR.get());
+    }
+
+    private static void fill(FakePlayer player, int slot, Item item) {
+        ItemStack stack = player.getInventory().getItem(slot);
+        if (stack.is(item)) {
+            stack.setCount(stack.getMaxStackSize());
+        } else {
+            player.getInventory().setItem(slot, new ItemStack(item, item.getDefaultMaxStackSize()));
+        }
+    }
+
+    private ServerLevel level(String dimension) {
+        ServerLevel level = this.server.getLevel(ResourceKey.create(Registries.DIMENSION, ResourceLocation.parse(dimension)));
+        return level != null ? level : this.server.overworld();
+    }
+
+    private static Vec3 readVec(ReplayReader.Payload in) throws IOException {
+        return new Vec3(in.readDouble(), in.readDouble(), in.readDouble());
+    }
+
+    private void finish() {
+        try {
+            this.reader.close();
+        } catch (IOException e) {
+            LOGGER.warn("Could not close the replay", e);
+        }
+        if (this.firstDivergence < 0 && this.recordedSpawns != this.replayedSpawns) {
+            this.firstDivergence = this.tick;
+        }
+        LOGGER.info("Replay finished after {} ticks and {} events, projectiles recorded {} replayed {}{}", this.tick, this.events,
+                this.recordedSpawns, this.replayedSpawns, this.firstDivergence < 0 ? "" : ", first divergence at tick " + this.firstDivergence);
+    }
+}
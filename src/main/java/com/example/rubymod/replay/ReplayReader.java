@@ -0,0 +1,149 @@
+package com.example.rubymod.replay;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.InflaterInputStream;
+
+//reads a recording one frame at a time so a long session is never held in memory as a whole
+public class ReplayReader implements Closeable {
+    private final DataInputStream in;
+    private final long seed;
+    private final long startGameTime;
+
+    public ReplayReader(Path file) throws IOException {
+        InputStream raw = Files.newInputStream(file);
+        try {
+            DataInputStream header = new DataInputStream(raw);
+            if (header.readInt() != ReplayFormat.MAGIC) {
+                throw new IOException(file + " is not a rubymod replay");
+            }
+            int version = header.readUnsignedShort();
+            if (version != ReplayFormat.VERSION) {
+                throw new IOException(file + " has version " + version + ", this build reads version " + ReplayFormat.VERSION);
+            }
+            this.seed = header.readLong();
+            this.startGameTime = header.readLong();
+        } catch (IOException e) {
+            raw.close();
+            throw e;
+        }
+        this.in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(raw)));
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public long getStartGameTime() {
+        return this.startGameTime;
+    }
+
+    //null once the recording is over
+    public Frame next() throws IOException {
+        int first = this.in.read();
+        if (first < 0) {
+            return null;
+        }
+        int tickDelta = readVarInt(this.in, first);
+        int length = readVarInt(this.in, this.in.readUnsignedByte());
+        byte[] payload = new byte[length];
+        this.in.readFully(payload);
+        return new Frame(tickDelta, new Payload(payload));
+    }
+
+    private static int readVarInt(DataInputStream in, int first) throws IOException {
+        int value = first & 0x7F;
+        int shift = 7;
+        int current = first;
+        while ((current & 0x80) != 0) {
+            if (shift > 28) {
+                throw new IOException("Varint is too long");
+            }
+            current = in.readUnsignedByte();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        }
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+
+    public record Frame(int tickDelta, Payload payload) {
+    }
+
+    //the records of one frame, read in the same order the recorder wrote them
+    public static class Payload {
+        private final byte[] data;
+        private int position;
+
+        public Payload(byte[] data) {
+            this.data = data;
+        }
+
+        public boolean hasMore() {
+            return this.position < this.data.length;
+        }
+
+        public int readByte() throws IOException {
+            if (this.position >= this.data.length) {
+                throw new EOFException("Record ends early");
+            }
+            return this.data[this.position++] & 0xFF;
+        }
+
+        public boolean readBoolean() throws IOException {
+            return this.readByte() != 0;
+        }
+
+        public int readVarInt() throws IOException {
+            int value = 0;
+            int shift = 0;
+            int current;
+            do {
+                if (shift > 28) {
+                    throw new IOException("Varint is too long");
+                }
+                current = this.readByte();
+                value |= (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+
+        public int readInt() throws IOException {
+            return this.readByte() << 24 | this.readByte() << 16 | this.readByte() << 8 | this.readByte();
+        }
+
+        public long readLong() throws IOException {
+            return (long) this.readInt() << 32 | this.readInt() & 0xFFFFFFFFL;
+        }
+
+        public float readFloat() throws IOException {
+            return Float.intBitsToFloat(this.readInt());
+        }
+
+        public double readDouble() throws IOException {
+            return Double.longBitsToDouble(this.readLong());
+        }
+
+        public String readUtf() throws IOException {
+            int length = this.readVarInt();
+            if (this.position + length > this.data.length) {
+                throw new EOFException("Record ends early");
+            }
+            String value = new String(this.data, this.position, length, StandardCharsets.UTF_8);
+            this.position += length;
+            return value;
+        }
+    }
+}
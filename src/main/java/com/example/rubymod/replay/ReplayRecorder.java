@@ -0,0 +1,347 @@
+package com.example.rubymod.replay;
+
+import com.example.rubymod.Config;
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.entity.custom.BulletEntity;
+import com.example.rubymod.entity.custom.ElephantEntity;
+import com.example.rubymod.entity.custom.SpearEntity;
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.entity.projectile.Projectile;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.storage.LevelResource;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.player.AttackEntityEvent;
+import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.DeflaterOutputStream;
+
+//records the inputs that drive the mod: uses of its items, the projectiles they spawn and what players do to elephants.
+//everything happens on the server thread, an event is a few bytes added to a buffer that is reused every tick,
+//and the compression and disk writes happen on a background thread, so it is cheap enough to leave on
+@Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class ReplayRecorder {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final byte[] END = new byte[0];
+    @Nullable
+    private static ReplayRecorder active;
+
+    private final Path file;
+    //started by the recordReplays config value, the config only stops recordings it started itself
+    private final boolean automatic;
+    private final ReplayBuffer events = new ReplayBuffer(4096);
+    private final ReplayBuffer frame = new ReplayBuffer(4096);
+    private final Reference2IntOpenHashMap<Object> names = new Reference2IntOpenHashMap<>();
+    private final Object2IntOpenHashMap<UUID> uuids = new Object2IntOpenHashMap<>();
+    private final Reference2BooleanOpenHashMap<Item> modItems = new Reference2BooleanOpenHashMap<>();
+    private final BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean failed;
+    private int lastFrameTick;
+    private long recorded;
+
+    private ReplayRecorder(MinecraftServer server, Path file, boolean automatic) {
+        this.file = file;
+        this.automatic = automatic;
+        this.names.defaultReturnValue(-1);
+        this.uuids.defaultReturnValue(-1);
+        this.lastFrameTick = server.getTickCount();
+        long seed = server.getWorldData().worldGenOptions().seed();
+        long gameTime = server.overworld().getGameTime();
+        this.writer = new Thread(() -> this.writeLoop(seed, gameTime), "rubymod-replay-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static boolean isRecording() {
+        return active != null;
+    }
+
+    @Nullable
+    public static Path getFile() {
+        return active != null ? active.file : null;
+    }
+
+    public static long getRecorded() {
+        return active != null ? active.recorded : 0;
+    }
+
+    //the world is saved first, a copy of it taken now is what the recording replays against
+    public static Path start(MinecraftServer server, boolean automatic) throws IOException {
+        stop();
+        Path folder = server.getWorldPath(LevelResource.ROOT).resolve("rubymod_replays");
+        Files.createDirectories(folder);
+        Path file = folder.resolve(LocalDateTime.now().format(FILE_NAME) + ReplayFormat.EXTENSION);
+        if (!automatic) {
+            server.saveEverything(true, true, true);
+        }
+        active = new ReplayRecorder(server, file, automatic);
+        LOGGER.info("Recording rubymod replay to {} from game time {}", file, server.overworld().getGameTime());
+        return file;
+    }
+
+    public static boolean stop() {
+        ReplayRecorder recorder = active;
+        if (recorder == null) {
+            return false;
+        }
+        active = null;
+        recorder.close();
+        LOGGER.info("Stopped rubymod replay {} after {} events", recorder.file, recorder.recorded);
+        return true;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent.Post event) {
+        MinecraftServer server = event.getServer();
+        ReplayRecorder recorder = active;
+        if (recorder != null) {
+            recorder.flushTick(server.getTickCount());
+            if (recorder.failed) {
+                stop();
+            }
+        }
+        //the config is looked at once a second so turning it on or off applies without a restart
+        if (server.getTickCount() % 20 == 0) {
+            boolean wanted = Config.values().recordReplays();
+            if (wanted && active == null && !ReplayPlayer.isRunning()) {
+                try {
+                    start(server, true);
+                } catch (IOException e) {
+                    LOGGER.error("Could not start recording a replay", e);
+                }
+            } else if (!wanted && active != null && active.automatic) {
+                stop();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        stop();
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onRightClickItem(PlayerInteractEvent.RightClickItem event) {
+        ReplayRecorder recorder = recorderFor(event.getEntity());
+        if (recorder != null && recorder.isModItem(event.getItemStack().getItem())) {
+            recorder.writeUse(ReplayFormat.USE_ITEM, event.getEntity(), event.getHand(), event.getItemStack().getItem());
+            recorder.recorded++;
+        }
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onRightClickBlock(PlayerInteractEvent.RightClickBlock event) {
+        ReplayRecorder recorder = recorderFor(event.getEntity());
+        if (recorder != null && recorder.isModItem(event.getItemStack().getItem())) {
+            BlockHitResult hit = event.getHitVec();
+            recorder.writeUse(ReplayFormat.USE_ITEM_ON, event.getEntity(), event.getHand(), event.getItemStack().getItem());
+            recorder.writeVec(hit.getLocation());
+            recorder.events.writeInt(hit.getBlockPos().getX());
+            recorder.events.writeInt(hit.getBlockPos().getY());
+            recorder.events.writeInt(hit.getBlockPos().getZ());
+            recorder.events.writeByte(hit.getDirection().get3DDataValue());
+            recorder.events.writeBoolean(hit.isInside());
+            recorder.recorded++;
+        }
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onEntityInteract(PlayerInteractEvent.EntityInteract event) {
+        ReplayRecorder recorder = recorderFor(event.getEntity());
+        if (recorder != null && event.getTarget() instanceof ElephantEntity elephant) {
+            recorder.writeElephant(ReplayFormat.ELEPHANT_INTERACT, event.getEntity(), event.getHand(), elephant);
+        }
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onAttackEntity(AttackEntityEvent event) {
+        ReplayRecorder recorder = recorderFor(event.getEntity());
+        if (recorder != null && event.getTarget() instanceof ElephantEntity elephant) {
+            recorder.writeElephant(ReplayFormat.ELEPHANT_ATTACK, event.getEntity(), InteractionHand.MAIN_HAND, elephant);
+        }
+    }
+
+    //only new projectiles, the ones loaded with their chunk were recorded when they were fired
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        ReplayRecorder recorder = active;
+        if (recorder == null || event.loadedFromDisk() || event.getLevel().isClientSide()
+                || !(event.getEntity() instanceof BulletEntity || event.getEntity() instanceof SpearEntity)) {
+            return;
+        }
+        Entity projectile = event.getEntity();
+        Entity owner = ((Projectile) projectile).getOwner();
+        int type = recorder.name(projectile.getType());
+        int ownerIndex = owner instanceof Player ? recorder.uuid(owner.getUUID()) + 1 : 0;
+        int dimension = recorder.name(event.getLevel().dimension());
+        recorder.events.writeByte(ReplayFormat.PROJECTILE_SPAWN);
+        recorder.events.writeVarInt(type);
+        recorder.events.writeVarInt(ownerIndex);
+        recorder.events.writeVarInt(dimension);
+        recorder.writeVec(projectile.position());
+        recorder.writeVec(projectile.getDeltaMovement());
+        recorder.recorded++;
+    }
+
+    //the players a replay drives are fake players and are not recorded again
+    @Nullable
+    private static ReplayRecorder recorderFor(Player player) {
+        ReplayRecorder recorder = active;
+        if (recorder == null || player.level().isClientSide() || player instanceof FakePlayer) {
+            return null;
+        }
+        return recorder;
+    }
+
+    private boolean isModItem(Item item) {
+        if (!this.modItems.containsKey(item)) {
+            this.modItems.put(item, RubyMod.MODID.equals(BuiltInRegistries.ITEM.getKey(item).getNamespace()));
+        }
+        return this.modItems.getBoolean(item);
+    }
+
+    private void writeUse(int type, Player player, InteractionHand hand, Item item) {
+        int playerIndex = this.uuid(player.getUUID());
+        int dimension = this.name(player.level().dimension());
+        int itemIndex = this.name(item);
+        this.events.writeByte(type);
+        this.events.writeVarInt(playerIndex);
+        this.events.writeVarInt(dimension);
+        this.events.writeVarInt(itemIndex);
+        this.events.writeByte(hand.ordinal());
+        this.writeVec(player.position());
+        this.events.writeFloat(player.getYRot());
+        this.events.writeFloat(player.getXRot());
+    }
+
+    private void writeElephant(int type, Player player, InteractionHand hand, ElephantEntity elephant) {
+        int elephantIndex = this.uuid(elephant.getUUID());
+        this.writeUse(type, player, hand, player.getItemInHand(hand).getItem());
+        this.events.writeVarInt(elephantIndex);
+        this.writeVec(elephant.position());
+        this.recorded++;
+    }
+
+    private void writeVec(Vec3 vec) {
+        this.events.writeDouble(vec.x);
+        this.events.writeDouble(vec.y);
+        this.events.writeDouble(vec.z);
+    }
+
+    //cached by identity, the registry name is only looked up the first time
+    private int name(Object named) {
+        int index = this.names.getInt(named);
+        if (index < 0) {
+            index = this.names.size();
+            this.names.put(named, index);
+            this.events.writeByte(ReplayFormat.DEFINE_NAME);
+            this.events.writeVarInt(index);
+            this.events.writeUtf(nameOf(named));
+        }
+        return index;
+    }
+
+    private static String nameOf(Object named) {
+        if (named instanceof Item item) {
+            return BuiltInRegistries.ITEM.getKey(item).toString();
+        }
+        if (named instanceof EntityType<?> type) {
+            return EntityType.getKey(type).toString();
+        }
+        if (named instanceof ResourceKey<?> key) {
+            return key.location().toString();
+        }
+        return named.toString();
+    }
+
+    private int uuid(UUID uuid) {
+        int index = this.uuids.getInt(uuid);
+        if (index < 0) {
+            index = this.uuids.size();
+            this.uuids.put(uuid, index);
+            this.events.writeByte(ReplayFormat.DEFINE_UUID);
+            this.events.writeVarInt(index);
+            this.events.writeLong(uuid.getMostSignificantBits());
+            this.events.writeLong(uuid.getLeastSignificantBits());
+        }
+        return index;
+    }
+
+    //one array per tick that had events is the only allocation the recording makes in steady state
+    private void flushTick(int tick) {
+        if (this.events.size() == 0) {
+            return;
+        }
+        this.frame.reset();
+        this.frame.writeFrame(tick - this.lastFrameTick, this.events);
+        this.queue.add(this.frame.toArray());
+        this.events.reset();
+        this.lastFrameTick = tick;
+    }
+
+    private void close() {
+        //events of the tick the recording stopped in
+        this.flushTick(this.lastFrameTick + 1);
+        this.queue.add(END);
+        try {
+            this.writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop(long seed, long gameTime) {
+        try (OutputStream raw = Files.newOutputStream(this.file)) {
+            DataOutputStream header = new DataOutputStream(raw);
+            header.writeInt(ReplayFormat.MAGIC);
+            header.writeShort(ReplayFormat.VERSION);
+            header.writeLong(seed);
+            header.writeLong(gameTime);
+            header.flush();
+            try (OutputStream out = new BufferedOutputStream(new DeflaterOutputStream(raw), 65536)) {
+                byte[] chunk;
+                while ((chunk = this.queue.take()) != END) {
+                    out.write(chunk);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Could not write the replay {}", this.file, e);
+            this.failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.rubymod.tools;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//reads NBT into plain java objects so the region scanner runs without any minecraft classes:
+//compounds become maps, lists become lists, arrays stay arrays
+public class NbtReader {
+    private static final int END = 0;
+    private static final int BYTE = 1;
+    private static final int SHORT = 2;
+    private static final int INT = 3;
+    private static final int LONG = 4;
+    private static final int FLOAT = 5;
+    private static final int DOUBLE = 6;
+    private static final int BYTE_ARRAY = 7;
+    private static final int STRING = 8;
+    private static final int LIST = 9;
+    private static final int COMPOUND = 10;
+    private static final int INT_ARRAY = 11;
+    private static final int LONG_ARRAY = 12;
+
+    //the root of a chunk is a compound with an empty name
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> readRoot(DataInput in) throws IOException {
+        int type = in.readByte();
+        if (type != COMPOUND) {
+            throw new IOException("Root tag is not a compound but type " + type);
+        }
+        in.readUTF();
+        return (Map<String, Object>) read(in, type, 0);
+    }
+
+    private static Object read(DataInput in, int type, int depth) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT nested too deep");
+        }
+        switch (type) {
+            case BYTE:
+                return in.readByte();
+            case SHORT:
+                return in.readShort();
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case FLOAT:
+                return in.readFloat();
+            case DOUBLE:
+                return in.readDouble();
+            case BYTE_ARRAY: {
+                byte[] bytes = new byte[checkedLength(in.readInt())];
+                in.readFully(bytes);
+                return bytes;
+            }
+            case STRING:
+                return in.readUTF();
+            case LIST: {
+                int elementType = in.readByte();
+                int length = checkedLength(in.readInt());
+                List<Object> list = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) {
+                    list.add(read(in, elementType, depth + 1));
+                }
+                return list;
+            }
+            case COMPOUND: {
+                Map<String, Object> compound = new HashMap<>();
+                int childType;
+                while ((childType = in.readByte()) != END) {
+                    String name = in.readUTF();
+                    compound.put(name, read(in, childType, depth + 1));
+                }
+                return compound;
+            }
+            case INT_ARRAY: {
+                int[] ints = new int[checkedLength(in.readInt())];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = in.readInt();
+                }
+                return ints;
+            }
+            case LONG_ARRAY: {
+                long[] longs = new long[checkedLength(in.readInt())];
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = in.readLong();
+                }
+                return longs;
+            }
+            default:
+                throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private static int checkedLength(int length) throws IOException {
+        if (length < 0 || length > 1 << 24) {
+            throw new IOException("Bad NBT array length " + length);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.rubymod.tools;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+//counts the ruby ore of a world straight from its region files, without a server:
+//    java -jar rubymod.jar <world folder> [region folder inside the world, default "region"]
+//every region file is memory mapped and decoded on its own thread,
+//the mined ore comes from the player statistics in <world>/stats
+public class RegionScanner {
+    public static final String RUBY_ORE = "rubymod:ruby_ore";
+    private static final Pattern REGION_FILE = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+    private static final Pattern MINED = Pattern.compile("\"minecraft:mined\"\\s*:\\s*\\{([^}]*)}");
+    private static final Pattern MINED_RUBY = Pattern.compile("\"" + Pattern.quote(RUBY_ORE) + "\"\\s*:\\s*(\\d+)");
+    private static final int Y_OFFSET = 2048;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: java -jar rubymod.jar <world folder> [region folder, default region]");
+            System.exit(1);
+        }
+        Path world = Paths.get(args[0]);
+        Path regionFolder = world.resolve(args.length > 1 ? args[1] : "region");
+        long start = System.nanoTime();
+        Result result = scan(regionFolder, Runtime.getRuntime().availableProcessors());
+        long mined = countMined(world.resolve("stats"));
+        System.out.print(result.report(mined, (System.nanoTime() - start) / 1.0E9));
+    }
+
+    public static Result scan(Path regionFolder, int threads) throws IOException, InterruptedException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(regionFolder)) {
+            try (Stream<Path> list = Files.list(regionFolder)) {
+                list.filter(path -> REGION_FILE.matcher(path.getFileName().toString()).matches()).sorted().forEach(files::add);
+            }
+        }
+        Result total = new Result();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (Path file : files) {
+                futures.add(executor.submit(() -> scanRegion(file)));
+            }
+            for (Future<Result> future : futures) {
+                try {
+                    total.add(future.get());
+                } catch (java.util.concurrent.ExecutionException e) {
+                    System.err.println("Failed to scan a region file: " + e.getCause());
+                    total.failedChunks++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return total;
+    }
+
+    public static Result scanRegion(Path file) throws IOException {
+        Result result = new Result();
+        result.regions = 1;
+        Matcher matcher = REGION_FILE.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            return result;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < 8192) {
+                return result;
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            for (int i = 0; i < 1024; i++) {
+                int location = map.getInt(i * 4);
+                if (location == 0) {
+                    continue;
+                }
+                //3 bytes of 4 KiB sector offset and 1 byte of sector count
+                long offset = (long) (location >>> 8) * 4096;
+                try {
+                    int chunkX = (Integer.parseInt(matcher.group(1)) << 5) + (i & 31);
+                    int chunkZ = (Integer.parseInt(matcher.group(2)) << 5) + (i >> 5);
+                    Map<String, Object> chunk = readChunk(map, offset, file.resolveSibling("c." + chunkX + "." + chunkZ + ".mcc"));
+                    if (chunk != null) {
+                        scanChunk(chunk, result);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    result.failedChunks++;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Object> readChunk(ByteBuffer map, long offset, Path external) throws IOException {
+        if (offset + 5 > map.limit()) {
+            throw new IOException("Chunk outside of the region file");
+        }
+        int length = map.getInt((int) offset);
+        int compression = map.get((int) offset + 4) & 0xFF;
+        InputStream raw;
+        //the high bit means the chunk was too big and lives in its own .mcc file
+        if ((compression & 128) != 0) {
+            raw = new BufferedInputStream(Files.newInputStream(external));
+            compression &= 127;
+        } else {
+            if (length <= 0 || offset + 4 + length > map.limit()) {
+                throw new IOException("Bad chunk length " + length);
+            }
+            ByteBuffer slice = map.duplicate();
+            slice.position((int) offset + 5).limit((int) offset + 4 + length);
+            byte[] bytes = new byte[length - 1];
+            slice.get(bytes);
+            raw = new ByteArrayInputStream(bytes);
+        }
+        InputStream in = switch (compression) {
+            case 1 -> new GZIPInputStream(raw);
+            case 2 -> new InflaterInputStream(raw);
+            case 3 -> raw;
+            //lz4 needs a library the jar does not ship, those chunks are counted as failed
+            default -> throw new IOException("Unsupported chunk compression " + compression);
+        };
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            return NbtReader.readRoot(data);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void scanChunk(Map<String, Object> chunk, Result result) {
+        result.chunks++;
+        Object sections = chunk.get("sections");
+        if (!(sections instanceof List<?> list)) {
+            return;
+        }
+        for (Object entry : list) {
+            if (!(entry instanceof Map<?, ?> section) || !(section.get("block_states") instanceof Map<?, ?> states)) {
+                continue;
+            }
+            result.sections++;
+            int sectionY = section.get("Y") instanceof Number number ? number.intValue() : 0;
+            if (!(states.get("palette") instanceof List<?> palette)) {
+                continue;
+            }
+            //the palette says if the section can hold ruby at all before the packed data is touched
+            int rubyIndex = -1;
+            for (int i = 0; i < palette.size(); i++) {
+                if (palette.get(i) instanceof Map<?, ?> state && RUBY_ORE.equals(state.get("Name"))) {
+                    rubyIndex = i;
+                    break;
+                }
+            }
+            if (rubyIndex < 0) {
+                continue;
+            }
+            if (palette.size() == 1) {
+                result.addOre(sectionY * 16, 4096);
+                continue;
+            }
+            if (!(states.get("data") instanceof long[] data)) {
+                continue;
+            }
+            countPacked(data, palette.size(), rubyIndex, sectionY * 16, result);
+        }
+    }
+
+    //block states are packed without spanning two longs, at least 4 bits each
+    private static void countPacked(long[] data, int paletteSize, int target, int bottomY, Result result) {
+        int bits = Math.max(4, 32 - Integer.numberOfLeadingZeros(paletteSize - 1));
+        int perLong = 64 / bits;
+        long mask = (1L << bits) - 1;
+        for (int i = 0; i < 4096; i++) {
+            int longIndex = i / perLong;
+            if (longIndex >= data.length) {
+                return;
+            }
+            int value = (int) ((data[longIndex] >>> ((i % perLong) * bits)) & mask);
+            if (value == target) {
+                result.addOre(bottomY + (i >> 8), 1);
+            }
+        }
+    }
+
+    public static long countMined(Path statsFolder) throws IOException {
+        if (!Files.isDirectory(statsFolder)) {
+            return 0;
+        }
+        long mined = 0;
+        try (Stream<Path> list = Files.list(statsFolder)) {
+            for (Path file : (Iterable<Path>) list.filter(path -> path.toString().endsWith(".json"))::iterator) {
+                Matcher section = MINED.matcher(Files.readString(file));
+                if (section.find()) {
+                    Matcher ruby = MINED_RUBY.matcher(section.group(1));
+                    if (ruby.find()) {
+                        mined += Long.parseLong(ruby.group(1));
+                    }
+                }
+            }
+        }
+        return mined;
+    }
+
+    public static class Result {
+        private final long[] byY = new long[Y_OFFSET * 2];
+        private long regions;
+        private long chunks;
+        private long sections;
+        private long failedChunks;
+        private long ore;
+
+        private void addOre(int y, long count) {
+            if (y + 16 > -Y_OFFSET && y < Y_OFFSET) {
+                if (count == 4096) {
+                    for (int i = 0; i < 16; i++) {
+                        this.byY[y + i + Y_OFFSET] += 256;
+                    }
+                } else {
+                    this.byY[y + Y_OFFSET] += count;
+                }
+            }
+            this.ore += count;
+        }
+
+        private void add(Result other) {
+            for (int i = 0; i < this.byY.length; i++) {
+                this.byY[i] += other.byY[i];
+            }
+            this.regions += other.regions;
+            this.chunks += other.chunks;
+            this.sections += other.sections;
+            this.failedChunks += other.failedChunks;
+            this.ore += other.ore;
+        }
+
+        public long getOre() {
+            return this.ore;
+        }
+
+        public long getOreAt(int y) {
+            return this.byY[y + Y_OFFSET];
+        }
+
+        public long getChunks() {
+            return this.chunks;
+        }
+
+        public String report(long mined, double seconds) {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("Scanned %d region files, %d chunks, %d sections in %.1f s%n", this.regions, this.chunks, this.sections, seconds));
+            if (this.failedChunks > 0) {
+                out.append(String.format("%d chunks could not be read%n", this.failedChunks));
+            }
+            out.append(String.format("Ruby ore in the world: %d (%.2f per chunk)%n", this.ore, this.chunks == 0 ? 0.0 : (double) this.ore / this.chunks));
+            out.append(String.format("Ruby ore mined by players: %d%n", mined));
+            out.append("y,count").append(System.lineSeparator());
+            for (int i = 0; i < this.byY.length; i++) {
+                if (this.byY[i] > 0) {
+                    out.append(i - Y_OFFSET).append(',').append(this.byY[i]).append(System.lineSeparator());
+                }
+            }
+            return out.toString();
+        }
+    }
+}
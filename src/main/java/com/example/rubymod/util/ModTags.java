@@ -19,6 +19,12 @@ public class ModTags {
         public static final TagKey<Block> NEEDS_COPPER_TOOL = createTag("needs_copper_tool");
         public static final TagKey<Block> INCORRECT_FOR_COPPER_TOOL = createTag("incorrect_for_copper_tool");
 
+        //blocks ruby buds grow on
+        public static final TagKey<Block> GROWS_RUBY_BUDS = createTag("grows_ruby_buds");
+
+        //blocks the vein mining mode of the ruby and emerald pickaxes follows
+        public static final TagKey<Block> VEIN_MINEABLE = createTag("vein_mineable");
+
         private static TagKey<Block> createTag(String name){
             return BlockTags.create(ResourceLocation.fromNamespaceAndPath(RubyMod.MODID,name));
         }
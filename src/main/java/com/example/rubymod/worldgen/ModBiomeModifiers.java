@@ -22,7 +22,8 @@ public class ModBiomeModifiers {
         var biomes = context.lookup(Registries.BIOME);
 
         context.register(ADD_RUBY_ORE, new ForgeBiomeModifiers.AddFeaturesBiomeModifier(
-        biomes.getOrThrow(BiomeTags.IS_OVERWORLD) , HolderSet.direct(placedFeature.getOrThrow(ModPlacedFeatures.RUBY_ORE_PLACED_KEY)),
+        biomes.getOrThrow(BiomeTags.IS_OVERWORLD) , HolderSet.direct(placedFeature.getOrThrow(ModPlacedFeatures.RUBY_ORE_PLACED_KEY),
+         placedFeature.getOrThrow(ModPlacedFeatures.RUBY_ORE_RIBBON_PLACED_KEY)),
          GenerationStep.Decoration.UNDERGROUND_ORES));
 
 
@@ -2,33 +2,31 @@ package com.example.rubymod.worldgen;
 
 import com.example.rubymod.RubyMod;
 import com.example.rubymod.blocks.ModBlocks;
+import com.example.rubymod.worldgen.feature.RubyVeinConfiguration;
 
 import net.minecraft.core.registries.Registries;
 import net.minecraft.data.worldgen.BootstrapContext;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.BlockTags;
-import net.minecraft.world.level.levelgen.structure.templatesystem.TagMatchTest;
-import net.minecraft.world.level.levelgen.structure.templatesystem.RuleTest;
 import net.minecraft.world.level.levelgen.feature.ConfiguredFeature;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.configurations.FeatureConfiguration;
-import net.minecraft.world.level.levelgen.feature.configurations.OreConfiguration;
-import java.util.List;
 
 public class ModConfiguredFeatures {
 
     public static final ResourceKey<ConfiguredFeature<?,?>> RUBY_ORE_KEY = registerKey("ruby_ore");
+    public static final ResourceKey<ConfiguredFeature<?,?>> RUBY_ORE_RIBBON_KEY = registerKey("ruby_ore_ribbon");
 
     // Basically how its going to look like the thing we add in the world generation
     public static void bootstrap(BootstrapContext<ConfiguredFeature<?, ?>> context) {
 
-        RuleTest stoneReplaceables = new TagMatchTest(BlockTags.STONE_ORE_REPLACEABLES); //replaces stone
-        List<OreConfiguration.TargetBlockState> rubyOres = List.of(
-            OreConfiguration.target(stoneReplaceables, ModBlocks.RUBY_ORE.get().defaultBlockState())
-        );
-        //register and vein configuration
-        register(context, RUBY_ORE_KEY,Feature.ORE, new OreConfiguration(rubyOres,5));// 5 is the vein size
+        //register and vein configuration, replaces stone
+        register(context, RUBY_ORE_KEY, ModFeatures.RUBY_VEIN.get(), new RubyVeinConfiguration(ModBlocks.RUBY_ORE.get().defaultBlockState(),
+            BlockTags.STONE_ORE_REPLACEABLES, 5, RubyVeinConfiguration.Shape.BLOB));// 5 is the vein size
+        //long thin veins that are rarer but hold more ore
+        register(context, RUBY_ORE_RIBBON_KEY, ModFeatures.RUBY_VEIN.get(), new RubyVeinConfiguration(ModBlocks.RUBY_ORE.get().defaultBlockState(),
+            BlockTags.STONE_ORE_REPLACEABLES, 24, RubyVeinConfiguration.Shape.RIBBON));
     }
 
     public static ResourceKey<ConfiguredFeature<?, ?>> registerKey(String name) {
@@ -0,0 +1,24 @@
+package com.example.rubymod.worldgen;
+
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.worldgen.feature.RubyVeinConfiguration;
+import com.example.rubymod.worldgen.feature.RubyVeinFeature;
+
+import net.minecraft.world.level.levelgen.feature.Feature;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.registries.DeferredRegister;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.RegistryObject;
+
+public class ModFeatures {
+    public static final DeferredRegister<Feature<?>> FEATURES =
+            DeferredRegister.create(ForgeRegistries.FEATURES, RubyMod.MODID);
+
+    //the feature type the ruby ore configured features use
+    public static final RegistryObject<Feature<RubyVeinConfiguration>> RUBY_VEIN =
+            FEATURES.register("ruby_vein", () -> new RubyVeinFeature(RubyVeinConfiguration.CODEC));
+
+    public static void register(IEventBus eventBus) {
+        FEATURES.register(eventBus);
+    }
+}
@@ -2,13 +2,17 @@ package com.example.rubymod.worldgen;
 
 
 
+import com.example.rubymod.worldgen.placement.SectionPaletteFilter;
+import net.minecraft.tags.BlockTags;
 import net.minecraft.world.level.levelgen.placement.*;
 
 import java.util.List;
 
 public class ModOrePlacement {
     public static List<PlacementModifier> orePlacement(PlacementModifier pCountPlacement, PlacementModifier pHeightRange) {
-        return List.of(pCountPlacement, InSquarePlacement.spread(), pHeightRange, BiomeFilter.biome());
+        //the palette filter drops attempts in sections without any stone before the feature runs
+        return List.of(pCountPlacement, InSquarePlacement.spread(), pHeightRange,
+                SectionPaletteFilter.of(BlockTags.STONE_ORE_REPLACEABLES), BiomeFilter.biome());
     }
 
     public static List<PlacementModifier> commonOrePlacement(int pCount, PlacementModifier pHeightRange) {
@@ -16,12 +16,17 @@ import java.util.List;
 
 public class ModPlacedFeatures {
     public static final ResourceKey<PlacedFeature> RUBY_ORE_PLACED_KEY = registerKey("ruby_ore_placed");
+    public static final ResourceKey<PlacedFeature> RUBY_ORE_RIBBON_PLACED_KEY = registerKey("ruby_ore_ribbon_placed");
     //How will it be placed
     public static void bootstrap(BootstrapContext<PlacedFeature> context) {
         var configuredFeatures = context.lookup(Registries.CONFIGURED_FEATURE);
         register(context, RUBY_ORE_PLACED_KEY, configuredFeatures.getOrThrow(ModConfiguredFeatures.RUBY_ORE_KEY), 
         ModOrePlacement.commonOrePlacement(12, //gives the propability for the ore to be placed
         HeightRangePlacement.uniform(VerticalAnchor.absolute(-64), VerticalAnchor.absolute(80))));//its the y range how deep the ore would be
+        //about one ribbon vein every 8 chunks, deeper than the common veins
+        register(context, RUBY_ORE_RIBBON_PLACED_KEY, configuredFeatures.getOrThrow(ModConfiguredFeatures.RUBY_ORE_RIBBON_KEY),
+        ModOrePlacement.rareOrePlacement(8,
+        HeightRangePlacement.triangle(VerticalAnchor.absolute(-48), VerticalAnchor.absolute(32))));
 
     }
 
@@ -0,0 +1,22 @@
+package com.example.rubymod.worldgen;
+
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.worldgen.placement.SectionPaletteFilter;
+
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.registries.DeferredRegister;
+import net.minecraftforge.registries.RegistryObject;
+
+public class ModPlacementModifiers {
+    public static final DeferredRegister<PlacementModifierType<?>> PLACEMENT_MODIFIERS =
+            DeferredRegister.create(Registries.PLACEMENT_MODIFIER_TYPE, RubyMod.MODID);
+
+    public static final RegistryObject<PlacementModifierType<SectionPaletteFilter>> SECTION_PALETTE_FILTER =
+            PLACEMENT_MODIFIERS.register("section_palette_filter", () -> () -> SectionPaletteFilter.CODEC);
+
+    public static void register(IEventBus eventBus) {
+        PLACEMENT_MODIFIERS.register(eventBus);
+    }
+}
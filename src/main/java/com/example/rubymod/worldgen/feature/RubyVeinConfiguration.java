@@ -0,0 +1,40 @@
+package com.example.rubymod.worldgen.feature;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import net.minecraft.core.registries.Registries;
+import net.minecraft.tags.TagKey;
+import net.minecraft.util.StringRepresentable;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.feature.configurations.FeatureConfiguration;
+
+//what the ruby vein is made of, what it may replace, how many blocks and which shape
+public record RubyVeinConfiguration(BlockState state, TagKey<Block> replaceable, int size, Shape shape) implements FeatureConfiguration {
+    public static final Codec<RubyVeinConfiguration> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            BlockState.CODEC.fieldOf("state").forGetter(RubyVeinConfiguration::state),
+            TagKey.codec(Registries.BLOCK).fieldOf("replaceable").forGetter(RubyVeinConfiguration::replaceable),
+            Codec.intRange(1, 64).fieldOf("size").forGetter(RubyVeinConfiguration::size),
+            Shape.CODEC.fieldOf("shape").forGetter(RubyVeinConfiguration::shape)
+    ).apply(instance, RubyVeinConfiguration::new));
+
+    public enum Shape implements StringRepresentable {
+        //a compact clump like the vanilla ores
+        BLOB("blob"),
+        //a thin winding band that runs through the stone
+        RIBBON("ribbon");
+
+        public static final Codec<Shape> CODEC = StringRepresentable.fromEnum(Shape::values);
+        private final String name;
+
+        Shape(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getSerializedName() {
+            return this.name;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.rubymod.worldgen.feature;
+
+import com.example.rubymod.benchmark.FeatureTimer;
+import com.example.rubymod.blocks.ModBlocks;
+import com.example.rubymod.worldgen.ModPlacedFeatures;
+import com.example.rubymod.worldgen.index.RubyOreIndex;
+import com.mojang.serialization.Codec;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.WorldGenLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.feature.Feature;
+import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
+
+//places a whole ruby vein at once: the shape is worked out first,
+//then the blocks are written section by section straight into the chunk sections
+//the same way the vanilla ore feature does it through BulkSectionAccess
+public class RubyVeinFeature extends Feature<RubyVeinConfiguration> {
+    //keeps the vein inside the chunks a feature is allowed to write to
+    private static final int MAX_REACH = 12;
+
+    public RubyVeinFeature(Codec<RubyVeinConfiguration> codec) {
+        super(codec);
+    }
+
+    @Override
+    public boolean place(FeaturePlaceContext<RubyVeinConfiguration> context) {
+        long start = FeatureTimer.start(context.origin());
+        RubyVeinConfiguration config = context.config();
+        //retrogen places into chunks players may already see, those go through setBlock so the change is sent
+        int placed = placeVein(context.level(), config, context.origin(), context.random(), context.level() instanceof ServerLevel);
+        FeatureTimer.stop(timerName(config.shape()), start, placed);
+        return placed > 0;
+    }
+
+    //timed under the placed feature that uses the shape, worldgen-benchmark.json is compared across releases by that key.
+    //blob veins are ruby_ore_placed, ribbon veins are ruby_ore_ribbon_placed
+    private static String timerName(RubyVeinConfiguration.Shape shape) {
+        return switch (shape) {
+            case RIBBON -> ModPlacedFeatures.RUBY_ORE_RIBBON_PLACED_KEY.location().getPath();
+            default -> ModPlacedFeatures.RUBY_ORE_PLACED_KEY.location().getPath();
+        };
+    }
+
+    //returns the number of blocks placed. Without live the blocks are written straight into the sections
+    //like during worldgen, the worldgen benchmark uses that to compare with the vanilla ore feature
+    public static int placeVein(WorldGenLevel level, RubyVeinConfiguration config, BlockPos origin, RandomSource random, boolean live) {
+        LongArrayList positions = new LongArrayList(config.size() * 2);
+        switch (config.shape()) {
+            case RIBBON -> ribbon(origin, random, config.size(), positions);
+            default -> blob(origin, random, config.size(), positions);
+        }
+        return write(level, config, groupBySection(positions), live);
+    }
+
+    //grows a clump by stepping from random blocks already in it
+    public static void blob(BlockPos origin, RandomSource random, int size, LongArrayList out) {
+        LongOpenHashSet placed = new LongOpenHashSet(size * 2);
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        long start = origin.asLong();
+        placed.add(start);
+        out.add(start);
+        int attempts = size * 4;
+        while (out.size() < size && attempts-- > 0) {
+            pos.set(out.getLong(random.nextInt(out.size())));
+            pos.move(Direction.getRandom(random));
+            if (inReach(origin, pos) && placed.add(pos.asLong())) {
+                out.add(pos.asLong());
+            }
+        }
+    }
+
+    //follows a slowly turning direction and lays two blocks side by side at every step
+    public static void ribbon(BlockPos origin, RandomSource random, int size, LongArrayList out) {
+        LongOpenHashSet placed = new LongOpenHashSet(size * 2);
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        float yaw = random.nextFloat() * Mth.TWO_PI;
+        float pitch = (random.nextFloat() - 0.5F) * 0.5F;
+        double x = origin.getX() + 0.5;
+        double y = origin.getY() + 0.5;
+        double z = origin.getZ() + 0.5;
+        int steps = Math.max(1, size / 2);
+        for (int i = 0; i < steps; i++) {
+            //the second block sits across the direction of travel which makes the band flat
+            double sideX = -Mth.sin(yaw);
+            double sideZ = Mth.cos(yaw);
+            for (int side = 0; side < 2; side++) {
+                pos.set(x + sideX * side, y, z + sideZ * side);
+                if (inReach(origin, pos) && placed.add(pos.asLong())) {
+                    out.add(pos.asLong());
+                }
+            }
+            x += Mth.cos(yaw) * Mth.cos(pitch);
+            y += Mth.sin(pitch);
+            z += Mth.sin(yaw) * Mth.cos(pitch);
+            yaw += (random.nextFloat() - 0.5F) * 0.6F;
+            pitch = Mth.clamp(pitch + (random.nextFloat() - 0.5F) * 0.3F, -0.6F, 0.6F);
+        }
+    }
+
+    private static boolean inReach(BlockPos origin, BlockPos pos) {
+        return Math.abs(pos.getX() - origin.getX()) <= MAX_REACH && Math.abs(pos.getZ() - origin.getZ()) <= MAX_REACH;
+    }
+
+    public static Long2ObjectMap<LongArrayList> groupBySection(LongArrayList positions) {
+        Long2ObjectOpenHashMap<LongArrayList> sections = new Long2ObjectOpenHashMap<>();
+        for (int i = 0; i < positions.size(); i++) {
+            long pos = positions.getLong(i);
+            long section = SectionPos.blockToSection(pos);
+            LongArrayList list = sections.get(section);
+            if (list == null) {
+                list = new LongArrayList();
+                sections.put(section, list);
+            }
+            list.add(pos);
+        }
+        return sections;
+    }
+
+    private static int write(WorldGenLevel level, RubyVeinConfiguration config, Long2ObjectMap<LongArrayList> sections, boolean live) {
+        BlockState ore = config.state();
+        boolean indexed = ore.is(ModBlocks.RUBY_ORE.get());
+        int placed = 0;
+        for (Long2ObjectMap.Entry<LongArrayList> entry : sections.long2ObjectEntrySet()) {
+            long sectionPos = entry.getLongKey();
+            int sectionX = SectionPos.x(sectionPos);
+            int sectionY = SectionPos.y(sectionPos);
+            int sectionZ = SectionPos.z(sectionPos);
+            if (!level.hasChunk(sectionX, sectionZ)) {
+                continue;
+            }
+            ChunkAccess chunk = level.getChunk(sectionX, sectionZ);
+            int index = chunk.getSectionIndexFromSectionY(sectionY);
+            if (index < 0 || index >= chunk.getSectionsCount()) {
+                continue;
+            }
+            LevelChunkSection section = chunk.getSection(index);
+            //one look at the palette tells if anything in this section can be replaced at all
+            if (section.hasOnlyAir() || !section.getStates().maybeHas(state -> state.is(config.replaceable()))) {
+                continue;
+            }
+            int placedInSection;
+            if (live) {
+                placedInSection = writeLive(level, entry.getValue(), ore, config);
+            } else {
+                section.acquire();
+                try {
+                    placedInSection = writeSection(section, entry.getValue(), ore, config);
+                } finally {
+                    section.release();
+                }
+            }
+            if (placedInSection > 0 && indexed) {
+                RubyOreIndex.recordGenerated(level.getLevel(), entry.getValue(), placedInSection);
+            }
+            placed += placedInSection;
+        }
+        return placed;
+    }
+
+    private static int writeSection(LevelChunkSection section, LongArrayList positions, BlockState ore, RubyVeinConfiguration config) {
+        int placed = 0;
+        //sections are mostly one or two states so the tag check is remembered for the last one
+        BlockState lastState = null;
+        boolean lastMatches = false;
+        for (int i = 0; i < positions.size(); i++) {
+            long pos = positions.getLong(i);
+            int x = BlockPos.getX(pos) & 15;
+            int y = BlockPos.getY(pos) & 15;
+            int z = BlockPos.getZ(pos) & 15;
+            BlockState current = section.getBlockState(x, y, z);
+            if (current != lastState) {
+                lastState = current;
+                lastMatches = current.is(config.replaceable());
+            }
+            if (lastMatches) {
+                section.setBlockState(x, y, z, ore, false);
+                //the placed positions are moved to the front of the list for the ore index
+                positions.set(placed++, pos);
+            }
+        }
+        return placed;
+    }
+
+    private static int writeLive(WorldGenLevel level, LongArrayList positions, BlockState ore, RubyVeinConfiguration config) {
+        int placed = 0;
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < positions.size(); i++) {
+            pos.set(positions.getLong(i));
+            if (level.getBlockState(pos).is(config.replaceable())) {
+                level.setBlock(pos, ore, Block.UPDATE_CLIENTS);
+                positions.set(placed++, pos.asLong());
+            }
+        }
+        return placed;
+    }
+}
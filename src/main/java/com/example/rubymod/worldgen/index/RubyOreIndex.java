@@ -0,0 +1,230 @@
+package com.example.rubymod.worldgen.index;
+
+import com.example.rubymod.blocks.ModBlocks;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+//where the ruby ore of a dimension is, kept up to date when ore generates and when it is mined.
+//Only used from the server thread, the worldgen threads queue what they placed
+//and the queue is emptied at the end of every server tick
+public class RubyOreIndex {
+    private static final Map<ResourceKey<Level>, RubyOreIndex> INDEXES = new HashMap<>();
+    private static final Queue<Generated> GENERATED = new ConcurrentLinkedQueue<>();
+    private final ServerLevel level;
+    private final Long2ObjectOpenHashMap<RubyOreRegion> regions = new Long2ObjectOpenHashMap<>();
+    private final RubyOreRegionSet nonEmpty;
+
+    private RubyOreIndex(ServerLevel level) {
+        this.level = level;
+        this.nonEmpty = level.getDataStorage().computeIfAbsent(RubyOreRegionSet.factory(level), RubyOreRegionSet.FILE_NAME);
+    }
+
+    public static RubyOreIndex get(ServerLevel level) {
+        return INDEXES.computeIfAbsent(level.dimension(), dimension -> new RubyOreIndex(level));
+    }
+
+    public static void unload(ServerLevel level) {
+        INDEXES.remove(level.dimension());
+    }
+
+    //safe to call from worldgen threads, the first count positions are the ones that were placed
+    public static void recordGenerated(ServerLevel level, LongArrayList positions, int count) {
+        GENERATED.add(new Generated(level.dimension(), Arrays.copyOf(positions.elements(), count)));
+    }
+
+    public static void drainGenerated(MinecraftServer server) {
+        Generated generated;
+        while ((generated = GENERATED.poll()) != null) {
+            ServerLevel level = server.getLevel(generated.dimension());
+            if (level != null) {
+                RubyOreIndex index = get(level);
+                for (long pos : generated.positions()) {
+                    index.add(pos);
+                }
+            }
+        }
+    }
+
+    private RubyOreRegion region(long pos) {
+        return this.loadRegion(BlockPos.getX(pos) >> 9, BlockPos.getZ(pos) >> 9);
+    }
+
+    private RubyOreRegion loadRegion(int regionX, int regionZ) {
+        long key = ChunkPos.asLong(regionX, regionZ);
+        RubyOreRegion region = this.regions.get(key);
+        if (region == null) {
+            region = this.level.getDataStorage().computeIfAbsent(RubyOreRegion.factory(regionX, regionZ),
+                    RubyOreRegion.fileName(regionX, regionZ));
+            this.regions.put(key, region);
+        }
+        return region;
+    }
+
+    //the set of regions with ore follows every change
+    private void updateNonEmpty(RubyOreRegion region) {
+        this.nonEmpty.update(region.getKey(), region.size() > 0);
+    }
+
+    public void add(BlockPos pos) {
+        this.add(pos.asLong());
+    }
+
+    private void add(long pos) {
+        RubyOreRegion region = this.region(pos);
+        region.add(pos);
+        this.updateNonEmpty(region);
+    }
+
+    public void remove(BlockPos pos) {
+        RubyOreRegion region = this.region(pos.asLong());
+        region.remove(pos.asLong());
+        this.updateNonEmpty(region);
+    }
+
+    //every ruby ore in a chunk
+    private static LongOpenHashSet scan(LevelChunk chunk) {
+        Block ore = ModBlocks.RUBY_ORE.get();
+        LevelChunkSection[] sections = chunk.getSections();
+        LongOpenHashSet found = new LongOpenHashSet();
+        for (int i = 0; i < sections.length; i++) {
+            LevelChunkSection section = sections[i];
+            if (section.hasOnlyAir() || !section.getStates().maybeHas(state -> state.is(ore))) {
+                continue;
+            }
+            int bottom = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(i));
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (section.getBlockState(x, y, z).is(ore)) {
+                            found.add(BlockPos.asLong(chunk.getPos().getBlockX(x), bottom + y, chunk.getPos().getBlockZ(z)));
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    //the regions that overlap the searched square and have ore are taken nearest first, inside a region
+    //the chunks with ore nearest first, and both walks stop as soon as nothing closer can come.
+    //the work grows with the searched square and the ore near the answer, not with the size of the world
+    @Nullable
+    public BlockPos findNearest(BlockPos from, int maxChunkRadius) {
+        int centerX = SectionPos.blockToSectionCoord(from.getX());
+        int centerZ = SectionPos.blockToSectionCoord(from.getZ());
+        LongSet withOre = this.nonEmpty.getRegions();
+        List<Candidate> regions = new ArrayList<>();
+        for (int regionX = (centerX - maxChunkRadius) >> 5; regionX <= (centerX + maxChunkRadius) >> 5; regionX++) {
+            for (int regionZ = (centerZ - maxChunkRadius) >> 5; regionZ <= (centerZ + maxChunkRadius) >> 5; regionZ++) {
+                long key = ChunkPos.asLong(regionX, regionZ);
+                if (withOre.contains(key)) {
+                    regions.add(new Candidate(key, distanceSqr(from, regionX << 9, regionZ << 9, 512)));
+                }
+            }
+        }
+        regions.sort(Comparator.comparingLong(Candidate::distance));
+
+        long best = 0L;
+        long bestDistance = Long.MAX_VALUE;
+        for (Candidate candidate : regions) {
+            if (candidate.distance() > bestDistance) {
+                break;
+            }
+            RubyOreRegion region = this.loadRegion(ChunkPos.getX(candidate.key()), ChunkPos.getZ(candidate.key()));
+            List<Candidate> chunks = new ArrayList<>();
+            LongArrayList keys = region.getChunks();
+            for (int i = 0; i < keys.size(); i++) {
+                long chunk = keys.getLong(i);
+                int chunkX = ChunkPos.getX(chunk);
+                int chunkZ = ChunkPos.getZ(chunk);
+                if (Math.abs(chunkX - centerX) <= maxChunkRadius && Math.abs(chunkZ - centerZ) <= maxChunkRadius) {
+                    chunks.add(new Candidate(chunk, distanceSqr(from, chunkX << 4, chunkZ << 4, 16)));
+                }
+            }
+            chunks.sort(Comparator.comparingLong(Candidate::distance));
+            for (Candidate chunk : chunks) {
+                if (chunk.distance() > bestDistance) {
+                    break;
+                }
+                LongSet positions = this.positions(region, chunk.key());
+                if (positions == null) {
+                    continue;
+                }
+                for (LongIterator it = positions.iterator(); it.hasNext(); ) {
+                    long pos = it.nextLong();
+                    long dx = BlockPos.getX(pos) - from.getX();
+                    long dy = BlockPos.getY(pos) - from.getY();
+                    long dz = BlockPos.getZ(pos) - from.getZ();
+                    long distance = dx * dx + dy * dy + dz * dz;
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        best = pos;
+                    }
+                }
+            }
+            //left over from a region file that was emptied before the set existed, or emptied by a scan
+            this.updateNonEmpty(region);
+        }
+        return bestDistance == Long.MAX_VALUE ? null : BlockPos.of(best);
+    }
+
+    //the horizontal distance from pos to the nearest block of a square, 0 when pos is above or below it
+    private static long distanceSqr(BlockPos pos, int minX, int minZ, int size) {
+        long dx = Math.max(0, Math.max(minX - pos.getX(), pos.getX() - (minX + size - 1)));
+        long dz = Math.max(0, Math.max(minZ - pos.getZ(), pos.getZ() - (minZ + size - 1)));
+        return dx * dx + dz * dz;
+    }
+
+    //ore can also disappear without being mined, and older files only knew one ore per chunk.
+    //Loaded chunks are checked and scanned again when they are off
+    @Nullable
+    private LongSet positions(RubyOreRegion region, long chunk) {
+        LongSet positions = region.get(chunk);
+        int chunkX = ChunkPos.getX(chunk);
+        int chunkZ = ChunkPos.getZ(chunk);
+        if (positions == null || !this.level.hasChunk(chunkX, chunkZ)) {
+            return positions;
+        }
+        boolean stale = region.isPartial(chunk);
+        Block ore = ModBlocks.RUBY_ORE.get();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (LongIterator it = positions.iterator(); it.hasNext() && !stale; ) {
+            stale = !this.level.getBlockState(pos.set(it.nextLong())).is(ore);
+        }
+        if (stale) {
+            region.replace(chunk, scan(this.level.getChunk(chunkX, chunkZ)));
+            positions = region.get(chunk);
+        }
+        return positions;
+    }
+
+    private record Candidate(long key, long distance) {
+    }
+
+    private record Generated(ResourceKey<Level> dimension, long[] positions) {
+    }
+}
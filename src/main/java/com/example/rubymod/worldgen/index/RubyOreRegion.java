@@ -0,0 +1,158 @@
+package com.example.rubymod.worldgen.index;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.jetbrains.annotations.Nullable;
+
+//the ruby ore of one 32x32 chunk region: every ore block of every chunk that has some, as packed BlockPos longs.
+//On disk a position takes one int relative to the region, a few hundred ore blocks stay at a few KB.
+//every region is its own file so only the regions that changed are written on save
+public class RubyOreRegion extends SavedData {
+    private static final int Y_OFFSET = 2048;
+    private final int regionX;
+    private final int regionZ;
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> chunks = new Long2ObjectOpenHashMap<>();
+    //chunks from the older files that only kept one ore per chunk, they are scanned again the next time they are looked at loaded
+    private final LongOpenHashSet partial = new LongOpenHashSet();
+
+    public RubyOreRegion(int regionX, int regionZ) {
+        this.regionX = regionX;
+        this.regionZ = regionZ;
+    }
+
+    public static SavedData.Factory<RubyOreRegion> factory(int regionX, int regionZ) {
+        return new SavedData.Factory<>(() -> new RubyOreRegion(regionX, regionZ),
+                (tag, registries) -> load(tag, regionX, regionZ), null);
+    }
+
+    public static String fileName(int regionX, int regionZ) {
+        return "rubymod_ruby_ore_r." + regionX + "." + regionZ;
+    }
+
+    private static long chunkOf(long pos) {
+        return ChunkPos.asLong(SectionPos.blockToSectionCoord(BlockPos.getX(pos)), SectionPos.blockToSectionCoord(BlockPos.getZ(pos)));
+    }
+
+    //null when the chunk has no ruby ore recorded
+    @Nullable
+    public LongSet get(long chunk) {
+        return this.chunks.get(chunk);
+    }
+
+    public void add(long pos) {
+        if (this.put(pos)) {
+            this.setDirty();
+        }
+    }
+
+    private boolean put(long pos) {
+        return this.chunks.computeIfAbsent(chunkOf(pos), chunk -> new LongOpenHashSet()).add(pos);
+    }
+
+    public void remove(long pos) {
+        long chunk = chunkOf(pos);
+        LongOpenHashSet positions = this.chunks.get(chunk);
+        if (positions != null && positions.remove(pos)) {
+            if (positions.isEmpty()) {
+                this.chunks.remove(chunk);
+            }
+            this.setDirty();
+        }
+    }
+
+    //all the ore of a chunk after it was scanned
+    public void replace(long chunk, LongOpenHashSet positions) {
+        this.partial.remove(chunk);
+        if (positions.isEmpty()) {
+            this.chunks.remove(chunk);
+        } else {
+            this.chunks.put(chunk, positions);
+        }
+        this.setDirty();
+    }
+
+    public boolean isPartial(long chunk) {
+        return this.partial.contains(chunk);
+    }
+
+    public int size() {
+        return this.chunks.size();
+    }
+
+    public long getKey() {
+        return ChunkPos.asLong(this.regionX, this.regionZ);
+    }
+
+    //a copy, so chunks can be changed while walking it
+    public LongArrayList getChunks() {
+        return new LongArrayList(this.chunks.keySet());
+    }
+
+    //x and z inside the region in 9 bits each and y in 12 bits
+    private static int pack(long pos) {
+        return ((BlockPos.getX(pos) & 511) << 21) | ((BlockPos.getZ(pos) & 511) << 12) | ((BlockPos.getY(pos) + Y_OFFSET) & 4095);
+    }
+
+    private long unpack(int packed) {
+        return BlockPos.asLong((this.regionX << 9) + ((packed >>> 21) & 511), (packed & 4095) - Y_OFFSET,
+                (this.regionZ << 9) + ((packed >>> 12) & 511));
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries) {
+        int count = 0;
+        for (LongOpenHashSet positions : this.chunks.values()) {
+            count += positions.size();
+        }
+        int[] ores = new int[count];
+        int i = 0;
+        for (LongOpenHashSet positions : this.chunks.values()) {
+            for (LongIterator it = positions.iterator(); it.hasNext(); ) {
+                ores[i++] = pack(it.nextLong());
+            }
+        }
+        tag.put("ores", new IntArrayTag(ores));
+        tag.put("partial", new LongArrayTag(this.partial.toLongArray()));
+        return tag;
+    }
+
+    private static RubyOreRegion load(CompoundTag tag, int regionX, int regionZ) {
+        RubyOreRegion region = new RubyOreRegion(regionX, regionZ);
+        for (int packed : tag.getIntArray("ores")) {
+            region.put(region.unpack(packed));
+        }
+        for (long chunk : tag.getLongArray("partial")) {
+            region.partial.add(chunk);
+        }
+        //the older files kept one ore and the count per chunk: 10 bits of chunk inside the region,
+        //the count from bit 20, y in 12 bits and x and z inside the chunk in 4 bits each
+        for (long packed : tag.getLongArray("chunks")) {
+            int index = (int) (packed >>> 40);
+            int chunkX = (regionX << 5) + (index >>> 5);
+            int chunkZ = (regionZ << 5) + (index & 31);
+            long pos = BlockPos.asLong(SectionPos.sectionToBlockCoord(chunkX) + (int) ((packed >>> 4) & 15),
+                    (int) ((packed >>> 8) & 4095) - Y_OFFSET, SectionPos.sectionToBlockCoord(chunkZ) + (int) (packed & 15));
+            region.put(pos);
+            if (((packed & ((1L << 40) - 1)) >>> 20) > 1) {
+                region.partial.add(ChunkPos.asLong(chunkX, chunkZ));
+            }
+        }
+        if (tag.contains("chunks")) {
+            //written again in the new format
+            region.setDirty();
+        }
+        return region;
+    }
+}
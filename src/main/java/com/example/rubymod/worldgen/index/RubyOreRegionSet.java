@@ -0,0 +1,84 @@
+package com.example.rubymod.worldgen.index;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.dimension.DimensionType;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.storage.LevelResource;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+//the regions of a dimension that have ruby ore recorded, so looking for ore only opens region files that have some
+public class RubyOreRegionSet extends SavedData {
+    public static final String FILE_NAME = "rubymod_ruby_ore_regions";
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String REGION_PREFIX = "rubymod_ruby_ore_r.";
+    private final LongOpenHashSet regions = new LongOpenHashSet();
+
+    public static SavedData.Factory<RubyOreRegionSet> factory(ServerLevel level) {
+        return new SavedData.Factory<>(() -> fromRegionFiles(level), (tag, registries) -> load(tag), null);
+    }
+
+    public LongSet getRegions() {
+        return this.regions;
+    }
+
+    public void update(long region, boolean hasOre) {
+        if (hasOre ? this.regions.add(region) : this.regions.remove(region)) {
+            this.setDirty();
+        }
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries) {
+        tag.put("regions", new LongArrayTag(this.regions.toLongArray()));
+        return tag;
+    }
+
+    private static RubyOreRegionSet load(CompoundTag tag) {
+        RubyOreRegionSet set = new RubyOreRegionSet();
+        for (long region : tag.getLongArray("regions")) {
+            set.regions.add(region);
+        }
+        return set;
+    }
+
+    //worlds saved before the set existed already have region files, every one of them is taken in.
+    //Regions that turn out to be empty are dropped the first time they are looked at
+    private static RubyOreRegionSet fromRegionFiles(ServerLevel level) {
+        RubyOreRegionSet set = new RubyOreRegionSet();
+        Path data = DimensionType.getStorageFolder(level.dimension(), level.getServer().getWorldPath(LevelResource.ROOT))
+                .resolve("data");
+        if (!Files.isDirectory(data)) {
+            return set;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(data, REGION_PREFIX + "*.dat")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String[] coords = name.substring(REGION_PREFIX.length(), name.length() - ".dat".length()).split("\\.");
+                if (coords.length == 2) {
+                    try {
+                        set.regions.add(ChunkPos.asLong(Integer.parseInt(coords[0]), Integer.parseInt(coords[1])));
+                    } catch (NumberFormatException e) {
+                        LOGGER.warn("Ignoring ruby ore region file {}", name);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Could not list the ruby ore regions in {}", data, e);
+        }
+        set.setDirty();
+        return set;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.rubymod.worldgen.placement;
+
+import com.example.rubymod.worldgen.ModPlacementModifiers;
+import com.mojang.serialization.MapCodec;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.tags.TagKey;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.placement.PlacementContext;
+import net.minecraft.world.level.levelgen.placement.PlacementFilter;
+import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
+
+import java.util.concurrent.atomic.LongAdder;
+
+//throws away a placement attempt when the section it lands in has no block of the tag in its palette,
+//so ores are not even tried in sections that are only air, water or deepslate
+public class SectionPaletteFilter extends PlacementFilter {
+    public static final MapCodec<SectionPaletteFilter> CODEC = TagKey.codec(Registries.BLOCK).fieldOf("tag")
+            .xmap(SectionPaletteFilter::new, filter -> filter.tag);
+    //chunks generate on several worker threads at once
+    private static final LongAdder PASSED = new LongAdder();
+    private static final LongAdder SKIPPED = new LongAdder();
+    private final TagKey<Block> tag;
+
+    private SectionPaletteFilter(TagKey<Block> tag) {
+        this.tag = tag;
+    }
+
+    public static SectionPaletteFilter of(TagKey<Block> tag) {
+        return new SectionPaletteFilter(tag);
+    }
+
+    @Override
+    protected boolean shouldPlace(PlacementContext context, RandomSource random, BlockPos pos) {
+        ChunkAccess chunk = context.getLevel().getChunk(pos);
+        int index = chunk.getSectionIndex(pos.getY());
+        if (index >= 0 && index < chunk.getSectionsCount()) {
+            LevelChunkSection section = chunk.getSection(index);
+            if (!section.hasOnlyAir() && section.getStates().maybeHas(state -> state.is(this.tag))) {
+                PASSED.increment();
+                return true;
+            }
+        }
+        SKIPPED.increment();
+        return false;
+    }
+
+    @Override
+    public PlacementModifierType<?> type() {
+        return ModPlacementModifiers.SECTION_PALETTE_FILTER.get();
+    }
+
+    public static long getPassed() {
+        return PASSED.sum();
+    }
+
+    public static long getSkipped() {
+        return SKIPPED.sum();
+    }
+
+    public static void resetStats() {
+        PASSED.reset();
+        SKIPPED.reset();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.rubymod.worldgen.pregen;
+
+import com.example.rubymod.Config;
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.metrics.ModMetrics;
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
+
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.status.ChunkStatus;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+//generates every chunk of a square without blocking the server thread:
+//chunks are requested asynchronously, at most one per worldgen thread at a time,
+//and fewer when the server tick gets slower than the configured ceiling
+@Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class ChunkPregenerator {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final TicketType<ChunkPos> TICKET = TicketType.create("rubymod_pregen", Comparator.comparingLong(ChunkPos::toLong));
+    //the vanilla worldgen executor has one thread less than the machine has cores
+    private static final int WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private static final long REPORT_INTERVAL_NANOS = 10_000_000_000L;
+    @Nullable
+    private static ChunkPregenerator running;
+
+    private final ServerLevel level;
+    private final PregenTask task;
+    private final IntRBTreeSet inFlight = new IntRBTreeSet();
+    //futures complete on other threads, the tickets are only touched on the server thread
+    private final Queue<Finished> finished = new ConcurrentLinkedQueue<>();
+    private final long startedAt = System.nanoTime();
+    private final int startIndex;
+    private int next;
+    private int limit = WORKERS;
+    private long lastReport = System.nanoTime();
+
+    private ChunkPregenerator(ServerLevel level, PregenTask task) {
+        this.level = level;
+        this.task = task;
+        this.next = task.getResumeIndex();
+        this.startIndex = this.next;
+    }
+
+    public static PregenTask getTask(MinecraftServer server) {
+        return server.overworld().getDataStorage().computeIfAbsent(PregenTask.factory(), PregenTask.FILE_NAME);
+    }
+
+    @Nullable
+    public static ChunkPregenerator getRunning() {
+        return running;
+    }
+
+    public static void start(ServerLevel level, ChunkPos center, int radius) {
+        //the old run releases its tickets while the task still has the old square, chunkAt gives their positions
+        stopRunning();
+        PregenTask task = getTask(level.getServer());
+        task.start(level.dimension().location().toString(), center, radius);
+        running = new ChunkPregenerator(level, task);
+        LOGGER.info("Pregenerating {} chunks around {} in {}", task.total(), center, task.getDimension());
+    }
+
+    public static boolean stop(MinecraftServer server) {
+        PregenTask task = getTask(server);
+        boolean wasActive = task.isActive();
+        task.finish();
+        stopRunning();
+        return wasActive;
+    }
+
+    private static void stopRunning() {
+        if (running != null) {
+            running.releaseTickets();
+            running = null;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        PregenTask task = getTask(event.getServer());
+        if (!task.isActive()) {
+            return;
+        }
+        ResourceKey<Level> dimension = ResourceKey.create(Registries.DIMENSION, ResourceLocation.parse(task.getDimension()));
+        ServerLevel level = event.getServer().getLevel(dimension);
+        if (level == null) {
+            LOGGER.warn("Pregeneration of {} can not resume, the dimension is gone", task.getDimension());
+            task.finish();
+            return;
+        }
+        running = new ChunkPregenerator(level, task);
+        LOGGER.info("Resuming pregeneration in {} at chunk {} of {}", task.getDimension(), task.getResumeIndex(), task.total());
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent.Post event) {
+        if (running == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (running.tick(event.getServer())) {
+            running = null;
+        }
+        ModMetrics.PREGEN_TICK.observeNanos(System.nanoTime() - start);
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        //the task stays active in the saved data and continues on the next start
+        running = null;
+    }
+
+    //returns true once every chunk is generated
+    private boolean tick(MinecraftServer server) {
+        Finished done;
+        while ((done = this.finished.poll()) != null) {
+            this.level.getChunkSource().removeRegionTicket(TICKET, done.pos(), 0, done.pos());
+            this.inFlight.remove(done.index());
+        }
+
+        //backs off one task at a time while the server is over the ceiling and climbs back the same way
+        double mspt = server.getAverageTickTimeNanos() / 1.0E6;
+        double ceiling = Config.values().pregenMsptCeiling();
+        if (mspt > ceiling) {
+            this.limit = Math.max(1, this.limit - 1);
+        } else {
+            this.limit = Math.min(WORKERS, this.limit + 1);
+        }
+        int total = this.task.total();
+        if (mspt <= ceiling) {
+            while (this.inFlight.size() < this.limit && this.next < total) {
+                this.submit(this.next++);
+            }
+        }
+
+        //everything before the oldest chunk still in flight is generated
+        this.task.setResumeIndex(this.inFlight.isEmpty() ? this.next : this.inFlight.firstInt());
+        if (System.nanoTime() - this.lastReport > REPORT_INTERVAL_NANOS) {
+            this.lastReport = System.nanoTime();
+            LOGGER.info(this.progress(server));
+        }
+        if (this.next >= total && this.inFlight.isEmpty()) {
+            this.task.finish();
+            LOGGER.info("Pregeneration of {} chunks finished", total);
+            return true;
+        }
+        return false;
+    }
+
+    private void submit(int index) {
+        ChunkPos pos = this.task.chunkAt(index);
+        this.inFlight.add(index);
+        //the ticket keeps the chunk loaded until it is fully generated, after that it can unload and save
+        this.level.getChunkSource().addRegionTicket(TICKET, pos, 0, pos);
+        this.level.getChunkSource().getChunkFuture(pos.x, pos.z, ChunkStatus.FULL, true)
+                .whenComplete((result, error) -> this.finished.add(new Finished(index, pos)));
+    }
+
+    private void releaseTickets() {
+        for (int index : this.inFlight) {
+            ChunkPos pos = this.task.chunkAt(index);
+            this.level.getChunkSource().removeRegionTicket(TICKET, pos, 0, pos);
+        }
+        this.inFlight.clear();
+    }
+
+    public String progress(MinecraftServer server) {
+        int total = this.task.total();
+        int done = this.task.getResumeIndex();
+        double seconds = (System.nanoTime() - this.startedAt) / 1.0E9;
+        double rate = seconds > 0 ? (done - this.startIndex) / seconds : 0;
+        return String.format("Pregen %s: %d/%d chunks (%.1f%%), %.1f chunks/s, %d in flight, %.1f mspt",
+                this.task.getDimension(), done, total, done * 100.0 / total, rate, this.inFlight.size(),
+                server.getAverageTickTimeNanos() / 1.0E6);
+    }
+
+    private record Finished(int index, ChunkPos pos) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.rubymod.worldgen.pregen;
+
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.saveddata.SavedData;
+
+//the pregeneration that is running, saved with the overworld so it can carry on after a restart.
+//Chunks are numbered in a square spiral around the center, resumeIndex is the first one not done yet
+public class PregenTask extends SavedData {
+    public static final String FILE_NAME = "rubymod_pregen";
+    private boolean active;
+    private String dimension = "";
+    private int centerX;
+    private int centerZ;
+    private int radius;
+    private int resumeIndex;
+
+    public static SavedData.Factory<PregenTask> factory() {
+        return new SavedData.Factory<>(PregenTask::new, PregenTask::load, null);
+    }
+
+    public void start(String dimension, ChunkPos center, int radius) {
+        this.active = true;
+        this.dimension = dimension;
+        this.centerX = center.x;
+        this.centerZ = center.z;
+        this.radius = radius;
+        this.resumeIndex = 0;
+        this.setDirty();
+    }
+
+    public void finish() {
+        this.active = false;
+        this.setDirty();
+    }
+
+    public boolean isActive() {
+        return this.active;
+    }
+
+    public String getDimension() {
+        return this.dimension;
+    }
+
+    public int getRadius() {
+        return this.radius;
+    }
+
+    public int getResumeIndex() {
+        return this.resumeIndex;
+    }
+
+    public void setResumeIndex(int resumeIndex) {
+        if (this.resumeIndex != resumeIndex) {
+            this.resumeIndex = resumeIndex;
+            this.setDirty();
+        }
+    }
+
+    public int total() {
+        int size = this.radius * 2 + 1;
+        return size * size;
+    }
+
+    //index 0 is the center, then every ring around it in turn, so the closest chunks are done first
+    public ChunkPos chunkAt(int index) {
+        if (index == 0) {
+            return new ChunkPos(this.centerX, this.centerZ);
+        }
+        int ring = (int) Math.ceil((Math.sqrt(index + 1) - 1) / 2);
+        int side = ring * 2;
+        int last = (side + 1) * (side + 1) - 1;
+        int p = last - index;
+        int x;
+        int z;
+        if (p < side) {
+            x = ring - p;
+            z = ring;
+        } else if (p < side * 2) {
+            x = -ring;
+            z = ring - (p - side);
+        } else if (p < side * 3) {
+            x = -ring + (p - side * 2);
+            z = -ring;
+        } else {
+            x = ring;
+            z = -ring + (p - side * 3);
+        }
+        return new ChunkPos(this.centerX + x, this.centerZ + z);
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries) {
+        tag.putBoolean("active", this.active);
+        tag.putString("dimension", this.dimension);
+        tag.putInt("centerX", this.centerX);
+        tag.putInt("centerZ", this.centerZ);
+        tag.putInt("radius", this.radius);
+        tag.putInt("resumeIndex", this.resumeIndex);
+        return tag;
+    }
+
+    private static PregenTask load(CompoundTag tag, HolderLookup.Provider registries) {
+        PregenTask task = new PregenTask();
+        task.active = tag.getBoolean("active");
+        task.dimension = tag.getString("dimension");
+        task.centerX = tag.getInt("centerX");
+        task.centerZ = tag.getInt("centerZ");
+        task.radius = tag.getInt("radius");
+        task.resumeIndex = tag.getInt("resumeIndex");
+        return task;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.rubymod.worldgen.retrogen;
+
+import com.example.rubymod.Config;
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.metrics.ModMetrics;
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.status.ChunkStatus;
+import net.minecraft.world.level.dimension.DimensionType;
+import net.minecraft.world.level.storage.LevelResource;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+//goes through every chunk saved in the region files of a dimension, one region file at a time,
+//and loads it so chunks without the worldgen version get their ruby right away
+//instead of waiting for a player to walk there. The ore itself is placed by RubyRetrogen's queue,
+//only a few chunks are loaded at a time and each one stays loaded until it is done
+@Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class RetrogenBatch {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final TicketType<ChunkPos> TICKET = TicketType.create("rubymod_retrogen", Comparator.comparingLong(ChunkPos::toLong));
+    private static final Pattern REGION_FILE = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+    private static final int WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    @Nullable
+    private static RetrogenBatch running;
+
+    private final ServerLevel level;
+    private final ArrayDeque<Path> regionFiles;
+    private final LongArrayList chunks = new LongArrayList();
+    private final LongOpenHashSet inFlight = new LongOpenHashSet();
+    private final Queue<ChunkPos> finished = new ConcurrentLinkedQueue<>();
+    //loaded chunks still waiting for RubyRetrogen, they keep their ticket until it is done with them
+    private final ArrayList<ChunkPos> waiting = new ArrayList<>();
+    private final int regionCount;
+    private int chunkIndex;
+    private long loaded;
+
+    private RetrogenBatch(ServerLevel level, ArrayDeque<Path> regionFiles) {
+        this.level = level;
+        this.regionFiles = regionFiles;
+        this.regionCount = regionFiles.size();
+    }
+
+    public static int start(ServerLevel level) throws IOException {
+        Path regionFolder = DimensionType.getStorageFolder(level.dimension(), level.getServer().getWorldPath(LevelResource.ROOT))
+                .resolve("region");
+        ArrayDeque<Path> files = new ArrayDeque<>();
+        if (Files.isDirectory(regionFolder)) {
+            try (Stream<Path> list = Files.list(regionFolder)) {
+                list.filter(path -> REGION_FILE.matcher(path.getFileName().toString()).matches()).sorted().forEach(files::add);
+            }
+        }
+        stop();
+        running = new RetrogenBatch(level, files);
+        LOGGER.info("Retrogen batch started over {} region files of {}", files.size(), level.dimension().location());
+        return files.size();
+    }
+
+    public static boolean stop() {
+        if (running == null) {
+            return false;
+        }
+        running.releaseTickets();
+        running = null;
+        return true;
+    }
+
+    @Nullable
+    public static RetrogenBatch getRunning() {
+        return running;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent.Post event) {
+        if (running == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (running.tick(event.getServer())) {
+            LOGGER.info("Retrogen batch finished, {} chunks loaded", running.loaded);
+            running = null;
+        }
+        ModMetrics.RETROGEN_BATCH_TICK.observeNanos(System.nanoTime() - start);
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        running = null;
+    }
+
+    private boolean tick(MinecraftServer server) {
+        ChunkPos pos;
+        while ((pos = this.finished.poll()) != null) {
+            this.waiting.add(pos);
+        }
+        //loading queued the chunk with RubyRetrogen, which places the ore once the 3x3 around it is loaded
+        //and within its time budget. The ticket keeps that 3x3 loaded until then
+        for (int i = this.waiting.size() - 1; i >= 0; i--) {
+            pos = this.waiting.get(i);
+            if (RubyRetrogen.isPending(this.level, pos) && this.level.getChunkSource().getChunkNow(pos.x, pos.z) != null) {
+                continue;
+            }
+            this.waiting.remove(i);
+            this.level.getChunkSource().removeRegionTicket(TICKET, pos, 1, pos);
+            this.inFlight.remove(pos.toLong());
+            this.loaded++;
+        }
+        if (server.getAverageTickTimeNanos() / 1.0E6 > Config.values().pregenMsptCeiling()) {
+            return false;
+        }
+        while (this.inFlight.size() < WORKERS && this.nextChunk()) {
+            ChunkPos next = new ChunkPos(this.chunks.getLong(this.chunkIndex++));
+            this.inFlight.add(next.toLong());
+            //distance 1 makes the chunk and all its neighbours full chunks
+            this.level.getChunkSource().addRegionTicket(TICKET, next, 1, next);
+            this.level.getChunkSource().getChunkFuture(next.x, next.z, ChunkStatus.FULL, true)
+                    .whenComplete((result, error) -> this.finished.add(next));
+        }
+        return this.inFlight.isEmpty() && !this.nextChunk();
+    }
+
+    //reads the header of the next region file once the chunks of the current one are used up
+    private boolean nextChunk() {
+        while (this.chunkIndex >= this.chunks.size()) {
+            Path file = this.regionFiles.poll();
+            if (file == null) {
+                return false;
+            }
+            this.chunks.clear();
+            this.chunkIndex = 0;
+            readHeader(file, this.chunks);
+        }
+        return true;
+    }
+
+    //the first 4 KiB of a region file hold one offset per chunk, 0 means the chunk was never saved
+    private static void readHeader(Path file, LongArrayList out) {
+        Matcher matcher = REGION_FILE.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            return;
+        }
+        int regionX = Integer.parseInt(matcher.group(1));
+        int regionZ = Integer.parseInt(matcher.group(2));
+        ByteBuffer header = ByteBuffer.allocate(4096);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) > 0) {
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not read region file {}", file, e);
+            return;
+        }
+        header.flip();
+        for (int i = 0; i < 1024 && header.remaining() >= 4; i++) {
+            if (header.getInt() != 0) {
+                out.add(ChunkPos.asLong((regionX << 5) + (i & 31), (regionZ << 5) + (i >> 5)));
+            }
+        }
+    }
+
+    private void releaseTickets() {
+        for (long chunk : this.inFlight) {
+            ChunkPos pos = new ChunkPos(chunk);
+            this.level.getChunkSource().removeRegionTicket(TICKET, pos, 1, pos);
+        }
+    }
+
+    public String progress() {
+        return "Retrogen batch: " + (this.regionCount - this.regionFiles.size()) + "/" + this.regionCount + " region files, "
+                + this.loaded + " chunks loaded, " + RubyRetrogen.getRetrogenerated() + " chunks given ruby";
+    }
+}
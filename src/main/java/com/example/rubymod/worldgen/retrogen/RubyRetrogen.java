@@ -0,0 +1,196 @@
+package com.example.rubymod.worldgen.retrogen;
+
+import com.example.rubymod.Config;
+import com.example.rubymod.RubyMod;
+import com.example.rubymod.blocks.ModBlocks;
+import com.example.rubymod.metrics.ModMetrics;
+import com.example.rubymod.worldgen.ModPlacedFeatures;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.status.ChunkType;
+import net.minecraft.world.level.levelgen.GenerationStep;
+import net.minecraft.world.level.levelgen.RandomSupport;
+import net.minecraft.world.level.levelgen.WorldgenRandom;
+import net.minecraft.world.level.levelgen.XoroshiroRandomSource;
+import net.minecraft.world.level.levelgen.placement.PlacedFeature;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.ChunkDataEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//adds ruby ore to chunks that were generated before the mod was installed.
+//Every chunk saved by the mod gets a worldgen version in its data, a full chunk loaded without it
+//is queued and gets the ruby placed features once it and its neighbours are loaded,
+//a few chunks per tick until the tick budget is used up
+@Mod.EventBusSubscriber(modid = RubyMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class RubyRetrogen {
+    public static final String VERSION_TAG = "rubymod:worldgen_version";
+    public static final int CURRENT_VERSION = 1;
+    private static final List<ResourceKey<PlacedFeature>> FEATURES =
+            List.of(ModPlacedFeatures.RUBY_ORE_PLACED_KEY, ModPlacedFeatures.RUBY_ORE_RIBBON_PLACED_KEY);
+    //chunks read from disk without the current version, the save event can come from another thread
+    private static final Map<ResourceKey<Level>, Set<Long>> PENDING = new ConcurrentHashMap<>();
+    //pending chunks that were unloaded this tick, so the save that follows the unload leaves out the version.
+    //Only loaded chunks stay in PENDING, the others are found again by their missing version when they load
+    private static final Set<Long> UNLOADING = ConcurrentHashMap.newKeySet();
+    //only touched on the server thread
+    private static final ArrayDeque<Queued> QUEUE = new ArrayDeque<>();
+    private static final AtomicLong RETROGENERATED = new AtomicLong();
+
+    private static Set<Long> pending(ResourceKey<Level> dimension) {
+        return PENDING.computeIfAbsent(dimension, key -> ConcurrentHashMap.newKeySet());
+    }
+
+    public static boolean isPending(ServerLevel level, ChunkPos pos) {
+        return pending(level.dimension()).contains(pos.toLong());
+    }
+
+    public static long getRetrogenerated() {
+        return RETROGENERATED.get();
+    }
+
+    public static int getQueued() {
+        return QUEUE.size();
+    }
+
+    @SubscribeEvent
+    public static void onChunkDataLoad(ChunkDataEvent.Load event) {
+        if (!Config.values().retrogenEnabled() || event.getType() != ChunkType.LEVELCHUNK || !(event.getLevel() instanceof ServerLevel level)) {
+            return;
+        }
+        if (event.getData().getInt(VERSION_TAG) < CURRENT_VERSION) {
+            pending(level.dimension()).add(event.getChunk().getPos().toLong());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel level && event.getChunk() instanceof LevelChunk chunk && isPending(level, chunk.getPos())) {
+            QUEUE.add(new Queued(level.dimension(), chunk.getPos().toLong()));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            long pos = event.getChunk().getPos().toLong();
+            if (pending(level.dimension()).remove(pos)) {
+                UNLOADING.add(pos);
+            }
+        }
+    }
+
+    //chunks still waiting are saved without a version so they are picked up again on the next load
+    @SubscribeEvent
+    public static void onChunkDataSave(ChunkDataEvent.Save event) {
+        if (event.getLevel() instanceof ServerLevel level && !isPending(level, event.getChunk().getPos())
+                && !UNLOADING.contains(event.getChunk().getPos().toLong())) {
+            event.getData().putInt(VERSION_TAG, CURRENT_VERSION);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            PENDING.remove(level.dimension());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent.Post event) {
+        //unloading chunks are saved right after their unload event, within the same tick
+        UNLOADING.clear();
+        if (QUEUE.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + Config.values().retrogenBudgetMicros() * 1000L;
+        //every queued chunk is looked at once per tick at most
+        int remaining = QUEUE.size();
+        while (remaining-- > 0 && System.nanoTime() < deadline) {
+            Queued queued = QUEUE.poll();
+            ServerLevel level = event.getServer().getLevel(queued.dimension());
+            if (level == null) {
+                continue;
+            }
+            int x = ChunkPos.getX(queued.pos());
+            int z = ChunkPos.getZ(queued.pos());
+            LevelChunk chunk = level.getChunkSource().getChunkNow(x, z);
+            if (chunk == null || !isPending(level, chunk.getPos())) {
+                //unloaded again, it was saved without the version and comes back the next time it loads
+                continue;
+            }
+            if (!neighboursLoaded(level, x, z)) {
+                QUEUE.add(queued);
+                continue;
+            }
+            apply(level, chunk);
+        }
+        ModMetrics.RETROGEN_TICK.observeNanos(System.nanoTime() - start);
+    }
+
+    //veins reach into the neighbouring chunks, they have to be loaded so nothing gets cut off
+    private static boolean neighboursLoaded(ServerLevel level, int x, int z) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                if (!level.hasChunk(x + dx, z + dz)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void apply(ServerLevel level, LevelChunk chunk) {
+        ChunkPos pos = chunk.getPos();
+        pending(level.dimension()).remove(pos.toLong());
+        chunk.setUnsaved(true);
+        //chunks from an older version of the mod have no version but already have ruby
+        if (hasRuby(chunk)) {
+            return;
+        }
+        BlockPos origin = new BlockPos(pos.getMinBlockX(), level.getMinBuildHeight(), pos.getMinBlockZ());
+        WorldgenRandom random = new WorldgenRandom(new XoroshiroRandomSource(RandomSupport.generateUniqueSeed()));
+        long seed = random.setDecorationSeed(level.getSeed(), origin.getX(), origin.getZ());
+        var registry = level.registryAccess().registryOrThrow(Registries.PLACED_FEATURE);
+        for (int i = 0; i < FEATURES.size(); i++) {
+            Holder<PlacedFeature> feature = registry.getHolder(FEATURES.get(i)).orElse(null);
+            if (feature != null) {
+                random.setFeatureSeed(seed, i, GenerationStep.Decoration.UNDERGROUND_ORES.ordinal());
+                feature.value().placeWithBiomeCheck(level, level.getChunkSource().getGenerator(), random, origin);
+            }
+        }
+        RETROGENERATED.incrementAndGet();
+    }
+
+    private static boolean hasRuby(LevelChunk chunk) {
+        Block ore = ModBlocks.RUBY_ORE.get();
+        for (LevelChunkSection section : chunk.getSections()) {
+            if (!section.hasOnlyAir() && section.getStates().maybeHas(state -> state.is(ore))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Queued(ResourceKey<Level> dimension, long pos) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.rubymod.entity.client;
+
+import net.minecraft.client.animation.AnimationDefinition;
+import net.minecraft.client.animation.KeyframeAnimations;
+import net.minecraft.client.model.HierarchicalModel;
+import net.minecraft.client.model.geom.ModelPart;
+import net.minecraft.world.entity.Entity;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//the baked tables have to pose the model the same way KeyframeAnimations does with the keyframes
+class BakedAnimationTest {
+    //linear keyframes are exact between two baked frames
+    private static final float POSITION_TOLERANCE = 1.0E-3F;
+    //catmull-rom curves are blended linearly between two baked frames, at 20 fps that is far below a tenth of a degree
+    private static final float ROTATION_TOLERANCE = 2.0E-3F;
+    //not a divisor of the 50 ms between baked frames, so most samples fall between two of them
+    private static final long STEP_MILLIS = 7;
+
+    @Test
+    void walkingMatchesKeyframes() {
+        compare(ElephantAnimations.WALKING, ElephantAnimations.WALKING_BAKED);
+    }
+
+    @Test
+    void idleMatchesKeyframes() {
+        compare(ElephantAnimations.IDLE, ElephantAnimations.IDLE_BAKED);
+    }
+
+    @Test
+    void scaledWalkingMatchesKeyframes() {
+        TestModel live = new TestModel();
+        TestModel baked = new TestModel();
+        ModelPart[] bound = ElephantAnimations.WALKING_BAKED.bind(baked);
+        Vector3f scratch = new Vector3f();
+        for (long millis = 0; millis <= 2000; millis += STEP_MILLIS) {
+            live.resetPose();
+            baked.resetPose();
+            KeyframeAnimations.animate(live, ElephantAnimations.WALKING, millis, 0.4F, scratch);
+            ElephantAnimations.WALKING_BAKED.apply(bound, ElephantAnimations.WALKING_BAKED.seconds(millis), 0.4F, scratch);
+            assertSamePose(live, baked, millis);
+        }
+    }
+
+    //runs through two loops so the wrap around at the end is checked as well
+    private static void compare(AnimationDefinition definition, BakedAnimation animation) {
+        TestModel live = new TestModel();
+        TestModel baked = new TestModel();
+        ModelPart[] bound = animation.bind(baked);
+        Vector3f scratch = new Vector3f();
+        long length = (long) (definition.lengthInSeconds() * 1000.0F);
+        for (long millis = 0; millis <= length * 2; millis += STEP_MILLIS) {
+            live.resetPose();
+            baked.resetPose();
+            KeyframeAnimations.animate(live, definition, millis, 1.0F, scratch);
+            animation.apply(bound, animation.seconds(millis), 1.0F, scratch);
+            assertSamePose(live, baked, millis);
+        }
+    }
+
+    private static void assertSamePose(TestModel expected, TestModel actual, long millis) {
+        List<ModelPart> expectedParts = expected.root().getAllParts().toList();
+        List<ModelPart> actualParts = actual.root().getAllParts().toList();
+        assertEquals(expectedParts.size(), actualParts.size());
+        for (int i = 0; i < expectedParts.size(); i++) {
+            ModelPart e = expectedParts.get(i);
+            ModelPart a = actualParts.get(i);
+            String where = "part " + i + " at " + millis + " ms";
+            assertEquals(e.x, a.x, POSITION_TOLERANCE, where);
+            assertEquals(e.y, a.y, POSITION_TOLERANCE, where);
+            assertEquals(e.z, a.z, POSITION_TOLERANCE, where);
+            assertEquals(e.xRot, a.xRot, ROTATION_TOLERANCE, where);
+            assertEquals(e.yRot, a.yRot, ROTATION_TOLERANCE, where);
+            assertEquals(e.zRot, a.zRot, ROTATION_TOLERANCE, where);
+        }
+    }
+
+    //the elephant's part tree without the entity, the render type is never used
+    private static class TestModel extends HierarchicalModel<Entity> {
+        private final ModelPart root = ElephantModel.createBodyLayer().bakeRoot();
+
+        TestModel() {
+            super(location -> null);
+        }
+
+        void resetPose() {
+            this.root.getAllParts().forEach(ModelPart::resetPose);
+        }
+
+        @Override
+        public ModelPart root() {
+            return this.root;
+        }
+
+        @Override
+        public void setupAnim(Entity entity, float limbSwing, float limbSwingAmount, float ageInTicks, float netHeadYaw, float headPitch) {
+        }
+    }
+}
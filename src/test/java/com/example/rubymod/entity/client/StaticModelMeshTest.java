@@ -0,0 +1,142 @@
+package com.example.rubymod.entity.client;
+
+import com.example.rubymod.entity.custom.ElephantEntity;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.math.Axis;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import net.minecraft.client.model.geom.ModelPart;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+//the baked mesh has to produce the vertices the ModelPart tree walk would have drawn
+class StaticModelMeshTest {
+    private static final int STRIDE = 8;
+    private static final float TOLERANCE = 1.0E-4F;
+    private static final int LIGHT = 0xF000F0;
+
+    @Test
+    void meshMatchesTreeWalk() {
+        compareStaticParts(new PoseStack());
+    }
+
+    @Test
+    void meshMatchesTreeWalkUnderATransform() {
+        PoseStack poseStack = new PoseStack();
+        poseStack.translate(1.5F, -2.0F, 0.25F);
+        poseStack.mulPose(Axis.YP.rotationDegrees(37.0F));
+        poseStack.mulPose(Axis.XP.rotationDegrees(-12.0F));
+        poseStack.scale(-1.0F, -1.0F, 1.0F);
+        compareStaticParts(poseStack);
+    }
+
+    //the model draws the mesh and then the animated parts, together that has to be the whole tree
+    @Test
+    void modelDrawsTheWholeTree() {
+        ModelPart root = ElephantModel.createBodyLayer().bakeRoot();
+        ElephantModel<ElephantEntity> model = new ElephantModel<>(root);
+        PoseStack poseStack = new PoseStack();
+        poseStack.mulPose(Axis.ZP.rotationDegrees(180.0F));
+
+        Recorder expected = new Recorder();
+        root.render(poseStack, expected, LIGHT, OverlayTexture.NO_OVERLAY, -1);
+        Recorder actual = new Recorder();
+        model.renderToBuffer(poseStack, actual, LIGHT, OverlayTexture.NO_OVERLAY, -1);
+
+        assertEquals(expected.data.size(), actual.data.size());
+        //the order differs, so every expected vertex is matched with a drawn one that was not used yet
+        int count = expected.data.size() / STRIDE;
+        boolean[] used = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            boolean found = false;
+            for (int j = 0; j < count && !found; j++) {
+                if (!used[j] && sameVertex(expected.data, i, actual.data, j)) {
+                    used[j] = true;
+                    found = true;
+                }
+            }
+            if (!found) {
+                fail("vertex " + i + " of the tree walk was not drawn by the model");
+            }
+        }
+    }
+
+    private static void compareStaticParts(PoseStack poseStack) {
+        ModelPart root = ElephantModel.createBodyLayer().bakeRoot();
+        StaticModelMesh mesh = StaticModelMesh.bake(root, ElephantModel.ANIMATED_PARTS);
+        //the mesh replaces the tree walk with the animated parts left out
+        ElephantModel<ElephantEntity> model = new ElephantModel<>(root);
+        for (String name : ElephantModel.ANIMATED_PARTS) {
+            model.getAnyDescendantWithName(name).orElseThrow().visible = false;
+        }
+
+        Recorder expected = new Recorder();
+        root.render(poseStack, expected, LIGHT, OverlayTexture.NO_OVERLAY, -1);
+        Recorder actual = new Recorder();
+        mesh.render(poseStack.last(), actual, LIGHT, OverlayTexture.NO_OVERLAY, -1);
+
+        assertTrue(mesh.vertexCount() > 0);
+        assertEquals(expected.data.size() / STRIDE, mesh.vertexCount());
+        assertEquals(expected.data.size(), actual.data.size());
+        for (int i = 0; i < expected.data.size(); i++) {
+            assertEquals(expected.data.getFloat(i), actual.data.getFloat(i), TOLERANCE,
+                    "vertex " + i / STRIDE + " value " + i % STRIDE);
+        }
+    }
+
+    private static boolean sameVertex(FloatArrayList a, int i, FloatArrayList b, int j) {
+        for (int k = 0; k < STRIDE; k++) {
+            if (Math.abs(a.getFloat(i * STRIDE + k) - b.getFloat(j * STRIDE + k)) > TOLERANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //keeps position, uv and normal of every vertex in the order they are drawn
+    private static class Recorder implements VertexConsumer {
+        private final FloatArrayList data = new FloatArrayList();
+
+        @Override
+        public VertexConsumer addVertex(float x, float y, float z) {
+            this.data.add(x);
+            this.data.add(y);
+            this.data.add(z);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setColor(int red, int green, int blue, int alpha) {
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv(float u, float v) {
+            this.data.add(u);
+            this.data.add(v);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv1(int u, int v) {
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv2(int u, int v) {
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setNormal(float x, float y, float z) {
+            this.data.add(x);
+            this.data.add(y);
+            this.data.add(z);
+            return this;
+        }
+    }
+}
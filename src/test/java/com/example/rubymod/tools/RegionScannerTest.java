@@ -0,0 +1,49 @@
+package com.example.rubymod.tools;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//regions/region/r.0.0.mca holds three chunks, one per compression the scanner reads:
+//  0,0 zlib: section -4 with ruby at y -64 (twice), -61 and -49 in a 2 entry palette,
+//            section 0 all air, section 1 all ruby in a single entry palette
+//  1,0 gzip: section 2 with a 17 entry palette (5 bits, 12 per long) and ruby at y 32 (twice, across two longs) and 39,
+//            section 3 with ruby in the palette but not in the data
+//  0,1 uncompressed: section -1 without ruby
+class RegionScannerTest {
+    @Test
+    void countsRubyOre() throws Exception {
+        RegionScanner.Result result = RegionScanner.scan(resource("regions/region"), 2);
+        assertEquals(3, result.getChunks());
+        assertEquals(4 + 4096 + 3, result.getOre());
+    }
+
+    @Test
+    void countsRubyOreByY() throws Exception {
+        RegionScanner.Result result = RegionScanner.scanRegion(resource("regions/region/r.0.0.mca"));
+        assertEquals(2, result.getOreAt(-64));
+        assertEquals(0, result.getOreAt(-63));
+        assertEquals(1, result.getOreAt(-61));
+        assertEquals(1, result.getOreAt(-49));
+        assertEquals(0, result.getOreAt(0));
+        for (int y = 16; y < 32; y++) {
+            assertEquals(256, result.getOreAt(y), "y " + y);
+        }
+        assertEquals(2, result.getOreAt(32));
+        assertEquals(1, result.getOreAt(39));
+        assertEquals(0, result.getOreAt(48));
+    }
+
+    @Test
+    void countsMinedRubyOre() throws Exception {
+        assertEquals(7, RegionScanner.countMined(resource("regions/stats")));
+    }
+
+    private static Path resource(String name) throws URISyntaxException {
+        return Paths.get(RegionScannerTest.class.getClassLoader().getResource(name).toURI());
+    }
+}